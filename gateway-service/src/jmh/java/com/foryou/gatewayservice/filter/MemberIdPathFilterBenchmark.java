@@ -0,0 +1,87 @@
+package com.foryou.gatewayservice.filter;
+
+import com.foryou.gatewayservice.util.ExcludePathMatcher;
+import com.foryou.gatewayservice.util.GateWayUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpMethod;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Route filter 한 건의 제외 경로 확인 + member id 확인 비용
+ * <p>
+ * regex는 기존 방식 (요청마다 제외 경로 수만큼 Pattern.matches, path.split), compiled는 ExcludePathMatcher + segment 비교.
+ * excluded는 제외 경로에 걸리는 요청, checked는 제외 경로가 아니어서 member id까지 확인하는 요청.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberIdPathFilterBenchmark {
+
+    private static final String EXCLUDE_PATH = "POST /member; POST /member/login; POST /auth/**; PATCH /reAuth/**;";
+    private static final String MEMBER_ID = "member1";
+
+    @Param({"excluded", "checked"})
+    String request;
+
+    private HttpMethod method;
+    private String path;
+    private List<Map<String, String>> excludePathList;
+    private ExcludePathMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        boolean excluded = "excluded".equals(request);
+
+        method = excluded ? HttpMethod.PATCH : HttpMethod.GET;
+        path = excluded ? "/reAuth/member1" : "/member/detail/member1";
+        excludePathList = legacyPathList(EXCLUDE_PATH);
+        matcher = ExcludePathMatcher.compile(EXCLUDE_PATH);
+    }
+
+    @Benchmark
+    public boolean regex() {
+        boolean excluded = excludePathList.stream()
+                .anyMatch(map -> method.matches(map.get("method")) && Pattern.matches(map.get("regExUrl"), path));
+
+        return excluded || Arrays.stream(path.split("/")).anyMatch(MEMBER_ID::equals);
+    }
+
+    @Benchmark
+    public boolean compiled() {
+        return matcher.matches(method, path) || GateWayUtils.isExistMemberIdInPath(MEMBER_ID, path);
+    }
+
+    /**
+     * 기존 GateWayUtils.changePathToListMap
+     */
+    private static List<Map<String, String>> legacyPathList(String excludePath) {
+        return Arrays.stream(excludePath.replaceAll(" ", "").split(";"))
+                .filter(path -> !path.isEmpty())
+                .map(path -> {
+                    Map<String, String> map = new HashMap<>();
+                    String regExPath = Arrays.stream(path.substring(path.indexOf("/")).split("/"))
+                            .filter(slice -> !slice.isEmpty())
+                            .map(slice -> "\\/" + (slice.equals("**") ? "([^\\/]*)" : slice))
+                            .collect(Collectors.joining());
+
+                    map.put("method", path.substring(0, path.indexOf("/")).toUpperCase());
+                    map.put("regExUrl", "^" + regExPath + "$");
+                    return map;
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,100 @@
+package com.foryou.gatewayservice.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 한 건의 access token 검증 비용
+ * <p>
+ * parserPerRequest는 매번 parser를 새로 만들어 검증(기존 방식), sharedParser는 한번 만든 parser로 검증,
+ * cached는 VerifiedTokenCache에서 subject를 꺼내는 비용 (처음 한번만 검증).
+ * tokens개의 토큰을 번갈아 사용하며, 동시에 여러 event loop가 조회하는 상황을 위해 4 쓰레드로 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET_KEY = "01234567890123456789012345678912";
+
+    @Param({"1", "1000"})
+    int tokens;
+
+    private Key key;
+    private JwtParser parser;
+    private VerifiedTokenCache cache;
+    private String[] issued;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(Base64.getEncoder()
+                .encodeToString(SECRET_KEY.getBytes(StandardCharsets.UTF_8))
+                .getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        cache = new VerifiedTokenCache(100_000, TimeUnit.HOURS.toMillis(1), System::currentTimeMillis);
+
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        issued = new String[tokens];
+        for (int i = 0; i < tokens; i++) {
+            issued[i] = Jwts.builder()
+                    .setSubject("member" + i)
+                    .setIssuedAt(new Date())
+                    .setExpiration(expiration)
+                    .signWith(key)
+                    .compact();
+            cache.put(issued[i], "member" + i, expiration);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        String token(JwtTokenProviderBenchmark benchmark) {
+            String[] issued = benchmark.issued;
+            return issued[next++ % issued.length];
+        }
+    }
+
+    @Benchmark
+    public String parserPerRequest(Cursor cursor) {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(cursor.token(this))
+                .getBody();
+        return claims.getSubject();
+    }
+
+    @Benchmark
+    public String sharedParser(Cursor cursor) {
+        return parser.parseClaimsJws(cursor.token(this))
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String cached(Cursor cursor) {
+        return cache.get(cursor.token(this));
+    }
+}
@@ -0,0 +1,57 @@
+package com.foryou.gatewayservice.accesslog;
+
+import com.foryou.gatewayservice.constants.Constants;
+
+/**
+ * 요청 한 건의 access log. event loop에서는 값만 담고, 문자열 조합과 토큰 마스킹은 쓰기 쓰레드에서 한다
+ */
+final class AccessLogEntry {
+
+    private static final String REDACTED = " ****";
+
+    private final long timestamp;
+    private final String method;
+    private final String path;
+    private final String route;
+    private final int status;
+    private final long latencyNanos;
+    private final String memberId;
+    private final String authorization;
+
+    AccessLogEntry(long timestamp, String method, String path, String route, int status, long latencyNanos, String memberId, String authorization) {
+        this.timestamp = timestamp;
+        this.method = method;
+        this.path = path;
+        this.route = route;
+        this.status = status;
+        this.latencyNanos = latencyNanos;
+        this.memberId = memberId;
+        this.authorization = authorization;
+    }
+
+    String format(StringBuilder sb) {
+        sb.setLength(0);
+        sb.append("ts=").append(timestamp)
+                .append(" method=").append(method)
+                .append(" path=").append(path)
+                .append(" route=").append(route == null ? "-" : route)
+                .append(" status=").append(status)
+                .append(" latencyUs=").append(latencyNanos / 1_000)
+                .append(" member=").append(memberId == null || Constants.DEFAULT_TOKEN_VALUE.equals(memberId) ? "-" : memberId)
+                .append(" auth=");
+        return redact(sb, authorization).toString();
+    }
+
+    /**
+     * 인증 방식(Bearer 등)만 남기고 토큰 값은 가린다
+     */
+    static StringBuilder redact(StringBuilder sb, String authorization) {
+        if (authorization == null || authorization.isEmpty())
+            return sb.append('-');
+
+        int space = authorization.indexOf(' ');
+        return space <= 0
+                ? sb.append("****")
+                : sb.append(authorization, 0, space).append(REDACTED);
+    }
+}
@@ -0,0 +1,27 @@
+package com.foryou.gatewayservice.accesslog;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * access log buffer에 쌓여있는 건수와 가득 차서 버린 건수
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessLogMetrics implements MeterBinder {
+
+    private final AccessLogWriter accessLogWriter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("gateway.access-log.pending", accessLogWriter, AccessLogWriter::pending)
+                .register(registry);
+        FunctionCounter.builder("gateway.access-log.dropped", accessLogWriter, AccessLogWriter::dropped)
+                .description("buffer가 가득 차서 기록하지 못한 access log 수")
+                .register(registry);
+    }
+}
@@ -0,0 +1,81 @@
+package com.foryou.gatewayservice.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 여러 event loop 쓰레드가 넣고 쓰기 쓰레드 하나만 꺼내는 고정 크기 Lock-Free ring buffer
+ * <p>
+ * 넣는 쪽은 tail을 CAS로 선점한 뒤 slot에 저장하고, 꺼내는 쪽은 slot을 비운 뒤 head를 전진시킨다.
+ * 가득 차 있으면 기다리지 않고 버린다 (요청 처리를 막지 않기 위해).
+ */
+class AccessLogRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long head;
+
+    AccessLogRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return 가득 차서 버렸으면 false
+     */
+    boolean offer(E element) {
+        while (true) {
+            long current = tail.get();
+
+            if (current - head >= slots.length()) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            if (tail.compareAndSet(current, current + 1)) {
+                slots.lazySet((int) current & mask, element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 꺼내는 쓰레드 하나에서만 호출한다
+     * 선점만 되고 아직 저장되지 않은 slot을 만나면 거기서 멈추고 다음 호출에서 이어서 꺼낸다
+     *
+     * @return 꺼낸 개수
+     */
+    int drain(Consumer<E> consumer) {
+        long current = head;
+        int count = 0;
+
+        while (true) {
+            int index = (int) current & mask;
+            E element = slots.get(index);
+
+            if (element == null)
+                break;
+
+            slots.lazySet(index, null);
+            head = ++current;
+            count++;
+            consumer.accept(element);
+        }
+        return count;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+}
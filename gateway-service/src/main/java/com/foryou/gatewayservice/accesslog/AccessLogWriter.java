@@ -0,0 +1,146 @@
+package com.foryou.gatewayservice.accesslog;
+
+import com.foryou.gatewayservice.constants.Constants;
+import com.foryou.gatewayservice.exception.CustomException;
+import com.foryou.gatewayservice.exception.ErrorCode;
+import com.foryou.gatewayservice.properties.AccessLogProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 요청당 한 줄(route, status, latency)의 access log를 ring buffer에 넣고, 별도 쓰레드가 모아서 "ACCESS_LOG" logger로 기록
+ * <p>
+ * event loop에서는 sampling 여부를 정하고 값만 담아서 넣으므로 appender I/O를 기다리지 않는다.
+ * 정상 응답은 sample-rate 비율만큼만 기록하고, 4xx/5xx는 always-log-errors가 켜져있으면 모두 기록한다.
+ * Authorization 헤더는 인증 방식만 남기고, path는 query string 없이 기록한다.
+ */
+@Component
+public class AccessLogWriter {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("ACCESS_LOG");
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final boolean alwaysLogErrors;
+    private final long flushIntervalNanos;
+    private final AccessLogRingBuffer<AccessLogEntry> buffer;
+    private final Logger logger;
+    private final StringBuilder line = new StringBuilder(256);
+    private volatile boolean running;
+    private Thread worker;
+
+    @Autowired
+    public AccessLogWriter(AccessLogProperties properties) {
+        this(properties.isEnabled(), properties.getSampleRate(), properties.isAlwaysLogErrors(), properties.getBufferSize(), properties.getFlushIntervalMs(), ACCESS_LOG);
+    }
+
+    AccessLogWriter(boolean enabled, double sampleRate, boolean alwaysLogErrors, int bufferSize, long flushIntervalMs, Logger logger) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.alwaysLogErrors = alwaysLogErrors;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, flushIntervalMs));
+        this.buffer = new AccessLogRingBuffer<>(bufferSize);
+        this.logger = logger;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled)
+            return;
+
+        running = true;
+        worker = new Thread(this::run, "gateway-access-log");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 종료 시 남아있는 entry까지 모두 기록
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker == null)
+            return;
+
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * @param error 처리 중 발생한 예외 (응답 status가 아직 정해지지 않았으므로 예외로 status를 정한다)
+     */
+    public void record(ServerWebExchange exchange, long startNanos, Throwable error) {
+        if (!enabled)
+            return;
+
+        int status = statusOf(exchange, error);
+        if (!isSampled(status))
+            return;
+
+        ServerHttpRequest request = exchange.getRequest();
+        HttpMethod method = request.getMethod();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+        buffer.offer(new AccessLogEntry(
+                System.currentTimeMillis()
+                , method == null ? request.getMethodValue() : method.name()
+                , request.getPath().value()
+                , route == null ? null : route.getId()
+                , status
+                , System.nanoTime() - startNanos
+                , request.getHeaders().getFirst(Constants.HEADER_MEMBER_NAME)
+                , request.getHeaders().getFirst(Constants.TOKEN_HEADER_NAME)));
+    }
+
+    private boolean isSampled(int status) {
+        if (alwaysLogErrors && status >= 400)
+            return true;
+
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private static int statusOf(ServerWebExchange exchange, Throwable error) {
+        if (error instanceof CustomException)
+            return ((CustomException) error).getErrorCode().getHttpStatus().value();
+        if (error != null)
+            return ErrorCode.INTERNAL_SERVER_ERROR.getHttpStatus().value();
+
+        Integer status = exchange.getResponse().getRawStatusCode();
+        return status == null ? HttpStatus.OK.value() : status;
+    }
+
+    private void run() {
+        while (running) {
+            if (flush() == 0)
+                LockSupport.parkNanos(this, flushIntervalNanos);
+        }
+        flush();
+    }
+
+    int flush() {
+        return buffer.drain(entry -> logger.info(entry.format(line)));
+    }
+
+    public int pending() {
+        return buffer.size();
+    }
+
+    public long dropped() {
+        return buffer.dropped();
+    }
+}
@@ -3,7 +3,6 @@ package com.foryou.gatewayservice.constants;
 public final class Constants {
     public static final String TOKEN_TYPE = "BEARER";
     public static final String DEFAULT_TOKEN_VALUE = "No Search Token In Header";
-    public static final String TOKEN_PREFIX_REGEX = "^(?i)Bearer";
     public static final String TOKEN_HEADER_NAME = "Authorization";
     public static final String HEADER_MEMBER_NAME = "X-Authorization-Member-Id";
 }
@@ -3,9 +3,35 @@ package com.foryou.gatewayservice.exception;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @Getter
 @AllArgsConstructor
 public class CustomException extends RuntimeException {
 
+    private static final Map<ErrorCode, CustomException> REJECTIONS = new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode errorCode : ErrorCode.values())
+            REJECTIONS.put(errorCode, new CustomException(errorCode, false));
+    }
+
     private final ErrorCode errorCode;
+
+    /**
+     * stack trace, suppressed exception 없이 ErrorCode 별로 하나만 만들어두는 예외 (공유 객체이므로 상태가 바뀌지 않는다)
+     */
+    private CustomException(ErrorCode errorCode, boolean writableStackTrace) {
+        super(errorCode.getMessage(), null, false, writableStackTrace);
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * 토큰 누락, 형식 오류 등 요청 거절용 예외
+     * 발생 위치가 항상 같아서 stack trace가 필요 없으므로 미리 만들어둔 객체를 그대로 던진다
+     */
+    public static CustomException rejected(ErrorCode errorCode) {
+        return REJECTIONS.get(errorCode);
+    }
 }
@@ -1,10 +1,10 @@
 package com.foryou.gatewayservice.filter;
 
+import com.foryou.gatewayservice.accesslog.AccessLogWriter;
 import com.foryou.gatewayservice.constants.Constants;
 import com.foryou.gatewayservice.jwt.JwtTokenProvider;
 import lombok.Getter;
 import lombok.Setter;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.stereotype.Component;
@@ -13,37 +13,41 @@ import reactor.core.publisher.Mono;
 
 import java.util.Optional;
 
-@Slf4j
 @Component
 public class JwtGlobalFilter extends AbstractGatewayFilterFactory<JwtGlobalFilter.Config> {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final AccessLogWriter accessLogWriter;
 
-    public JwtGlobalFilter(JwtTokenProvider jwtTokenProvider) {
+    public JwtGlobalFilter(JwtTokenProvider jwtTokenProvider, AccessLogWriter accessLogWriter) {
         super(Config.class);
         this.jwtTokenProvider = jwtTokenProvider;
+        this.accessLogWriter = accessLogWriter;
     }
 
+    /**
+     * 요청 로그는 event loop에서 직접 쓰지 않고 완료 시점에 AccessLogWriter로 한 줄만 남긴다
+     * 토큰 오류로 거절된 요청도 기록하기 위해 토큰 확인부터 defer 안에서 실행한다
+     */
     @Override
     public GatewayFilter apply(Config config) {
         return ((exchange, chain) -> {
-            log.info("{} START >>>>>>", config.getBaseMessage());
-            log.info("Request URI: {}", exchange.getRequest().getURI());
-            log.info("Request Authorization: {}", exchange.getRequest().getHeaders().get("Authorization"));
+            long startNanos = System.nanoTime();
 
-            addHeader(exchange, extractMemberId(exchange));
-
-            return chain.filter(exchange).then(Mono.fromRunnable(() -> {
-                log.info("{} END >>>>>>", config.getBaseMessage());
-            }));
+            return Mono.defer(() -> {
+                        addHeader(exchange, extractMemberId(exchange));
+                        return chain.filter(exchange);
+                    })
+                    .doOnSuccess(v -> accessLogWriter.record(exchange, startNanos, null))
+                    .doOnError(e -> accessLogWriter.record(exchange, startNanos, e))
+                    .doOnCancel(() -> accessLogWriter.record(exchange, startNanos, null));
         });
     }
 
     private String extractMemberId(ServerWebExchange exchange) {
         return Optional.of(jwtTokenProvider.extractToken(exchange))
                 .filter(token -> !token.equals(Constants.DEFAULT_TOKEN_VALUE))
-                .map(token -> jwtTokenProvider.extractClaims(token))
-                .map(claims -> claims.getSubject())
+                .map(token -> jwtTokenProvider.extractSubject(token))
                 .orElse(Constants.DEFAULT_TOKEN_VALUE)
                 ;
     }
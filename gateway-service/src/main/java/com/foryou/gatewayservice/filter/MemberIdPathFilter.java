@@ -0,0 +1,60 @@
+package com.foryou.gatewayservice.filter;
+
+import com.foryou.gatewayservice.constants.Constants;
+import com.foryou.gatewayservice.exception.CustomException;
+import com.foryou.gatewayservice.exception.ErrorCode;
+import com.foryou.gatewayservice.util.ExcludePathMatcher;
+import com.foryou.gatewayservice.util.GateWayUtils;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * Route별 filter 공통 구현 (MemberFilter, PartyFilter, AuthFilter, BillingFilter)
+ * <p>
+ * 제외 경로가 아니면 JwtGlobalFilter가 넣어준 member id가 요청 path의 segment 중에 있어야 한다.
+ * 제외 경로는 설정을 읽을 때 한번만 ExcludePathMatcher로 컴파일한다.
+ */
+public abstract class MemberIdPathFilter extends AbstractGatewayFilterFactory<MemberIdPathFilter.Config> {
+
+    protected MemberIdPathFilter() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        ExcludePathMatcher excludePathMatcher = config.getExcludePathMatcher();
+
+        return ((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String requestPath = request.getPath().value();
+
+            if (!excludePathMatcher.matches(request.getMethod(), requestPath)) {
+                String memberId = request.getHeaders().getFirst(Constants.HEADER_MEMBER_NAME);
+
+                if (memberId == null || Constants.DEFAULT_TOKEN_VALUE.equals(memberId))
+                    throw CustomException.rejected(ErrorCode.NOT_EXIST_TOKEN);
+
+                if (!GateWayUtils.isExistMemberIdInPath(memberId, requestPath))
+                    throw CustomException.rejected(ErrorCode.NOT_MATCHED_MEMBER_ID_TOKEN);
+            }
+
+            return chain.filter(exchange);
+        });
+    }
+
+    @Getter
+    public static class Config {
+        @Setter
+        private String baseMessage;
+        private String excludePath;
+        private ExcludePathMatcher excludePathMatcher = ExcludePathMatcher.EMPTY;
+
+        public void setExcludePath(String excludePath) {
+            this.excludePath = excludePath;
+            excludePathMatcher = ExcludePathMatcher.compile(excludePath);
+        }
+    }
+}
@@ -5,51 +5,66 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foryou.gatewayservice.exception.ApiErrorResponse;
 import com.foryou.gatewayservice.exception.CustomException;
 import com.foryou.gatewayservice.exception.ErrorCode;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
-import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Optional;
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.Map;
 
+/**
+ * ErrorCode는 정해진 enum이므로 응답 body를 기동 시점에 ErrorCode 별 compact JSON으로 한번만 만들어둔다
+ * <p>
+ * 요청마다 직렬화하지 않고 read-only ByteBuffer를 duplicate 해서 복사 없이 그대로 내려보낸다.
+ * CustomException이 아닌 예외는 INTERNAL_SERVER_ERROR로 응답한다.
+ * 거절된 요청은 access log에 status와 함께 남으므로 CustomException은 debug로만 기록한다.
+ */
 @Slf4j
-@RequiredArgsConstructor
 @Component
 public class GlobalExceptionHandler implements ErrorWebExceptionHandler {
 
-    private final ObjectMapper objectMapper;
+    private final Map<ErrorCode, ByteBuffer> errorBodies = new EnumMap<>(ErrorCode.class);
+
+    public GlobalExceptionHandler(ObjectMapper objectMapper) throws JsonProcessingException {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            byte[] body = objectMapper.writeValueAsBytes(ApiErrorResponse.of(errorCode));
+            errorBodies.put(errorCode, ByteBuffer.wrap(body).asReadOnlyBuffer());
+        }
+    }
 
     @Override
     public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
-        ApiErrorResponse errorResponse = Optional.of(ex)
-                .map(e -> (CustomException) e)
-                .map(CustomException::getErrorCode)
-                .map(ApiErrorResponse::of)
-                .orElse(ApiErrorResponse.of(ErrorCode.INTERNAL_SERVER_ERROR));
-
-        String errorBody = "";
-        try {
-            errorBody = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(errorResponse);
-        } catch (JsonProcessingException e) {
-            log.error("JsonProcessingException In GlobalExceptionHandler");
+        ServerHttpResponse response = exchange.getResponse();
+
+        if (response.isCommitted())
+            return Mono.error(ex);
+
+        ErrorCode errorCode;
+        if (ex instanceof CustomException) {
+            errorCode = ((CustomException) ex).getErrorCode();
+            log.debug("GateWay ERROR >>>>>> {}", errorCode.getMessage());
+        } else {
+            errorCode = ErrorCode.INTERNAL_SERVER_ERROR;
+            log.error("GateWay ERROR >>>>>> {}", errorCode.getMessage(), ex);
         }
 
-        DataBuffer buffer = Optional.of(errorBody)
-                .map(body -> body.getBytes(StandardCharsets.UTF_8))
-                .map(bytes -> exchange.getResponse().bufferFactory().wrap(bytes))
-                .get();
+        ByteBuffer body = errorBodies.get(errorCode).duplicate();
 
-        log.error("GateWay ERROR >>>>>> {}", errorResponse.getMessage());
+        response.setStatusCode(errorCode.getHttpStatus());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.remaining());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
 
-        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
-        exchange.getResponse().setStatusCode(HttpStatus.valueOf(errorResponse.getStatus()));
-        return exchange.getResponse().writeWith(Flux.just(buffer));
+    /**
+     * 미리 만들어둔 body (테스트, 확인용). 호출한 쪽에서 position을 바꿔도 공유 body에는 영향이 없다
+     */
+    ByteBuffer body(ErrorCode errorCode) {
+        return errorBodies.get(errorCode).duplicate();
     }
 }
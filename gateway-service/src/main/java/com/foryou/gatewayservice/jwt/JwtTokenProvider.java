@@ -15,57 +15,92 @@ import javax.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Base64;
-import java.util.Optional;
-import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
     private final JwtProperties jwtProperties;
+    private final VerifiedTokenCache tokenCache;
     private Key key;
+    private JwtParser parser;
 
+    /**
+     * JwtParser는 immutable, thread-safe 하므로 한번만 만들어서 재사용
+     */
     @PostConstruct
     public void init() {
         key = Keys.hmacShaKeyFor(Base64.getEncoder()
                 .encodeToString(jwtProperties.getSecretKey().getBytes(StandardCharsets.UTF_8))
                 .getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     public String extractToken(ServerWebExchange request) {
+        return extractToken(request.getRequest().getHeaders().getFirst(Constants.TOKEN_HEADER_NAME));
+    }
+
+    /**
+     * Authorization 헤더가 없으면 DEFAULT_TOKEN_VALUE, "Bearer "로 시작하지 않으면 NOT_VALID_TOKEN_FORM
+     */
+    public String extractToken(String authorization) {
+        if (authorization == null)
+            return Constants.DEFAULT_TOKEN_VALUE;
 
-        return Optional
-                .ofNullable(request.getRequest().getHeaders().get(Constants.TOKEN_HEADER_NAME))
-                .map(r -> r.get(0))
-                .or(() -> Optional.of(Constants.TOKEN_TYPE + " " + Constants.DEFAULT_TOKEN_VALUE))
-                .filter(this::isMatchedPrefix)
-                .map(this::removeTokenPrefix)
-                .orElseThrow(() -> {
-                    throw new CustomException(ErrorCode.NOT_VALID_TOKEN_FORM);
-                });
+        String token = removeTokenPrefix(authorization);
+        if (token == null)
+            throw CustomException.rejected(ErrorCode.NOT_VALID_TOKEN_FORM);
+
+        return token;
     }
 
-    private boolean isMatchedPrefix(String token) {
-        return Pattern.matches(Constants.TOKEN_PREFIX_REGEX + " .*", token);
+    /**
+     * 대소문자 구분 없이 "Bearer" + 공백으로 시작하면 뒤따르는 공백까지 제외한 나머지, 아니면 null (정규식 없이 한번 훑음)
+     */
+    static String removeTokenPrefix(String authorization) {
+        int prefixLength = Constants.TOKEN_TYPE.length();
+
+        if (authorization.length() <= prefixLength
+                || authorization.charAt(prefixLength) != ' '
+                || !authorization.regionMatches(true, 0, Constants.TOKEN_TYPE, 0, prefixLength))
+            return null;
+
+        int start = prefixLength + 1;
+        while (start < authorization.length() && authorization.charAt(start) == ' ')
+            start++;
+
+        return authorization.substring(start);
     }
 
-    private String removeTokenPrefix(String token) {
-        return token.replaceAll(Constants.TOKEN_PREFIX_REGEX + "( )*", "");
+    /**
+     * 검증된 토큰의 subject. 같은 토큰은 만료 전까지 캐시에서 꺼내므로 서명 검증을 다시 하지 않는다
+     * 캐시 key(digest)는 한번만 계산해서 조회와 저장에 같이 쓴다
+     */
+    public String extractSubject(String token) {
+        VerifiedTokenCache.TokenDigest key = tokenCache.key(token);
+        String subject = tokenCache.get(key);
+        if (subject != null)
+            return subject;
+
+        Claims claims = extractClaims(token);
+        tokenCache.put(key, claims.getSubject(), claims.getExpiration());
+
+        return claims.getSubject();
     }
 
     public Claims extractClaims(String token) {
         Claims claims;
 
         try {
-            claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
+            claims = parser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (ExpiredJwtException e) {
-            throw new CustomException(ErrorCode.EXPIRED_TOKEN);
+            throw CustomException.rejected(ErrorCode.EXPIRED_TOKEN);
         } catch (MalformedJwtException | UnsupportedJwtException | SignatureException | IllegalArgumentException e) {
-            throw new CustomException(ErrorCode.NOT_VALID_TOKEN_VALUE);
+            throw CustomException.rejected(ErrorCode.NOT_VALID_TOKEN_VALUE);
         }
 
         return claims;
@@ -0,0 +1,207 @@
+package com.foryou.gatewayservice.jwt;
+
+import com.foryou.gatewayservice.properties.JwtProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 서명 검증이 끝난 토큰의 subject를 토큰 만료 시각(exp)까지 보관
+ * <p>
+ * 같은 access token은 만료 전까지 여러번 들어오므로 두번째부터는 서명 검증, JSON 파싱 없이 subject를 꺼낸다.
+ * 토큰 원문 대신 SHA-256 digest를 key로 저장하고, exp가 없거나 max-ttl보다 먼 토큰은 max-ttl까지만 보관한다.
+ * 조회에 실패하면 같은 key로 저장하도록 key(token)로 digest를 한번만 계산해서 get, put에 넘긴다.
+ * 최대 건수를 넘으면 앞쪽 일부 entry 중 이미 만료됐거나 만료가 가장 가까운 entry를 버린다 (sampled eviction).
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final int EVICTION_SAMPLES = 8;
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Map<TokenDigest, Entry> entries = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int maxSize;
+    private final long maxTtlMs;
+    private final LongSupplier clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public VerifiedTokenCache(JwtProperties jwtProperties) {
+        this(jwtProperties.isCacheEnabled() ? jwtProperties.getCacheMaxSize() : 0, jwtProperties.getCacheMaxTtlMs(), System::currentTimeMillis);
+    }
+
+    VerifiedTokenCache(int maxSize, long maxTtlMs, LongSupplier clock) {
+        this.enabled = maxSize > 0;
+        this.maxSize = maxSize;
+        this.maxTtlMs = maxTtlMs;
+        this.clock = clock;
+    }
+
+    /**
+     * @return 토큰의 digest, 캐시를 사용하지 않으면 null
+     */
+    TokenDigest key(String token) {
+        return enabled ? TokenDigest.of(token) : null;
+    }
+
+    public String get(String token) {
+        return get(key(token));
+    }
+
+    /**
+     * @return 검증된 토큰이면 subject, 없거나 만료되었으면 null
+     */
+    String get(TokenDigest key) {
+        if (key == null)
+            return null;
+
+        Entry entry = entries.get(key);
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (entry.expiresAt <= clock.getAsLong()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.subject;
+    }
+
+    public void put(String token, String subject, Date expiration) {
+        put(key(token), subject, expiration);
+    }
+
+    void put(TokenDigest key, String subject, Date expiration) {
+        if (key == null || subject == null)
+            return;
+
+        long now = clock.getAsLong();
+        long expiresAt = now + maxTtlMs;
+
+        if (expiration != null)
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        if (expiresAt <= now)
+            return;
+
+        if (entries.size() >= maxSize)
+            evict(now);
+
+        entries.put(key, new Entry(subject, expiresAt));
+    }
+
+    private void evict(long now) {
+        Iterator<Map.Entry<TokenDigest, Entry>> iterator = entries.entrySet().iterator();
+        Map.Entry<TokenDigest, Entry> victim = null;
+
+        for (int i = 0; i < EVICTION_SAMPLES && iterator.hasNext(); i++) {
+            Map.Entry<TokenDigest, Entry> candidate = iterator.next();
+
+            if (candidate.getValue().expiresAt <= now) {
+                victim = candidate;
+                break;
+            }
+            if (victim == null || candidate.getValue().expiresAt < victim.getValue().expiresAt)
+                victim = candidate;
+        }
+
+        if (victim != null && entries.remove(victim.getKey(), victim.getValue()))
+            evictions.increment();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * 누적 조회 중 캐시에서 꺼낸 비율 (0 ~ 1)
+     */
+    public double hitRatio() {
+        long hit = hits();
+        long total = hit + misses();
+        return total == 0 ? 0.0 : hit / (double) total;
+    }
+
+    private static final class Entry {
+        private final String subject;
+        private final long expiresAt;
+
+        private Entry(String subject, long expiresAt) {
+            this.subject = subject;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * SHA-256 digest 32byte를 long 4개로 보관
+     */
+    static final class TokenDigest {
+        private final long a;
+        private final long b;
+        private final long c;
+        private final long d;
+
+        private TokenDigest(long a, long b, long c, long d) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = d;
+        }
+
+        static TokenDigest of(String token) {
+            ByteBuffer digest = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new TokenDigest(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof TokenDigest))
+                return false;
+
+            TokenDigest other = (TokenDigest) o;
+            return a == other.a && b == other.b && c == other.c && d == other.d;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(a);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.foryou.gatewayservice.jwt;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 검증된 토큰 캐시의 hit/miss/eviction 건수와 크기, hit ratio를 scrape 시점에 읽어가는 Meter로 등록
+ */
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenCacheMetrics implements MeterBinder {
+
+    private final VerifiedTokenCache tokenCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gateway.jwt.cache.requests", tokenCache, VerifiedTokenCache::hits)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("gateway.jwt.cache.requests", tokenCache, VerifiedTokenCache::misses)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("gateway.jwt.cache.evictions", tokenCache, VerifiedTokenCache::evictions)
+                .description("최대 건수를 넘어서 버린 토큰 수")
+                .register(registry);
+        Gauge.builder("gateway.jwt.cache.size", tokenCache, VerifiedTokenCache::size)
+                .register(registry);
+        Gauge.builder("gateway.jwt.cache.hit.ratio", tokenCache, VerifiedTokenCache::hitRatio)
+                .description("누적 조회 중 서명 검증 없이 캐시에서 꺼낸 비율")
+                .register(registry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.foryou.gatewayservice.properties;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AccessLogProperties {
+
+    @Getter
+    @Value("${config.access-log.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 정상 응답 중 기록할 비율 (0 ~ 1). 4xx, 5xx 응답은 always-log-errors가 켜져있으면 항상 기록
+     */
+    @Getter
+    @Value("${config.access-log.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Getter
+    @Value("${config.access-log.always-log-errors:true}")
+    private boolean alwaysLogErrors;
+
+    /**
+     * 쓰기 쓰레드가 따라오지 못해서 가득 차면 새 entry는 버린다
+     */
+    @Getter
+    @Value("${config.access-log.buffer-size:8192}")
+    private int bufferSize;
+
+    @Getter
+    @Value("${config.access-log.flush-interval-ms:100}")
+    private long flushIntervalMs;
+}
@@ -10,4 +10,19 @@ public class JwtProperties {
     @Getter
     @Value("${config.jwt.secretKey}")
     private String secretKey;
+
+    /**
+     * 검증된 토큰 캐시. 최대 건수를 넘으면 만료가 가까운 토큰부터 버린다
+     */
+    @Getter
+    @Value("${config.jwt.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Getter
+    @Value("${config.jwt.cache.max-size:100000}")
+    private int cacheMaxSize;
+
+    @Getter
+    @Value("${config.jwt.cache.max-ttl-ms:3600000}")
+    private long cacheMaxTtlMs;
 }
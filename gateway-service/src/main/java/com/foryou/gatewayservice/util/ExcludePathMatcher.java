@@ -0,0 +1,110 @@
+package com.foryou.gatewayservice.util;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * "POST /member; POST /member/login; POST /auth/**;" 형태의 제외 경로를 한번만 파싱해서 HTTP method별 path segment trie로 보관
+ * <p>
+ * 요청마다 정규식을 컴파일하지 않고, path를 '/' 단위로 훑으면서 trie를 따라 내려간다 (substring, 배열 할당 없음).
+ * "**"는 기존 정규식 변환({@code ([^\/]*)})과 같이 한 segment(빈 문자열 포함)에만 대응한다.
+ */
+public final class ExcludePathMatcher {
+
+    public static final ExcludePathMatcher EMPTY = new ExcludePathMatcher(new EnumMap<>(HttpMethod.class));
+
+    private static final String WILDCARD = "**";
+
+    private final Map<HttpMethod, Node> roots;
+
+    private ExcludePathMatcher(Map<HttpMethod, Node> roots) {
+        this.roots = roots;
+    }
+
+    public static ExcludePathMatcher compile(String excludePath) {
+        if (excludePath == null || excludePath.isBlank())
+            return EMPTY;
+
+        Map<HttpMethod, Node> roots = new EnumMap<>(HttpMethod.class);
+
+        for (String entry : excludePath.replace(" ", "").split(";")) {
+            int slash = entry.indexOf('/');
+            if (slash < 0)
+                continue;
+
+            HttpMethod method = HttpMethod.resolve(entry.substring(0, slash).toUpperCase());
+            if (method == null)
+                continue;
+
+            Node node = roots.computeIfAbsent(method, m -> new Node());
+            for (String segment : entry.substring(slash).split("/")) {
+                if (!segment.isEmpty())
+                    node = node.child(segment);
+            }
+            node.terminal = true;
+        }
+
+        return roots.isEmpty() ? EMPTY : new ExcludePathMatcher(roots);
+    }
+
+    public boolean matches(HttpMethod method, String path) {
+        if (method == null || path == null)
+            return false;
+
+        Node root = roots.get(method);
+        if (root == null)
+            return false;
+
+        return path.isEmpty() ? root.terminal : path.charAt(0) == '/' && root.matches(path, 1);
+    }
+
+    /**
+     * 노드별 자식은 몇개 되지 않으므로 HashMap 대신 배열을 순서대로 비교한다 (조회용 key 문자열을 만들지 않기 위해)
+     */
+    private static final class Node {
+        private String[] names = new String[0];
+        private Node[] children = new Node[0];
+        private Node wildcard;
+        private boolean terminal;
+
+        Node child(String name) {
+            if (WILDCARD.equals(name))
+                return wildcard == null ? wildcard = new Node() : wildcard;
+
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name))
+                    return children[i];
+            }
+
+            names = Arrays.copyOf(names, names.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            names[names.length - 1] = name;
+            return children[children.length - 1] = new Node();
+        }
+
+        /**
+         * @param start 이번에 비교할 segment 시작 위치 (직전 '/' 다음)
+         */
+        boolean matches(String path, int start) {
+            int end = path.indexOf('/', start);
+            int segmentEnd = end < 0 ? path.length() : end;
+            int length = segmentEnd - start;
+
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].length() == length
+                        && path.regionMatches(start, names[i], 0, length)
+                        && children[i].matchesRest(path, end))
+                    return true;
+            }
+
+            return wildcard != null && wildcard.matchesRest(path, end);
+        }
+
+        private boolean matchesRest(String path, int end) {
+            return end < 0 ? terminal : matches(path, end + 1);
+        }
+    }
+}
@@ -1,53 +1,27 @@
 package com.foryou.gatewayservice.util;
 
-import org.apache.commons.lang.StringUtils;
-import org.springframework.http.HttpMethod;
-
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-
 public class GateWayUtils {
-    public static List<Map<String, String>> changePathToListMap(String excludePath) {
-        return Arrays.stream(excludePath.replaceAll(" ", "").split(";"))
-                .filter(path -> !StringUtils.isEmpty(path))
-                .map(path -> {
-                    Map<String, String> map = new HashMap<>();
-
-                    map.put("method", path.substring(0, path.indexOf("/")).toUpperCase());
-                    map.put("regExUrl", changePathToRegEx(path));
-
-                    return map;
-                })
-                .collect(Collectors.toList());
-    }
-
-    public static boolean isExcludePath(List<Map<String, String>> excludePathList, HttpMethod method, String path) {
-        return excludePathList.stream()
-                .anyMatch(map -> method.matches(map.get("method")) && Pattern.matches(map.get("regExUrl"), path));
-    }
 
+    /**
+     * path를 '/' 단위로 훑으면서 memberId와 같은 segment가 있는지 확인 (split 없이 비교)
+     */
     public static boolean isExistMemberIdInPath(String memberId, String path) {
-        return Arrays.stream(path.split("/"))
-                .anyMatch(splitPath -> splitPath.equals(memberId));
-    }
+        if (memberId == null || memberId.isEmpty())
+            return false;
 
-    private static String changePathToRegEx(String path) {
-        String regExPath = Arrays.stream(path.substring(path.indexOf("/")).split("/"))
-                .filter(slice -> !StringUtils.isEmpty(slice))
-                .map(slice -> {
-                    StringBuilder sb = new StringBuilder();
+        int length = memberId.length();
+        int start = 0;
 
-                    sb.append("\\/");
-                    sb.append(slice.equals("**") ? "([^\\/]*)" : slice);
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0)
+                end = path.length();
 
-                    return sb.toString();
-                })
-                .collect(Collectors.joining());
+            if (end - start == length && path.regionMatches(start, memberId, 0, length))
+                return true;
 
-        return "^" + regExPath + "$";
+            start = end + 1;
+        }
+        return false;
     }
 }
@@ -0,0 +1,70 @@
+package com.foryou.gatewayservice.accesslog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessLogRingBufferTest {
+
+    @Test
+    @DisplayName("넣은 순서대로 꺼내고, 가득 차면 버린 건수를 센다")
+    public void offerAndDrainInOrder() throws Exception {
+        // given
+        AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 4; i++)
+            assertTrue(buffer.offer(i));
+        boolean overflow = buffer.offer(4);
+        buffer.drain(drained::add);
+
+        // then
+        assertFalse(overflow);
+        assertEquals(List.of(0, 1, 2, 3), drained);
+        assertEquals(1, buffer.dropped());
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.offer(5));
+    }
+
+    @Test
+    @DisplayName("여러 쓰레드가 동시에 넣어도 넣은 건수와 꺼낸 건수 + 버린 건수가 같다")
+    public void concurrentOffer() throws Exception {
+        // given
+        int producers = 4;
+        int perProducer = 10_000;
+        AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(1024);
+        Set<Integer> drained = new HashSet<>();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+
+        // when
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++)
+                    buffer.offer(base + i);
+                done.countDown();
+            });
+        }
+        while (!done.await(1, TimeUnit.MILLISECONDS))
+            buffer.drain(drained::add);
+        buffer.drain(drained::add);
+        executor.shutdown();
+
+        // then
+        assertEquals(producers * perProducer, drained.size() + buffer.dropped());
+    }
+}
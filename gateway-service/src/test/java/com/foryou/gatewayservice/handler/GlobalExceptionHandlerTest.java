@@ -0,0 +1,78 @@
+package com.foryou.gatewayservice.handler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foryou.gatewayservice.exception.CustomException;
+import com.foryou.gatewayservice.exception.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GlobalExceptionHandlerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GlobalExceptionHandler handler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        handler = new GlobalExceptionHandler(objectMapper);
+    }
+
+    @Test
+    @DisplayName("CustomException은 ErrorCode의 상태와 미리 만들어둔 body로 응답한다")
+    public void handleCustomException() throws Exception {
+        // given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/party/member1"));
+
+        // when
+        handler.handle(exchange, CustomException.rejected(ErrorCode.EXPIRED_TOKEN)).block();
+
+        // then
+        JsonNode body = objectMapper.readTree(exchange.getResponse().getBodyAsString().block());
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, exchange.getResponse().getHeaders().getContentType());
+        assertEquals(401, body.get("status").asInt());
+        assertEquals(ErrorCode.EXPIRED_TOKEN.name(), body.get("code").asText());
+        assertEquals(ErrorCode.EXPIRED_TOKEN.getMessage(), body.get("message").asText());
+    }
+
+    @Test
+    @DisplayName("CustomException이 아닌 예외는 INTERNAL_SERVER_ERROR로 응답한다")
+    public void handleUnknownException() throws Exception {
+        // given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/party/member1"));
+
+        // when
+        handler.handle(exchange, new IllegalStateException("unknown")).block();
+
+        // then
+        JsonNode body = objectMapper.readTree(exchange.getResponse().getBodyAsString().block());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exchange.getResponse().getStatusCode());
+        assertEquals(ErrorCode.INTERNAL_SERVER_ERROR.name(), body.get("code").asText());
+    }
+
+    @Test
+    @DisplayName("여러번 응답해도 공유 body는 그대로 남아있다")
+    public void reuseSharedBody() throws Exception {
+        // given
+        ByteBuffer before = handler.body(ErrorCode.NOT_EXIST_TOKEN);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/party/member1"));
+            handler.handle(exchange, CustomException.rejected(ErrorCode.NOT_EXIST_TOKEN)).block();
+            assertEquals(before.remaining(), exchange.getResponse().getHeaders().getContentLength());
+        }
+
+        // then
+        assertEquals(before, handler.body(ErrorCode.NOT_EXIST_TOKEN));
+    }
+}
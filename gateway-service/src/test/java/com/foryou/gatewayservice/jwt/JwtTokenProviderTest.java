@@ -0,0 +1,48 @@
+package com.foryou.gatewayservice.jwt;
+
+import com.foryou.gatewayservice.constants.Constants;
+import com.foryou.gatewayservice.exception.CustomException;
+import com.foryou.gatewayservice.exception.ErrorCode;
+import com.foryou.gatewayservice.properties.JwtProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtTokenProviderTest {
+
+    private final JwtTokenProvider provider = new JwtTokenProvider(new JwtProperties(), null);
+
+    @Test
+    @DisplayName("Bearer는 대소문자를 구분하지 않고, 뒤따르는 공백까지 제외한 토큰을 꺼낸다")
+    public void extractBearerToken() throws Exception {
+        // when, then
+        assertEquals("abc.def.ghi", provider.extractToken("Bearer abc.def.ghi"));
+        assertEquals("abc.def.ghi", provider.extractToken("bEaReR   abc.def.ghi"));
+        assertEquals("", provider.extractToken("Bearer "));
+    }
+
+    @Test
+    @DisplayName("Authorization 헤더가 없으면 기본값을 돌려준다")
+    public void missingAuthorization() throws Exception {
+        // when, then
+        assertEquals(Constants.DEFAULT_TOKEN_VALUE, provider.extractToken((String) null));
+    }
+
+    @Test
+    @DisplayName("Bearer 형식이 아니면 미리 만들어둔 NOT_VALID_TOKEN_FORM 예외를 던진다")
+    public void malformedAuthorization() throws Exception {
+        // when
+        CustomException basic = assertThrows(CustomException.class, () -> provider.extractToken("Basic dXNlcjpwYXNz"));
+        CustomException noSpace = assertThrows(CustomException.class, () -> provider.extractToken("Bearerabc.def.ghi"));
+        CustomException prefixOnly = assertThrows(CustomException.class, () -> provider.extractToken("Bearer"));
+
+        // then
+        assertEquals(ErrorCode.NOT_VALID_TOKEN_FORM, basic.getErrorCode());
+        assertSame(basic, noSpace);
+        assertSame(basic, prefixOnly);
+        assertEquals(0, basic.getStackTrace().length);
+    }
+}
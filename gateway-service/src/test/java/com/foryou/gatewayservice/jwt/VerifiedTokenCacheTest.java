@@ -0,0 +1,116 @@
+package com.foryou.gatewayservice.jwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VerifiedTokenCacheTest {
+
+    private AtomicLong now;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000_000L);
+        cache = new VerifiedTokenCache(2, 60_000L, now::get);
+    }
+
+    @Test
+    @DisplayName("검증된 토큰은 만료 전까지 캐시에서 subject를 꺼낸다")
+    public void hitUntilExpiration() throws Exception {
+        // given
+        cache.put("token-a", "member1", new Date(now.get() + 1000L));
+
+        // when
+        String first = cache.get("token-a");
+        now.addAndGet(1000L);
+        String expired = cache.get("token-a");
+
+        // then
+        assertEquals("member1", first);
+        assertNull(expired);
+        assertEquals(1L, cache.hits());
+        assertEquals(1L, cache.misses());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("exp가 없거나 max-ttl보다 먼 토큰은 max-ttl까지만 보관한다")
+    public void boundByMaxTtl() throws Exception {
+        // given
+        cache.put("token-a", "member1", null);
+        cache.put("token-b", "member2", new Date(now.get() + 120_000L));
+
+        // when
+        now.addAndGet(60_000L);
+
+        // then
+        assertNull(cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+    }
+
+    @Test
+    @DisplayName("이미 만료된 토큰이나 subject가 없는 토큰은 저장하지 않는다")
+    public void skipExpiredOrNoSubject() throws Exception {
+        // when
+        cache.put("token-a", "member1", new Date(now.get()));
+        cache.put("token-b", null, new Date(now.get() + 1000L));
+
+        // then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("최대 건수를 넘으면 만료가 가장 가까운 토큰을 버린다")
+    public void evictSoonestExpiring() throws Exception {
+        // given
+        cache.put("token-a", "member1", new Date(now.get() + 5000L));
+        cache.put("token-b", "member2", new Date(now.get() + 1000L));
+
+        // when
+        cache.put("token-c", "member3", new Date(now.get() + 9000L));
+
+        // then
+        assertEquals(2, cache.size());
+        assertEquals(1L, cache.evictions());
+        assertEquals("member1", cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+        assertEquals("member3", cache.get("token-c"));
+    }
+
+    @Test
+    @DisplayName("max-size가 0이면 캐시를 사용하지 않는다")
+    public void disabledCache() throws Exception {
+        // given
+        VerifiedTokenCache disabled = new VerifiedTokenCache(0, 60_000L, now::get);
+
+        // when
+        disabled.put("token-a", "member1", new Date(now.get() + 1000L));
+
+        // then
+        assertNull(disabled.get("token-a"));
+        assertEquals(0, disabled.size());
+    }
+
+    @Test
+    @DisplayName("한번 계산한 key로 조회에 실패하면 같은 key로 저장한다")
+    public void putWithSameKey() throws Exception {
+        // given
+        VerifiedTokenCache.TokenDigest key = cache.key("token-a");
+
+        // when
+        String missed = cache.get(key);
+        cache.put(key, "member1", new Date(now.get() + 1000L));
+
+        // then
+        assertNull(missed);
+        assertEquals(key, cache.key("token-a"));
+        assertEquals("member1", cache.get("token-a"));
+    }
+}
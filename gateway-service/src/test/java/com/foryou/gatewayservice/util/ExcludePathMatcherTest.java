@@ -0,0 +1,62 @@
+package com.foryou.gatewayservice.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExcludePathMatcherTest {
+
+    @Test
+    @DisplayName("설정한 method와 path가 모두 같은 요청만 제외 경로로 본다")
+    public void matchMethodAndPath() throws Exception {
+        // given
+        ExcludePathMatcher matcher = ExcludePathMatcher.compile("POST /member; POST /member/login;");
+
+        // when, then
+        assertTrue(matcher.matches(HttpMethod.POST, "/member"));
+        assertTrue(matcher.matches(HttpMethod.POST, "/member/login"));
+        assertFalse(matcher.matches(HttpMethod.GET, "/member"));
+        assertFalse(matcher.matches(HttpMethod.POST, "/member/"));
+        assertFalse(matcher.matches(HttpMethod.POST, "/member/log"));
+        assertFalse(matcher.matches(HttpMethod.POST, "/member/login/extra"));
+    }
+
+    @Test
+    @DisplayName("**는 segment 하나에만 대응한다")
+    public void wildcardMatchesOneSegment() throws Exception {
+        // given
+        ExcludePathMatcher matcher = ExcludePathMatcher.compile("POST /auth/**; PATCH /reAuth/**;");
+
+        // when, then
+        assertTrue(matcher.matches(HttpMethod.POST, "/auth/member1"));
+        assertTrue(matcher.matches(HttpMethod.PATCH, "/reAuth/member1"));
+        assertFalse(matcher.matches(HttpMethod.POST, "/auth"));
+        assertFalse(matcher.matches(HttpMethod.POST, "/auth/member1/token"));
+        assertFalse(matcher.matches(HttpMethod.PATCH, "/auth/member1"));
+    }
+
+    @Test
+    @DisplayName("제외 경로가 비어있으면 어떤 요청도 제외하지 않는다")
+    public void emptyExcludePath() throws Exception {
+        // given
+        ExcludePathMatcher matcher = ExcludePathMatcher.compile("");
+
+        // when, then
+        assertFalse(matcher.matches(HttpMethod.GET, "/party/member1"));
+        assertFalse(matcher.matches(null, "/party/member1"));
+    }
+
+    @Test
+    @DisplayName("member id와 같은 segment가 path에 있어야 한다")
+    public void existMemberIdInPath() throws Exception {
+        // when, then
+        assertTrue(GateWayUtils.isExistMemberIdInPath("member1", "/party/member1"));
+        assertTrue(GateWayUtils.isExistMemberIdInPath("member1", "/party/member1/detail"));
+        assertFalse(GateWayUtils.isExistMemberIdInPath("member1", "/party/member12"));
+        assertFalse(GateWayUtils.isExistMemberIdInPath("member1", "/party/member"));
+        assertFalse(GateWayUtils.isExistMemberIdInPath("", "/party/member1"));
+    }
+}
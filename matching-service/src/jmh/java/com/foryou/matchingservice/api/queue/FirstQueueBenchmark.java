@@ -0,0 +1,131 @@
+package com.foryou.matchingservice.api.queue;
+
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.queue.first.AbstractFirstQueue;
+import com.foryou.matchingservice.global.queue.MatchingPolicyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FirstQueue offer/매칭 처리량
+ * <p>
+ * p1, p4 그룹은 producer 1개/4개가 member와 owner를 번갈아 넣고 Worker 하나가 drain으로 매칭한다.
+ * producer가 Worker보다 빠르면 Queue가 끝없이 커지므로 backlog 이상 쌓이면 대기한다.
+ * pair는 한 쓰레드에서 owner, member를 넣고 바로 매칭하는 비용 (pollQueues/drain의 쌍 선점 + 꺼내기).
+ * policy로 owner 순서(FIFO 연결 리스트, FULLEST_FIRST indexed heap)별 비용을 비교한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FirstQueueBenchmark {
+
+    private static final int BACKLOG = 1 << 16;
+
+    @State(Scope.Group)
+    public static class Contended {
+        @Param({"1", "100"})
+        int batchSize;
+
+        @Param({"FIFO", "FULLEST_FIRST"})
+        MatchingPolicyType policy;
+
+        FirstQueue queue;
+        final AtomicLong sequence = new AtomicLong();
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            queue = newQueue(policy);
+        }
+
+        void offer() {
+            while (queue.memberQueueSize() > BACKLOG)
+                Thread.onSpinWait();
+
+            long no = sequence.incrementAndGet();
+            if ((no & 1) == 0)
+                queue.offerOwner(no);
+            else
+                queue.offerMember(no);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Single {
+        @Param({"1", "100"})
+        int batchSize;
+
+        @Param({"FIFO", "FULLEST_FIRST"})
+        MatchingPolicyType policy;
+
+        FirstQueue queue;
+        long sequence;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            queue = newQueue(policy);
+        }
+    }
+
+    static FirstQueue newQueue(MatchingPolicyType policy) {
+        return new AbstractFirstQueue(OttType.NETFLIX, policy) {
+        };
+    }
+
+    @Benchmark
+    @Group("p1")
+    @GroupThreads(1)
+    public void p1Offer(Contended state) {
+        state.offer();
+    }
+
+    @Benchmark
+    @Group("p1")
+    @GroupThreads(1)
+    public void p1Drain(Contended state, Blackhole bh) {
+        bh.consume(state.queue.drain(state.batchSize));
+    }
+
+    @Benchmark
+    @Group("p4")
+    @GroupThreads(4)
+    public void p4Offer(Contended state) {
+        state.offer();
+    }
+
+    @Benchmark
+    @Group("p4")
+    @GroupThreads(1)
+    public void p4Drain(Contended state, Blackhole bh) {
+        bh.consume(state.queue.drain(state.batchSize));
+    }
+
+    /**
+     * batchSize 쌍을 넣고 한번에 매칭. 결과는 쌍 단위가 아니라 batch 단위
+     */
+    @Benchmark
+    public void pair(Single state, Blackhole bh) {
+        FirstQueue queue = state.queue;
+
+        for (int i = 0; i < state.batchSize; i++) {
+            queue.offerOwner(++state.sequence);
+            queue.offerMember(++state.sequence);
+        }
+
+        if (state.batchSize == 1)
+            bh.consume(queue.pollQueues());
+        else
+            bh.consume(queue.drain(state.batchSize));
+    }
+}
@@ -0,0 +1,97 @@
+package com.foryou.matchingservice.api.queue;
+
+import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.queue.second.MatchQueue;
+import com.foryou.matchingservice.api.queue.third.CompleteQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * SecondQueue(MatchQueue), ThirdQueue(CompleteQueue) offer/drain 처리량
+ * <p>
+ * FirstQueueBenchmark와 같이 producer 1개/4개와 Worker 하나로 측정하며, backlog 이상 쌓이면 producer가 대기한다.
+ * Response는 매번 새로 만들어서 실제 단계 사이 전달과 같은 할당을 포함한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StageQueueBenchmark {
+
+    private static final int BACKLOG = 1 << 16;
+
+    @State(Scope.Group)
+    public static class Contended {
+        @Param({"second", "third"})
+        String stage;
+
+        @Param({"1", "100"})
+        int batchSize;
+
+        StageQueue queue;
+        Consumer<Response> offer;
+        final AtomicLong sequence = new AtomicLong();
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            if ("second".equals(stage)) {
+                MatchQueue matchQueue = new MatchQueue();
+                queue = matchQueue;
+                offer = matchQueue::offerMatched;
+            } else {
+                CompleteQueue completeQueue = new CompleteQueue();
+                queue = completeQueue;
+                offer = completeQueue::offerCompleted;
+            }
+        }
+
+        void offer() {
+            while (queue.size() > BACKLOG)
+                Thread.onSpinWait();
+
+            long no = sequence.incrementAndGet();
+            offer.accept(new Response(no, no + 1, OttType.NETFLIX));
+        }
+    }
+
+    @Benchmark
+    @Group("p1")
+    @GroupThreads(1)
+    public void p1Offer(Contended state) {
+        state.offer();
+    }
+
+    @Benchmark
+    @Group("p1")
+    @GroupThreads(1)
+    public void p1Drain(Contended state, Blackhole bh) {
+        bh.consume(state.queue.drain(state.batchSize));
+    }
+
+    @Benchmark
+    @Group("p4")
+    @GroupThreads(4)
+    public void p4Offer(Contended state) {
+        state.offer();
+    }
+
+    @Benchmark
+    @Group("p4")
+    @GroupThreads(1)
+    public void p4Drain(Contended state, Blackhole bh) {
+        bh.consume(state.queue.drain(state.batchSize));
+    }
+}
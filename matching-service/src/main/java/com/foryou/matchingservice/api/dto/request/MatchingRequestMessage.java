@@ -1,5 +1,6 @@
 package com.foryou.matchingservice.api.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.foryou.matchingservice.api.entity.Match;
 import com.foryou.matchingservice.api.enums.OttType;
 import com.foryou.matchingservice.api.enums.PartyRole;
@@ -8,18 +9,60 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class MatchingRequestMessage {
+    @NotBlank
     private String memberId;
+    @NotNull
     private Long paymentNo;
+    @NotNull
     private Long partyNo;
+    @NotNull
+    @Min(1)
     private Integer inwon;
+    @NotNull
     private OttType ott;
+    @NotNull
     private PartyRole role;
 
+    /**
+     * 결제 실패로 자리가 다시 생긴 기존 owner Match 번호. 값이 있으면 새로 생성하지 않고 Queue에만 다시 넣는다
+     */
+    private Long matchNo;
+
+    /**
+     * true면 memberId, partyNo로 대기중인 요청을 취소한다. 원래 요청과 같은 key로 보내야 순서가 보장된다
+     */
+    private boolean cancel;
+
+    /**
+     * Kafka record 시각. 메시지 본문이 아니라 consumer가 채운다
+     */
+    @JsonIgnore
+    private Long requestedAt;
+
+    /**
+     * owner는 모집인원을 남은 자리 수로 가진 한 건, member는 인원수만큼 생성
+     */
+    public List<Match> toEntities() {
+        if (PartyRole.OWNER == role)
+            return List.of(toEntity());
+
+        return Stream.generate(this::toEntity)
+                .limit(inwon)
+                .collect(Collectors.toList());
+    }
+
     public Match toEntity() {
         return Match.builder()
                 .memberId(memberId)
@@ -27,6 +70,8 @@ public class MatchingRequestMessage {
                 .partyNo(partyNo)
                 .ott(ott)
                 .role(role)
+                .seats(PartyRole.OWNER == role ? inwon : 1)
+                .requestedAt(requestedAt)
                 .build();
     }
 }
@@ -0,0 +1,37 @@
+package com.foryou.matchingservice.api.dto.response;
+
+import com.foryou.matchingservice.api.entity.Match;
+import com.foryou.matchingservice.api.enums.OttType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 단계별 메시지 생성에 필요한 Match의 변경되지 않는 값 (updatable = false)
+ * Queue와 함께 전달해서 Second/Third 단계에서 다시 조회하지 않는다
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MatchSnapshot {
+    private final Long no;
+    private final String memberId;
+    private final Long partyNo;
+    private final Long paymentNo;
+    private final OttType ott;
+    private final Long requestedAt;
+
+    public static MatchSnapshot from(Match match) {
+        return new MatchSnapshot(
+                match.getNo()
+                , match.getMemberId()
+                , match.getPartyNo()
+                , match.getPaymentNo()
+                , match.getOtt()
+                , match.getRequestedAt()
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.foryou.matchingservice.api.dto.response;
+
+import com.foryou.matchingservice.api.enums.OttType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * OTT별 매칭 대기 현황. party-api가 신청을 받을지 판단하는데 사용한다
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchingLoadMessage {
+
+    private OttType ott;
+    private int waitingMembers;
+    private int waitingOwnerSeats;
+
+    /**
+     * 직전 발행 이후 초당 매칭 건수
+     */
+    private double matchedPerSecond;
+
+    /**
+     * 아직 처리하지 않은 가장 오래된 party 요청이 기다린 시간 (broker offset 기준, 처리가 멈추면 계속 커짐)
+     */
+    private long consumeLagMs;
+
+    /**
+     * Second/Third Queue 중 더 많이 찬 쪽의 사용률 (0 ~ 1)
+     */
+    private double stageSaturation;
+
+    private long publishedAt;
+}
@@ -1,18 +1,41 @@
 package com.foryou.matchingservice.api.dto.response;
 
+import com.foryou.matchingservice.api.enums.OttType;
 import com.querydsl.core.annotations.QueryProjection;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class Response {
     private Long ownerPk;
     private Long memberPk;
+    private OttType ott;
+
+    /**
+     * 재기동 복구 등으로 값이 없으면 null이며, 이 경우 단계 처리 시 DB에서 조회한다
+     */
+    private MatchSnapshot owner;
+    private MatchSnapshot member;
+
+    /**
+     * Second/Third Queue에 들어간 시각 (System.nanoTime). Queue 대기 시간 측정용
+     */
+    @EqualsAndHashCode.Exclude
+    private long queuedAt;
 
-    @QueryProjection
     public Response(Long ownerPk, Long memberPk) {
         this.ownerPk = ownerPk;
         this.memberPk = memberPk;
     }
+
+    @QueryProjection
+    public Response(Long ownerPk, Long memberPk, OttType ott) {
+        this.ownerPk = ownerPk;
+        this.memberPk = memberPk;
+        this.ott = ott;
+    }
 }
@@ -0,0 +1,21 @@
+package com.foryou.matchingservice.api.dto.response;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 자리가 남아있는 대기중 owner (재기동 복구용)
+ */
+@Getter
+@ToString
+public class WaitingOwner {
+    private final Long no;
+    private final Integer seats;
+
+    @QueryProjection
+    public WaitingOwner(Long no, Integer seats) {
+        this.no = no;
+        this.seats = seats;
+    }
+}
@@ -17,9 +17,12 @@ import javax.persistence.*;
         name = "SEQ_MATCH_GENERATOR"
         , sequenceName = "SEQ_MATCH"
         , initialValue = 1
-        , allocationSize = 1
+        , allocationSize = 50 // pooled-lo optimizer 로 50개씩 미리 할당 (hibernate.id.optimizer.pooled.preferred)
+)
+@Table(
+        name = "PARTY_MATCH"
+        , indexes = @Index(name = "IDX_PARTY_MATCH_STATUS", columnList = "STATUS, OTT, ROLE, MATCH_NO")
 )
-@Table(name = "PARTY_MATCH")
 public class Match {
 
     @Id
@@ -74,11 +77,41 @@ public class Match {
     @Enumerated(value = EnumType.STRING)
     private StatusType status;
 
+    /**
+     * member는 연결된 owner, owner는 마지막으로 연결된 member. 연결된 적이 없으면 0
+     */
     @Column(name = "LINKED_NO")
     private Long linkedNo;
 
+    /**
+     * 남은 자리 수. owner는 모집인원으로 시작해서 매칭될때마다 1씩 차감, member는 항상 1
+     * 매칭 단계별 상태는 member 행이 가지고, owner 행은 자리가 남아있는 동안 WAIT
+     */
+    @Column(
+            name = "SEATS"
+            , nullable = false
+    )
+    private Integer seats;
+
+    /**
+     * party 요청 record 시각 (epoch millis). 매칭 결과 전송까지 걸린 시간 측정용
+     */
+    @Column(
+            name = "REQUESTED_AT"
+            , nullable = false
+            , updatable = false
+    )
+    private Long requestedAt;
+
+    /**
+     * 마지막으로 결제 요청을 보낸 시각 (epoch millis). 보낸 적이 없으면 null
+     * 같은 쌍이 Second Queue에 중복으로 들어와도 결제 요청을 한번만 보내기 위해 사용
+     */
+    @Column(name = "PAYMENT_REQUESTED_AT")
+    private Long paymentRequestedAt;
+
     @Builder
-    public Match(String memberId, Long paymentNo, Long partyNo, OttType ott, PartyRole role) {
+    public Match(String memberId, Long paymentNo, Long partyNo, OttType ott, PartyRole role, Integer seats, Long requestedAt) {
         this.memberId = memberId;
         this.paymentNo = paymentNo;
         this.partyNo = partyNo;
@@ -86,6 +119,8 @@ public class Match {
         this.role = role;
         this.status = StatusType.WAIT;
         this.linkedNo = 0L;
+        this.seats = seats != null ? seats : 1;
+        this.requestedAt = requestedAt != null ? requestedAt : System.currentTimeMillis();
     }
 
     public void changeStatus(StatusType status) {
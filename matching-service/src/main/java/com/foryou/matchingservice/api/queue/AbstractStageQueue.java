@@ -0,0 +1,296 @@
+package com.foryou.matchingservice.api.queue;
+
+import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.global.journal.JournalState;
+import com.foryou.matchingservice.global.journal.QueueJournal;
+import com.foryou.matchingservice.global.queue.OverflowPolicy;
+import com.foryou.matchingservice.global.queue.StageSignal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Second/Third 단계 Queue 공통 구현
+ * <p>
+ * snapshot을 가진 Response는 capacity 만큼만 보관하고, 가득 차면 OverflowPolicy에 따라 대기(BLOCK), 버림(SHED),
+ * 번호만 남김(SPILL) 중 하나로 처리한다. 번호만 남긴 항목은 overflow 영역에 두고 꺼낼때 같이 꺼낸다
+ * (snapshot이 없으므로 단계 처리 시 DB에서 조회).
+ * 재기동 복구, 기한 재처리처럼 원래 snapshot이 없는 항목은 {@link #spill}로 대기 없이 넣는다.
+ * 크기는 따로 세므로 ConcurrentLinkedQueue.size()처럼 전체를 순회하지 않는다.
+ */
+public abstract class AbstractStageQueue implements StageQueue {
+    private static final int JOURNAL_CHANNEL = 0;
+
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final long offerTimeoutNanos;
+
+    private final Queue<Response> queue = new ConcurrentLinkedQueue<>();
+    private final Queue<Response> overflow = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger overflowSize = new AtomicInteger();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private volatile int waiters;
+
+    private volatile StageSignal signal = StageSignal.NONE;
+    private volatile QueueJournal journal = QueueJournal.NONE;
+
+    protected AbstractStageQueue() {
+        this(Integer.MAX_VALUE, OverflowPolicy.BLOCK, 0L);
+    }
+
+    protected AbstractStageQueue(int capacity, OverflowPolicy policy, long offerTimeoutMs) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+
+        this.capacity = capacity;
+        this.policy = policy;
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+    }
+
+    /**
+     * @return Queue나 overflow에 넣었으면 true, SHED로 버렸으면 false
+     */
+    protected boolean offer(Response response) {
+        requireNumbers(response);
+        if (!tryReserve()) {
+            if (policy == OverflowPolicy.SHED) {
+                shed.increment();
+                return false;
+            }
+
+            if (policy == OverflowPolicy.SPILL || !awaitSpace()) {
+                spill(response);
+                return true;
+            }
+        }
+
+        journal.add(JOURNAL_CHANNEL, response.getOwnerPk(), response.getMemberPk());
+        response.setQueuedAt(System.nanoTime());
+        queue.offer(response);
+        signal.signal();
+        return true;
+    }
+
+    /**
+     * 자리가 있으면 Queue에, 없으면 snapshot 없이 overflow에 넣는다. 대기하거나 버리지 않는다
+     */
+    @Override
+    public void spill(Response response) {
+        requireNumbers(response);
+        if (tryReserve()) {
+            journal.add(JOURNAL_CHANNEL, response.getOwnerPk(), response.getMemberPk());
+            response.setQueuedAt(System.nanoTime());
+            queue.offer(response);
+        } else {
+            Response numbers = new Response(response.getOwnerPk(), response.getMemberPk(), response.getOtt());
+            journal.add(JOURNAL_CHANNEL, numbers.getOwnerPk(), numbers.getMemberPk());
+            numbers.setQueuedAt(System.nanoTime());
+            overflowSize.incrementAndGet();
+            overflow.offer(numbers);
+            spilled.increment();
+        }
+        signal.signal();
+    }
+
+    /**
+     * 번호는 journal에 primitive long으로 기록하므로 자리를 잡기 전에 null을 거부한다
+     */
+    private static void requireNumbers(Response response) {
+        if (response == null || response.getOwnerPk() == null || response.getMemberPk() == null)
+            throw new IllegalArgumentException("response must have owner and member no: " + response);
+    }
+
+    @Override
+    public void subscribe(StageSignal signal) {
+        this.signal = signal;
+    }
+
+    @Override
+    public void restore(JournalState state) {
+        state.entries(JOURNAL_CHANNEL).forEach(entry -> spill(new Response(entry.getA(), entry.getB())));
+    }
+
+    @Override
+    public void attachJournal(QueueJournal journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public Optional<Response> pollQueue() {
+        Response response = pollMain();
+        return Optional.ofNullable(response != null ? response : pollOverflow());
+    }
+
+    /**
+     * overflow가 계속 밀리지 않도록 batch의 절반까지는 overflow에서 먼저 꺼낸다
+     */
+    @Override
+    public List<Response> drain(int maxSize) {
+        List<Response> drained = new ArrayList<>();
+        int fromOverflow = (maxSize + 1) / 2;
+        Response response;
+
+        while (drained.size() < fromOverflow && (response = pollOverflow()) != null)
+            drained.add(response);
+        while (drained.size() < maxSize && (response = pollMain()) != null)
+            drained.add(response);
+        while (drained.size() < maxSize && (response = pollOverflow()) != null)
+            drained.add(response);
+
+        return drained;
+    }
+
+    @Override
+    public int removeIf(Predicate<Response> filter) {
+        int count = 0;
+
+        for (Response response : queue) {
+            if (filter.test(response) && queue.remove(response)) {
+                removed(response);
+                released();
+                count++;
+            }
+        }
+        for (Response response : overflow) {
+            if (filter.test(response) && overflow.remove(response)) {
+                removed(response);
+                overflowSize.decrementAndGet();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Queue와 overflow에 있는 전체 건수
+     */
+    @Override
+    public int size() {
+        return size.get() + overflowSize.get();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size.get());
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public OverflowPolicy policy() {
+        return policy;
+    }
+
+    @Override
+    public long shedCount() {
+        return shed.sum();
+    }
+
+    @Override
+    public long spilledCount() {
+        return spilled.sum();
+    }
+
+    @Override
+    public long blockedNanos() {
+        return blockedNanos.sum();
+    }
+
+    private Response pollMain() {
+        Response response = queue.poll();
+
+        if (response != null) {
+            removed(response);
+            released();
+        }
+        return response;
+    }
+
+    private Response pollOverflow() {
+        Response response = overflow.poll();
+
+        if (response != null) {
+            removed(response);
+            overflowSize.decrementAndGet();
+        }
+        return response;
+    }
+
+    private void removed(Response response) {
+        journal.remove(JOURNAL_CHANNEL, response.getOwnerPk(), response.getMemberPk());
+    }
+
+    private boolean tryReserve() {
+        while (true) {
+            int current = size.get();
+            if (current >= capacity)
+                return false;
+
+            if (size.compareAndSet(current, current + 1))
+                return true;
+        }
+    }
+
+    /**
+     * 자리가 하나 났으므로 대기중인 offer가 있으면 깨운다
+     */
+    private void released() {
+        size.decrementAndGet();
+
+        if (waiters > 0) {
+            lock.lock();
+            try {
+                notFull.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 대기 등록(waiters) 후 다시 확인하므로 그 사이에 난 자리를 놓치지 않는다
+     *
+     * @return 대기 시간 안에 자리를 선점했으면 true
+     */
+    private boolean awaitSpace() {
+        long start = System.nanoTime();
+        long remaining = offerTimeoutNanos;
+
+        lock.lock();
+        try {
+            waiters++;
+            while (!tryReserve()) {
+                if (remaining <= 0)
+                    return false;
+
+                remaining = notFull.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waiters--;
+            lock.unlock();
+            blockedNanos.add(System.nanoTime() - start);
+        }
+    }
+}
@@ -1,17 +1,54 @@
 package com.foryou.matchingservice.api.queue;
 
 import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.global.queue.StageSignal;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface FirstQueue {
+public interface FirstQueue extends JournaledQueue {
+    OttType ott();
+
+    /**
+     * 이미 대기중인 번호면 무시한다 (재기동 복구와 Kafka 요청이 겹치는 경우)
+     */
     void offerMember(Long no);
 
     void offerOwner(Long no);
 
+    void offerOwner(Long no, int seats);
+
+    /**
+     * 결제 실패 등으로 돌려받은 owner 자리를 하나 더한다 (대기중이 아니면 새로 넣는다)
+     */
+    void releaseOwnerSeat(Long no);
+
+    /**
+     * 대기중인 member 또는 owner를 꺼내지 않고 바로 제거
+     *
+     * @return 제거했으면 true, 대기중이 아니거나 이미 매칭되어 꺼내는 중이면 false
+     */
+    boolean remove(Long no);
+
+    boolean contains(Long no);
+
     Optional<Response> pollQueues();
 
+    List<Response> drain(int maxPairs);
+
+    int clear();
+
     int memberQueueSize();
 
     int ownerQueueSize();
+
+    /**
+     * 자리가 모두 채워진 owner 수와 owner가 들어온 뒤 다 찰때까지 걸린 시간 합계
+     */
+    long filledParties();
+
+    long fillNanos();
+
+    void subscribe(StageSignal signal);
 }
@@ -0,0 +1,41 @@
+package com.foryou.matchingservice.api.queue;
+
+import com.foryou.matchingservice.api.enums.OttType;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OttType별 FirstQueue 조회
+ * <p>
+ * FirstQueue Bean을 모두 주입받아 ott() 기준으로 등록하므로, OTT가 추가되어도 Queue Bean만 추가하면 된다.
+ */
+@Component
+public class FirstQueueRegistry {
+
+    private final Map<OttType, FirstQueue> queues = new EnumMap<>(OttType.class);
+
+    public FirstQueueRegistry(List<FirstQueue> firstQueues) {
+        firstQueues.forEach(queue -> {
+            if (queues.putIfAbsent(queue.ott(), queue) != null)
+                throw new IllegalStateException("Duplicate FirstQueue for " + queue.ott());
+        });
+
+        for (OttType ott : OttType.values()) {
+            if (!queues.containsKey(ott))
+                throw new IllegalStateException("No FirstQueue for " + ott);
+        }
+    }
+
+    public FirstQueue get(OttType ott) {
+        return queues.get(ott);
+    }
+
+    public Collection<FirstQueue> queues() {
+        return Collections.unmodifiableCollection(queues.values());
+    }
+}
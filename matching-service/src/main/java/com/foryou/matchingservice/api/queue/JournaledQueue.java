@@ -0,0 +1,17 @@
+package com.foryou.matchingservice.api.queue;
+
+import com.foryou.matchingservice.global.journal.JournalState;
+import com.foryou.matchingservice.global.journal.QueueJournal;
+
+/**
+ * offer/poll 내역을 Journal에 기록해 재기동 시 DB 조회 없이 복구할 수 있는 Queue
+ */
+public interface JournaledQueue {
+
+    /**
+     * Journal을 연결하기 전에 호출해야 복구한 항목이 다시 기록되지 않는다
+     */
+    void restore(JournalState state);
+
+    void attachJournal(QueueJournal journal);
+}
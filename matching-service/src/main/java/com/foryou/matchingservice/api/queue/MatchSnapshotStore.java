@@ -0,0 +1,62 @@
+package com.foryou.matchingservice.api.queue;
+
+import com.foryou.matchingservice.api.dto.response.MatchSnapshot;
+import com.foryou.matchingservice.api.enums.OttType;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FirstQueue는 번호만 저장하므로, 대기중인 Match의 snapshot은 번호 기준으로 따로 보관
+ * First 단계에서 꺼내서 Response에 담아 다음 Queue로 넘긴다
+ * owner는 남은 자리 수만큼 꺼낼 수 있고, 모두 꺼내면 삭제된다
+ */
+@Component
+public class MatchSnapshotStore {
+
+    private final Map<Long, Holder> snapshots = new ConcurrentHashMap<>();
+
+    public void put(MatchSnapshot snapshot) {
+        put(snapshot, 1);
+    }
+
+    public void put(MatchSnapshot snapshot, int uses) {
+        snapshots.put(snapshot.getNo(), new Holder(snapshot, uses));
+    }
+
+    /**
+     * 꺼낼때마다 남은 횟수를 차감하고 0이 되면 삭제. 보관중이 아니면 (재기동 복구 등) null
+     */
+    public MatchSnapshot take(Long no) {
+        MatchSnapshot[] taken = new MatchSnapshot[1];
+
+        snapshots.computeIfPresent(no, (key, holder) -> {
+            taken[0] = holder.snapshot;
+            return holder.remaining > 1 ? new Holder(holder.snapshot, holder.remaining - 1) : null;
+        });
+        return taken[0];
+    }
+
+    public void remove(Long no) {
+        snapshots.remove(no);
+    }
+
+    public void removeAll(OttType ott) {
+        snapshots.values().removeIf(holder -> holder.snapshot.getOtt() == ott);
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    private static final class Holder {
+        private final MatchSnapshot snapshot;
+        private final int remaining;
+
+        private Holder(MatchSnapshot snapshot, int remaining) {
+            this.snapshot = snapshot;
+            this.remaining = remaining;
+        }
+    }
+}
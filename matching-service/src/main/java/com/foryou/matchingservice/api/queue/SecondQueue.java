@@ -2,11 +2,7 @@ package com.foryou.matchingservice.api.queue;
 
 import com.foryou.matchingservice.api.dto.response.Response;
 
-import java.util.Optional;
-
-public interface SecondQueue {
+public interface SecondQueue extends StageQueue {
 
     void offerMatched(Response matched);
-
-    Optional<Response> pollQueue();
 }
@@ -0,0 +1,50 @@
+package com.foryou.matchingservice.api.queue;
+
+import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.global.queue.OverflowPolicy;
+import com.foryou.matchingservice.global.queue.StageSignal;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * 용량이 정해진 Second/Third 단계 Queue
+ *
+ * @see AbstractStageQueue
+ */
+public interface StageQueue extends JournaledQueue {
+
+    /**
+     * 가득 차도 대기하거나 버리지 않고 snapshot 없이 overflow에 넣는다 (재기동 복구, 기한 재처리)
+     */
+    void spill(Response response);
+
+    Optional<Response> pollQueue();
+
+    List<Response> drain(int maxSize);
+
+    int removeIf(Predicate<Response> filter);
+
+    void subscribe(StageSignal signal);
+
+    /**
+     * overflow를 포함한 전체 건수. O(1)
+     */
+    int size();
+
+    /**
+     * 대기 없이 snapshot과 함께 넣을 수 있는 건수
+     */
+    int remainingCapacity();
+
+    int capacity();
+
+    OverflowPolicy policy();
+
+    long shedCount();
+
+    long spilledCount();
+
+    long blockedNanos();
+}
@@ -2,10 +2,6 @@ package com.foryou.matchingservice.api.queue;
 
 import com.foryou.matchingservice.api.dto.response.Response;
 
-import java.util.Optional;
-
-public interface ThirdQueue {
+public interface ThirdQueue extends StageQueue {
     void offerCompleted(Response complete);
-
-    Optional<Response> pollQueue();
 }
@@ -0,0 +1,404 @@
+package com.foryou.matchingservice.api.queue.first;
+
+import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.queue.FirstQueue;
+import com.foryou.matchingservice.global.journal.JournalState;
+import com.foryou.matchingservice.global.journal.QueueJournal;
+import com.foryou.matchingservice.global.queue.ConcurrentLongQueue;
+import com.foryou.matchingservice.global.queue.MatchingPolicyType;
+import com.foryou.matchingservice.global.queue.StageSignal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OTT별 FirstQueue 공통 구현
+ * <p>
+ * member 번호는 Lock-Free Queue에 primitive long으로 저장하고, 대기중인 번호는 Set으로 따로 관리한다.
+ * 제거된 member는 Queue에 남겨두고 꺼낼때 Set에 없으면 건너뛴다.
+ * owner는 남은 자리 수와 함께 한 건만 번호 index와 MatchingPolicy에 저장하고, MatchingPolicy가 정한 맨 앞 owner의 자리부터 채운다
+ * (FIFO는 연결 리스트로 O(1), FULLEST_FIRST는 indexed heap으로 O(log n). 맨 앞을 보고 차감해야 하므로 lock 사용).
+ * 매칭 가능한 개수는 하나의 AtomicLong에 (owner 남은 자리 수 << 32 | member 개수) 형태로 관리한다.
+ * pollQueues는 두 개수를 한번의 CAS로 동시에 차감하므로 owner만 꺼내고 member가 없는 상황이 생기지 않는다.
+ * 제거된 owner의 자리 중 이미 선점된 자리는 꺼내는 쪽에서 버리고, 짝이 될 member의 선점은 되돌린다.
+ * 매칭 가능한 쌍이 생기면 구독중인 StageSignal로 Worker를 깨운다.
+ * Journal이 연결되어 있으면 offer 전에 먼저 기록하고(write-ahead), 매칭된 쌍은 꺼낸 뒤 기록한다.
+ * owner의 자리가 모두 채워지면 owner가 들어온 뒤 다 찰때까지 걸린 시간을 누적한다 (time-to-full-party).
+ */
+public abstract class AbstractFirstQueue implements FirstQueue {
+    private static final long MEMBER_UNIT = 1L;
+    private static final long OWNER_UNIT = 1L << 32;
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+    private static final int MEMBER_CHANNEL = 0;
+    private static final int OWNER_CHANNEL = 1;
+    private static final long CANCELLED_OWNER = -1L;
+
+    private final OttType ott;
+    private final ConcurrentLongQueue memberQueue = new ConcurrentLongQueue();
+    private final Set<Long> members = ConcurrentHashMap.newKeySet();
+    private final Map<Long, OwnerSeats> ownerIndex = new HashMap<>();
+    private final MatchingPolicy policy;
+    private final AtomicLong available = new AtomicLong();
+    private final LongAdder filledParties = new LongAdder();
+    private final LongAdder fillNanos = new LongAdder();
+    private volatile StageSignal signal = StageSignal.NONE;
+    private volatile QueueJournal journal = QueueJournal.NONE;
+
+    protected AbstractFirstQueue(OttType ott) {
+        this(ott, MatchingPolicyType.FIFO);
+    }
+
+    protected AbstractFirstQueue(OttType ott, MatchingPolicyType policyType) {
+        this.ott = ott;
+        this.policy = policyType == MatchingPolicyType.FULLEST_FIRST
+                ? new FullestFirstMatchingPolicy()
+                : new FifoMatchingPolicy();
+    }
+
+    @Override
+    public OttType ott() {
+        return ott;
+    }
+
+    @Override
+    public void offerMember(Long no) {
+        if (!members.add(requireNo(no)))
+            return;
+
+        journal.add(MEMBER_CHANNEL, no, 0L);
+        memberQueue.offer(no);
+        signalIfPairable(available.addAndGet(MEMBER_UNIT));
+    }
+
+    @Override
+    public void offerOwner(Long no) {
+        offerOwner(no, 1);
+    }
+
+    @Override
+    public void offerOwner(Long no, int seats) {
+        requireNo(no);
+        synchronized (ownerIndex) {
+            if (ownerIndex.containsKey(no))
+                return;
+
+            link(new OwnerSeats(no, seats));
+            journal.add(OWNER_CHANNEL, no, seats);
+        }
+        signalIfPairable(available.addAndGet(seats * OWNER_UNIT));
+    }
+
+    @Override
+    public void releaseOwnerSeat(Long no) {
+        requireNo(no);
+        synchronized (ownerIndex) {
+            OwnerSeats owner = ownerIndex.get(no);
+
+            if (owner == null) {
+                link(owner = new OwnerSeats(no, 1));
+            } else if (owner.cancelled) {
+                return;
+            } else {
+                journal.remove(OWNER_CHANNEL, no, owner.seats);
+                owner.seats++;
+                policy.changed(owner);
+            }
+            journal.add(OWNER_CHANNEL, no, owner.seats);
+        }
+        signalIfPairable(available.addAndGet(OWNER_UNIT));
+    }
+
+    /**
+     * 번호는 primitive long으로 저장하므로 null은 Queue에 넣기 전에 거부한다
+     */
+    private static Long requireNo(Long no) {
+        if (no == null)
+            throw new IllegalArgumentException("match no must not be null");
+        return no;
+    }
+
+    @Override
+    public boolean remove(Long no) {
+        return removeMember(no) || removeOwner(no);
+    }
+
+    @Override
+    public boolean contains(Long no) {
+        if (members.contains(no))
+            return true;
+
+        synchronized (ownerIndex) {
+            OwnerSeats owner = ownerIndex.get(no);
+            return owner != null && !owner.cancelled;
+        }
+    }
+
+    /**
+     * 매칭하는 쪽과 같이 개수를 먼저 선점한 뒤 Set에서 제거한다
+     * 다른 쓰레드가 먼저 꺼내갔으면 선점한 개수를 돌려준다
+     */
+    private boolean removeMember(Long no) {
+        if (!members.contains(no) || reserve(MEMBER_UNIT, 1) == 0)
+            return false;
+
+        if (members.remove(no)) {
+            journal.remove(MEMBER_CHANNEL, no, 0L);
+            return true;
+        }
+
+        signalIfPairable(available.addAndGet(MEMBER_UNIT));
+        return false;
+    }
+
+    /**
+     * 선점되지 않은 자리는 바로 제거하고, 이미 선점된 자리가 남아있으면 취소 표시만 해서 꺼내는 쪽에서 버리게 한다
+     * 자리 수는 선점한 쪽이 꺼낼때까지 남겨둬야 다른 owner의 자리를 대신 꺼내가지 않는다
+     */
+    private boolean removeOwner(Long no) {
+        synchronized (ownerIndex) {
+            OwnerSeats owner = ownerIndex.get(no);
+            if (owner == null || owner.cancelled)
+                return false;
+
+            int unreserved = (int) reserve(OWNER_UNIT, owner.seats);
+            if (unreserved > 0)
+                takeSeats(owner, unreserved);
+
+            if (owner.seats > 0) {
+                journal.remove(OWNER_CHANNEL, owner.no, owner.seats);
+                owner.cancelled = true;
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public void subscribe(StageSignal signal) {
+        this.signal = signal;
+    }
+
+    @Override
+    public void restore(JournalState state) {
+        state.entries(OWNER_CHANNEL).forEach(entry -> offerOwner(entry.getA(), (int) Math.max(1L, entry.getB())));
+        state.entries(MEMBER_CHANNEL).forEach(entry -> offerMember(entry.getA()));
+    }
+
+    @Override
+    public void attachJournal(QueueJournal journal) {
+        this.journal = journal;
+    }
+
+    private void signalIfPairable(long current) {
+        if ((current & COUNT_MASK) != 0 && (current >>> 32) != 0)
+            signal.signal();
+    }
+
+    @Override
+    public int memberQueueSize() {
+        return (int) (available.get() & COUNT_MASK);
+    }
+
+    @Override
+    public int ownerQueueSize() {
+        return (int) (available.get() >>> 32);
+    }
+
+    @Override
+    public long filledParties() {
+        return filledParties.sum();
+    }
+
+    @Override
+    public long fillNanos() {
+        return fillNanos.sum();
+    }
+
+    @Override
+    public Optional<Response> pollQueues() {
+        if (reservePairs(1) == 0)
+            return Optional.empty();
+
+        return Optional.ofNullable(pollReservedPair());
+    }
+
+    /**
+     * 최대 maxPairs 쌍까지 한번에 매칭
+     */
+    @Override
+    public List<Response> drain(int maxPairs) {
+        int reserved = reservePairs(maxPairs);
+
+        if (reserved == 0)
+            return Collections.emptyList();
+
+        List<Response> pairs = new ArrayList<>(reserved);
+        for (int i = 0; i < reserved; i++) {
+            Response pair = pollReservedPair();
+
+            if (pair != null)
+                pairs.add(pair);
+        }
+        return pairs;
+    }
+
+    /**
+     * 남아있는 member, owner를 모두 꺼내서 버린다 (Partition 소유권을 잃은 경우)
+     * 이미 선점된 자리는 꺼내가는 쪽을 위해 남겨두고, 선점되지 않은 자리만 뒤에서부터 버린다
+     *
+     * @return 버린 건수 (owner는 자리 수)
+     */
+    @Override
+    public int clear() {
+        long current = available.getAndSet(0L);
+        long seats = current >>> 32;
+        long members = current & COUNT_MASK;
+
+        synchronized (ownerIndex) {
+            for (long left = seats; left > 0; ) {
+                OwnerSeats owner = policy.last();
+                int dropped = (int) Math.min(left, owner.seats);
+
+                left -= dropped;
+                takeSeats(owner, dropped);
+            }
+        }
+        for (long i = 0; i < members; i++)
+            pollReservedMember();
+
+        return (int) (seats + members);
+    }
+
+    /**
+     * 취소된 owner의 자리였으면 member는 꺼내지 않고 선점만 되돌린다
+     *
+     * @return 취소된 owner의 자리였으면 null
+     */
+    private Response pollReservedPair() {
+        long ownerPk = pollReservedSeat();
+
+        if (ownerPk == CANCELLED_OWNER) {
+            signalIfPairable(available.addAndGet(MEMBER_UNIT));
+            return null;
+        }
+
+        long memberPk = pollReservedMember();
+
+        return Response.builder()
+                .ownerPk(ownerPk)
+                .memberPk(memberPk)
+                .ott(ott)
+                .build();
+    }
+
+    /**
+     * 제거된 번호는 Set에 없으므로 건너뛴다
+     * 선점한 개수만큼은 Set에 남아있는 번호가 Queue에 항상 있다
+     */
+    private long pollReservedMember() {
+        while (true) {
+            long no = memberQueue.pollReserved();
+
+            if (members.remove(no)) {
+                journal.remove(MEMBER_CHANNEL, no, 0L);
+                return no;
+            }
+        }
+    }
+
+    /**
+     * 맨 앞 owner의 자리를 하나 차지하고, 자리가 모두 차면 꺼낸다
+     * 자리 수는 저장한 뒤에 available에 더하므로 선점한 만큼은 항상 남아있다
+     *
+     * @return owner 번호, 취소된 owner의 자리였으면 CANCELLED_OWNER
+     */
+    private long pollReservedSeat() {
+        synchronized (ownerIndex) {
+            OwnerSeats owner = policy.head();
+
+            takeSeats(owner, 1);
+            if (owner.cancelled)
+                return CANCELLED_OWNER;
+
+            if (owner.seats == 0) {
+                filledParties.increment();
+                fillNanos.add(System.nanoTime() - owner.offeredAt);
+            }
+            return owner.no;
+        }
+    }
+
+    /**
+     * 취소된 owner는 이미 Journal에서 지웠으므로 자리 수만 줄인다
+     */
+    private void takeSeats(OwnerSeats owner, int count) {
+        if (!owner.cancelled)
+            journal.remove(OWNER_CHANNEL, owner.no, owner.seats);
+        owner.seats -= count;
+
+        if (owner.seats == 0) {
+            unlink(owner);
+        } else {
+            if (!owner.cancelled)
+                journal.add(OWNER_CHANNEL, owner.no, owner.seats);
+            policy.changed(owner);
+        }
+    }
+
+    private void link(OwnerSeats owner) {
+        ownerIndex.put(owner.no, owner);
+        policy.add(owner);
+    }
+
+    private void unlink(OwnerSeats owner) {
+        ownerIndex.remove(owner.no);
+        policy.remove(owner);
+    }
+
+    /**
+     * 해당 개수를 최대 max 만큼 CAS로 차감
+     *
+     * @return 실제 차감한 개수
+     */
+    private long reserve(long unit, long max) {
+        while (true) {
+            long current = available.get();
+            long count = Math.min(max, unit == MEMBER_UNIT ? current & COUNT_MASK : current >>> 32);
+
+            if (count == 0)
+                return 0;
+
+            if (available.compareAndSet(current, current - count * unit))
+                return count;
+        }
+    }
+
+    /**
+     * member, owner 개수를 한번의 CAS로 동시에 차감
+     *
+     * @return 실제 선점한 쌍의 개수
+     */
+    private int reservePairs(int maxPairs) {
+        if (maxPairs <= 0)
+            return 0;
+
+        while (true) {
+            long current = available.get();
+            long pairs = Math.min(maxPairs, Math.min(current & COUNT_MASK, current >>> 32));
+
+            if (pairs == 0)
+                return 0;
+
+            if (available.compareAndSet(current, current - pairs * (MEMBER_UNIT + OWNER_UNIT)))
+                return (int) pairs;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.foryou.matchingservice.api.queue.first;
+
+/**
+ * 먼저 들어온 owner의 자리부터 채운다. 연결 리스트라 모든 연산이 O(1)
+ * 자리를 돌려받은 owner도 원래 위치를 유지한다
+ */
+class FifoMatchingPolicy implements MatchingPolicy {
+
+    private OwnerSeats head;
+    private OwnerSeats tail;
+
+    @Override
+    public void add(OwnerSeats owner) {
+        if (tail == null) {
+            head = owner;
+        } else {
+            tail.next = owner;
+            owner.prev = tail;
+        }
+        tail = owner;
+    }
+
+    @Override
+    public void remove(OwnerSeats owner) {
+        if (owner.prev == null)
+            head = owner.next;
+        else
+            owner.prev.next = owner.next;
+
+        if (owner.next == null)
+            tail = owner.prev;
+        else
+            owner.next.prev = owner.prev;
+
+        owner.prev = null;
+        owner.next = null;
+    }
+
+    @Override
+    public void changed(OwnerSeats owner) {
+    }
+
+    @Override
+    public OwnerSeats head() {
+        return head;
+    }
+
+    @Override
+    public OwnerSeats last() {
+        return tail;
+    }
+}
@@ -0,0 +1,112 @@
+package com.foryou.matchingservice.api.queue.first;
+
+import java.util.Arrays;
+
+/**
+ * 남은 자리가 가장 적은 owner부터 채워서 파티가 다 차기까지의 시간을 줄인다
+ * <p>
+ * (남은 자리 수, 들어온 순서)로 정렬한 binary heap에 각 owner의 위치를 저장해 두므로(indexed heap)
+ * 추가, 제거, 자리 수 변경 모두 O(log n), 맨 앞 조회는 O(1)이다.
+ * 자리가 하나 채워지면 남은 자리가 줄어 앞으로 올라가므로 한번 채우기 시작한 파티는 다 찰때까지 계속 채운다.
+ * 자리가 많이 남은 owner는 자리가 적은 owner가 계속 들어오면 뒤로 밀릴 수 있다.
+ */
+class FullestFirstMatchingPolicy implements MatchingPolicy {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private OwnerSeats[] heap = new OwnerSeats[INITIAL_CAPACITY];
+    private int size;
+    private long sequence;
+
+    @Override
+    public void add(OwnerSeats owner) {
+        if (size == heap.length)
+            heap = Arrays.copyOf(heap, size * 2);
+
+        owner.sequence = sequence++;
+        owner.heapIndex = size;
+        heap[size++] = owner;
+        siftUp(owner.heapIndex);
+    }
+
+    @Override
+    public void remove(OwnerSeats owner) {
+        int index = owner.heapIndex;
+        OwnerSeats moved = heap[--size];
+
+        heap[size] = null;
+        owner.heapIndex = -1;
+
+        if (index == size)
+            return;
+
+        place(moved, index);
+        changed(moved);
+    }
+
+    @Override
+    public void changed(OwnerSeats owner) {
+        int index = owner.heapIndex;
+
+        siftUp(index);
+        if (heap[index] == owner)
+            siftDown(index);
+    }
+
+    @Override
+    public OwnerSeats head() {
+        return size == 0 ? null : heap[0];
+    }
+
+    /**
+     * 맨 마지막 원소는 다른 원소를 옮기지 않고 제거된다
+     */
+    @Override
+    public OwnerSeats last() {
+        return size == 0 ? null : heap[size - 1];
+    }
+
+    private void siftUp(int index) {
+        OwnerSeats owner = heap[index];
+
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(owner, heap[parent]))
+                break;
+
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(owner, index);
+    }
+
+    private void siftDown(int index) {
+        OwnerSeats owner = heap[index];
+        int half = size >>> 1;
+
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+
+            if (right < size && before(heap[right], heap[child]))
+                child = right;
+            if (!before(heap[child], owner))
+                break;
+
+            place(heap[child], index);
+            index = child;
+        }
+        place(owner, index);
+    }
+
+    private void place(OwnerSeats owner, int index) {
+        heap[index] = owner;
+        owner.heapIndex = index;
+    }
+
+    private static boolean before(OwnerSeats a, OwnerSeats b) {
+        if (a.seats != b.seats)
+            return a.seats < b.seats;
+        return a.sequence < b.sequence;
+    }
+}
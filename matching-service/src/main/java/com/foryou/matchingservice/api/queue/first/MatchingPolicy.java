@@ -0,0 +1,26 @@
+package com.foryou.matchingservice.api.queue.first;
+
+/**
+ * 대기중인 owner의 매칭 순서
+ * <p>
+ * AbstractFirstQueue가 owner lock을 잡은 상태에서만 호출하므로 구현은 thread-safe 하지 않아도 된다.
+ * 남은 자리 수가 바뀌면 changed로 알려준다.
+ */
+interface MatchingPolicy {
+
+    void add(OwnerSeats owner);
+
+    void remove(OwnerSeats owner);
+
+    void changed(OwnerSeats owner);
+
+    /**
+     * 다음에 member를 배정할 owner
+     */
+    OwnerSeats head();
+
+    /**
+     * 제거 비용이 가장 작은 owner (clear에서 선점되지 않은 자리를 버릴때 사용)
+     */
+    OwnerSeats last();
+}
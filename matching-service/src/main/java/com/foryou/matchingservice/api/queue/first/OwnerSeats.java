@@ -0,0 +1,24 @@
+package com.foryou.matchingservice.api.queue.first;
+
+/**
+ * FirstQueue에 대기중인 owner 한 건과 남은 자리 수
+ * 연결 리스트(prev, next)와 heap 위치(heapIndex)는 MatchingPolicy 구현이 O(1)로 찾아가기 위한 값이다
+ */
+final class OwnerSeats {
+    final long no;
+    final long offeredAt = System.nanoTime();
+    int seats;
+    long sequence;
+    OwnerSeats prev;
+    OwnerSeats next;
+    int heapIndex = -1;
+    /**
+     * 제거 요청을 받았지만 다른 쓰레드가 이미 선점한 자리가 남아있는 owner. 남은 자리는 매칭하지 않고 버린다
+     */
+    boolean cancelled;
+
+    OwnerSeats(long no, int seats) {
+        this.no = no;
+        this.seats = seats;
+    }
+}
@@ -1,28 +1,26 @@
 package com.foryou.matchingservice.api.queue.second;
 
 import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.queue.AbstractStageQueue;
 import com.foryou.matchingservice.api.queue.SecondQueue;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.LinkedList;
-import java.util.Optional;
-import java.util.Queue;
-
 @Component
-public class MatchQueue implements SecondQueue {
-    private final Queue<Response> matchedQueue = new LinkedList<>();
+public class MatchQueue extends AbstractStageQueue implements SecondQueue {
 
-    @Override
-    public void offerMatched(Response matched) {
-        matchedQueue.offer(matched);
+    public MatchQueue() {
+        super();
+    }
+
+    @Autowired
+    public MatchQueue(MatchingProperties properties) {
+        super(properties.getSecondCapacity(), properties.getSecondPolicy(), properties.getStageOfferTimeoutMs());
     }
 
     @Override
-    public Optional<Response> pollQueue() {
-        synchronized (this) {
-            if (!matchedQueue.isEmpty())
-                return Optional.of(matchedQueue.poll());
-            return Optional.empty();
-        }
+    public void offerMatched(Response matched) {
+        offer(matched);
     }
 }
@@ -1,28 +1,26 @@
 package com.foryou.matchingservice.api.queue.third;
 
 import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.queue.AbstractStageQueue;
 import com.foryou.matchingservice.api.queue.ThirdQueue;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.LinkedList;
-import java.util.Optional;
-import java.util.Queue;
-
 @Component
-public class CompleteQueue implements ThirdQueue {
-    private final Queue<Response> completedQueue = new LinkedList<>();
+public class CompleteQueue extends AbstractStageQueue implements ThirdQueue {
 
-    @Override
-    public void offerCompleted(Response complete) {
-        completedQueue.offer(complete);
+    public CompleteQueue() {
+        super();
+    }
+
+    @Autowired
+    public CompleteQueue(MatchingProperties properties) {
+        super(properties.getThirdCapacity(), properties.getThirdPolicy(), properties.getStageOfferTimeoutMs());
     }
 
     @Override
-    public Optional<Response> pollQueue() {
-        synchronized (this) {
-            if (!completedQueue.isEmpty())
-                return Optional.of(completedQueue.poll());
-            return Optional.empty();
-        }
+    public void offerCompleted(Response complete) {
+        offer(complete);
     }
 }
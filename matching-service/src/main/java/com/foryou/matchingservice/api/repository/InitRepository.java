@@ -1,6 +1,7 @@
 package com.foryou.matchingservice.api.repository;
 
 import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.dto.response.WaitingOwner;
 import com.foryou.matchingservice.api.enums.OttType;
 import com.foryou.matchingservice.api.enums.PartyRole;
 import com.foryou.matchingservice.api.enums.StatusType;
@@ -9,7 +10,24 @@ import java.util.List;
 
 public interface InitRepository {
 
-    List<Long> selectUnprocessedWait(OttType ott, PartyRole role);
+    /**
+     * 복구 시작 시점의 마지막 번호. 복구 도중 새로 들어온 요청이 중복 조회되지 않도록 조회 범위 상한으로 사용
+     */
+    long selectMaxNo();
 
-    List<Response> selectUnprocessedAfterWait(StatusType status);
+    /**
+     * afterNo 보다 큰 번호부터 limit 개수만큼 번호 순으로 조회 (keyset pagination)
+     */
+    List<Long> selectUnprocessedWait(OttType ott, PartyRole role, long afterNo, long maxNo, int limit);
+
+    /**
+     * 자리가 남아있는 대기중 owner를 남은 자리 수와 함께 조회
+     */
+    List<WaitingOwner> selectUnprocessedWaitOwner(OttType ott, long afterNo, long maxNo, int limit);
+
+    /**
+     * 단계별 상태는 member 행이 가지므로 member 기준으로 조회 (ownerPk는 연결된 owner 번호)
+     * ott가 null이면 전체 OTT 조회
+     */
+    List<Response> selectUnprocessedAfterWait(OttType ott, StatusType status, long afterNo, long maxNo, int limit);
 }
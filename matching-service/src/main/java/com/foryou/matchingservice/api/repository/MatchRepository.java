@@ -3,12 +3,77 @@ package com.foryou.matchingservice.api.repository;
 import com.foryou.matchingservice.api.entity.Match;
 import com.foryou.matchingservice.api.enums.StatusType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface MatchRepository extends JpaRepository<Match, Long> {
 
     Optional<Match> findByNoAndStatus(Long no, StatusType statusType);
 
+    List<Match> findAllByNoInAndStatus(Collection<Long> noList, StatusType statusType);
+
     Optional<Match> findByMemberIdAndPartyNo(String memberId, Long partyNo);
-}
\ No newline at end of file
+
+    List<Match> findAllByMemberIdAndPartyNoAndStatus(String memberId, Long partyNo, StatusType statusType);
+
+    /**
+     * 대기중이고 연결된 상대가 없을때만 취소한다 (compare-and-set). 이미 매칭이 시작됐으면 0
+     * owner는 member가 한명이라도 연결되었으면 파티가 구성중이므로 취소하지 않는다 (linkPair가 owner에 마지막 member를 기록)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Match m"
+            + " set m.status = com.foryou.matchingservice.api.enums.StatusType.CANCEL"
+            + " where m.no = :no and m.status = com.foryou.matchingservice.api.enums.StatusType.WAIT and m.linkedNo = 0")
+    int cancelWaiting(@Param("no") Long no);
+
+    /**
+     * owner는 자리가 남아있을때 한 자리를 차감하고, member는 expected 상태일때만 next 상태로 바꾸고 owner와 연결한다 (compare-and-set)
+     * owner에는 마지막으로 연결된 member를 기록해서 연결된 member가 있는 owner는 취소되지 않게 한다
+     * 반환값이 2가 아니면 다른 Worker가 먼저 처리했거나 상태가 바뀐 것
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Match m"
+            + " set m.seats = case when m.no = :ownerPk then m.seats - 1 else m.seats end"
+            + ", m.status = case when m.no = :memberPk then :next else m.status end"
+            + ", m.linkedNo = case when m.no = :memberPk then :ownerPk else :memberPk end"
+            + " where (m.no = :ownerPk and m.status = com.foryou.matchingservice.api.enums.StatusType.WAIT and m.seats > 0)"
+            + " or (m.no = :memberPk and m.status = :expected)")
+    int linkPair(@Param("ownerPk") Long ownerPk, @Param("memberPk") Long memberPk
+            , @Param("expected") StatusType expected, @Param("next") StatusType next);
+
+    /**
+     * 매칭 단계별 상태는 member 행만 가지므로 member 한 건만 바꾼다 (compare-and-set)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Match m"
+            + " set m.status = :next"
+            + " where m.no = :memberPk and m.status = :expected")
+    int changeMemberStatus(@Param("memberPk") Long memberPk
+            , @Param("expected") StatusType expected, @Param("next") StatusType next);
+
+    /**
+     * START 상태이고 결제 요청을 보낸 적이 없거나 resendBefore 이전에 보냈을때만 요청 시각을 기록한다 (compare-and-set)
+     * 같은 쌍이 중복으로 Second Queue에 들어와도 결제 요청은 한번만 보내고, 기한이 지나서 다시 넣은 쌍만 다시 보낸다
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Match m"
+            + " set m.paymentRequestedAt = :now"
+            + " where m.no = :memberPk and m.status = com.foryou.matchingservice.api.enums.StatusType.START"
+            + " and (m.paymentRequestedAt is null or m.paymentRequestedAt <= :resendBefore)")
+    int markPaymentRequested(@Param("memberPk") Long memberPk, @Param("now") Long now, @Param("resendBefore") Long resendBefore);
+
+    /**
+     * 결제 실패 등으로 매칭이 취소되면 owner의 자리를 하나 돌려준다
+     * 같은 트랜잭션에서 변경한 member 상태가 사라지지 않도록 먼저 flush 한다
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Match m"
+            + " set m.seats = m.seats + 1"
+            + " where m.no = :ownerPk and m.status = com.foryou.matchingservice.api.enums.StatusType.WAIT")
+    int releaseSeat(@Param("ownerPk") Long ownerPk);
+}
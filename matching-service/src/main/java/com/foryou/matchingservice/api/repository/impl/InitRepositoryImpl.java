@@ -2,7 +2,9 @@ package com.foryou.matchingservice.api.repository.impl;
 
 
 import com.foryou.matchingservice.api.dto.response.QResponse;
+import com.foryou.matchingservice.api.dto.response.QWaitingOwner;
 import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.dto.response.WaitingOwner;
 import com.foryou.matchingservice.api.enums.OttType;
 import com.foryou.matchingservice.api.enums.PartyRole;
 import com.foryou.matchingservice.api.enums.StatusType;
@@ -23,7 +25,17 @@ public class InitRepositoryImpl implements InitRepository {
     private final JPAQueryFactory queryFactory;
 
     @Override
-    public List<Long> selectUnprocessedWait(OttType ott, PartyRole role) {
+    public long selectMaxNo() {
+        Long maxNo = queryFactory
+                .select(match.no.max())
+                .from(match)
+                .fetchOne();
+
+        return maxNo != null ? maxNo : 0L;
+    }
+
+    @Override
+    public List<Long> selectUnprocessedWait(OttType ott, PartyRole role, long afterNo, long maxNo, int limit) {
         return queryFactory
                 .select(match.no)
                 .from(match)
@@ -31,22 +43,53 @@ public class InitRepositoryImpl implements InitRepository {
                         match.status.eq(StatusType.WAIT)
                         , ottEq(ott)
                         , roleEq(role)
+                        , match.no.gt(afterNo)
+                        , match.no.loe(maxNo)
                 )
+                .orderBy(match.no.asc())
+                .limit(limit)
                 .fetch();
     }
 
     @Override
-    public List<Response> selectUnprocessedAfterWait(StatusType status) {
+    public List<WaitingOwner> selectUnprocessedWaitOwner(OttType ott, long afterNo, long maxNo, int limit) {
         return queryFactory
-                .select(new QResponse(
+                .select(new QWaitingOwner(
                         match.no
-                        , match.linkedNo
+                        , match.seats
                 ))
                 .from(match)
                 .where(
-                        statusEq(status)
+                        match.status.eq(StatusType.WAIT)
+                        , ottEq(ott)
                         , match.role.eq(PartyRole.OWNER)
+                        , match.seats.gt(0)
+                        , match.no.gt(afterNo)
+                        , match.no.loe(maxNo)
+                )
+                .orderBy(match.no.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<Response> selectUnprocessedAfterWait(OttType ott, StatusType status, long afterNo, long maxNo, int limit) {
+        return queryFactory
+                .select(new QResponse(
+                        match.linkedNo
+                        , match.no
+                        , match.ott
+                ))
+                .from(match)
+                .where(
+                        statusEq(status)
+                        , ottEq(ott)
+                        , match.role.eq(PartyRole.MEMBER)
+                        , match.no.gt(afterNo)
+                        , match.no.loe(maxNo)
                 )
+                .orderBy(match.no.asc())
+                .limit(limit)
                 .fetch();
     }
 
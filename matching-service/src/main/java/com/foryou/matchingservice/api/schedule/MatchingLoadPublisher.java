@@ -0,0 +1,79 @@
+package com.foryou.matchingservice.api.schedule;
+
+import com.foryou.matchingservice.api.dto.response.MatchingLoadMessage;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.queue.FirstQueue;
+import com.foryou.matchingservice.api.queue.FirstQueueRegistry;
+import com.foryou.matchingservice.api.queue.SecondQueue;
+import com.foryou.matchingservice.api.queue.StageQueue;
+import com.foryou.matchingservice.api.queue.ThirdQueue;
+import com.foryou.matchingservice.api.service.QueueOwnershipService;
+import com.foryou.matchingservice.api.service.kafka.producer.KafkaProducer;
+import com.foryou.matchingservice.global.constants.Constants;
+import com.foryou.matchingservice.global.kafka.consumer.PartyConsumeLagMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * OTT별 대기 건수, 매칭 속도, consume lag, 다음 단계 Queue 사용률을 주기적으로 matching_load topic에 발행
+ * <p>
+ * party-api는 이 값으로 신청을 받을지, 몇 번째로 대기하게 되는지 판단한다.
+ * Partition 소유권 모드에서는 소유한 OTT만 발행해서 다른 인스턴스의 값을 빈 Queue로 덮어쓰지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "config.matching.load.enabled", havingValue = "true", matchIfMissing = true)
+public class MatchingLoadPublisher {
+
+    private final FirstQueueRegistry firstQueues;
+    private final SecondQueue secondQueue;
+    private final ThirdQueue thirdQueue;
+    private final MatchingStats stats;
+    private final QueueOwnershipService ownership;
+    private final KafkaProducer producer;
+    private final PartyConsumeLagMonitor lagMonitor;
+
+    private final Map<OttType, Long> lastProcessed = new EnumMap<>(OttType.class);
+    private long lastPublishedAt = System.currentTimeMillis();
+
+    @Scheduled(
+            fixedRateString = "${config.matching.load.publish-interval-ms:1000}"
+            , initialDelayString = "${config.matching.load.publish-interval-ms:1000}"
+    )
+    public synchronized void publish() {
+        long now = System.currentTimeMillis();
+        double elapsedSec = Math.max(1L, now - lastPublishedAt) / 1000.0;
+        double saturation = Math.max(saturation(secondQueue), saturation(thirdQueue));
+        Map<OttType, Long> consumeLags = lagMonitor.consumeLagMs(now);
+
+        for (FirstQueue queue : firstQueues.queues()) {
+            OttType ott = queue.ott();
+            long processed = stats.first(ott).getProcessed();
+            long matched = processed - lastProcessed.getOrDefault(ott, processed);
+            lastProcessed.put(ott, processed);
+
+            if (!ownership.owns(ott))
+                continue;
+
+            producer.sendMessage(Constants.KAFKA_TOPIC_MATCHING_LOAD, ott.name(), MatchingLoadMessage.builder()
+                    .ott(ott)
+                    .waitingMembers(queue.memberQueueSize())
+                    .waitingOwnerSeats(queue.ownerQueueSize())
+                    .matchedPerSecond(matched / elapsedSec)
+                    .consumeLagMs(consumeLags.getOrDefault(ott, 0L))
+                    .stageSaturation(saturation)
+                    .publishedAt(now)
+                    .build());
+        }
+        lastPublishedAt = now;
+    }
+
+    private static double saturation(StageQueue queue) {
+        return Math.min(1.0, queue.size() / (double) queue.capacity());
+    }
+}
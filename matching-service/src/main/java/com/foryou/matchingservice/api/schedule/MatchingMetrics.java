@@ -0,0 +1,77 @@
+package com.foryou.matchingservice.api.schedule;
+
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.global.error.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매칭 단계별 처리 시간, Queue 대기 시간, 결과 전송까지 걸린 시간을 Micrometer로 기록
+ * <p>
+ * Timer는 percentile histogram을 같이 내보내므로 Prometheus에서 단계별 분위수를 계산할 수 있다.
+ * stage 태그는 StageStats 이름 (first-NETFLIX, second, third) 을 그대로 사용한다.
+ * Queue 크기, 처리/실패 건수 누적값은 {@link MatchingMetricsBinder}가 내보낸다.
+ */
+@Component
+public class MatchingMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> jobTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> waitTimers = new ConcurrentHashMap<>();
+    private final Map<OttType, Counter> matches = new EnumMap<>(OttType.class);
+    private final Timer endToEnd;
+
+    public MatchingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.endToEnd = histogram("matching.end-to-end", "party 요청부터 매칭 결과 전송까지 걸린 시간").register(registry);
+
+        for (OttType ott : OttType.values())
+            matches.put(ott, Counter.builder("matching.matches")
+                    .description("매칭된 owner/member 쌍")
+                    .tag("ott", ott.getValue())
+                    .register(registry));
+    }
+
+    public void recordJob(String stage, long elapsedNanos) {
+        jobTimers.computeIfAbsent(stage, key -> histogram("matching.job", "firstMatchJob/secondMatchJob/thirdMatchJob 한 건 처리 시간")
+                .tag("stage", key)
+                .register(registry)
+        ).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordQueueWait(String stage, long waitedNanos) {
+        waitTimers.computeIfAbsent(stage, key -> histogram("matching.queue.wait", "Queue에 들어간 뒤 꺼내서 처리하기까지 걸린 시간")
+                .tag("stage", key)
+                .register(registry)
+        ).record(Math.max(0L, waitedNanos), TimeUnit.NANOSECONDS);
+    }
+
+    public void recordMatched(OttType ott) {
+        matches.get(ott).increment();
+    }
+
+    public void recordFailure(String stage, ErrorCode errorCode) {
+        registry.counter("matching.failures", "stage", stage, "error", errorCode.name()).increment();
+    }
+
+    /**
+     * @param requestedAt party 요청 record 시각 (epoch millis). 알 수 없으면 null
+     */
+    public void recordEndToEnd(Long requestedAt) {
+        if (requestedAt != null)
+            endToEnd.record(Math.max(0L, System.currentTimeMillis() - requestedAt), TimeUnit.MILLISECONDS);
+    }
+
+    private static Timer.Builder histogram(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram();
+    }
+}
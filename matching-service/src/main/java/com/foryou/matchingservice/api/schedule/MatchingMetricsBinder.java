@@ -0,0 +1,118 @@
+package com.foryou.matchingservice.api.schedule;
+
+import com.foryou.matchingservice.api.queue.FirstQueue;
+import com.foryou.matchingservice.api.queue.FirstQueueRegistry;
+import com.foryou.matchingservice.api.queue.SecondQueue;
+import com.foryou.matchingservice.api.queue.StageQueue;
+import com.foryou.matchingservice.api.queue.ThirdQueue;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Queue 크기/용량/overflow 건수, 파티가 다 차기까지 걸린 시간과 Worker 처리 통계(MatchingStats)를 scrape 시점에 읽어가는 Meter로 등록
+ * 값은 기존 카운터를 그대로 읽으므로 매칭 경로에 추가 비용이 없다
+ * 가동률은 누적 처리 시간으로 구한다: rate(matching_stage_busy_seconds_total) / matching_stage_workers
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchingMetricsBinder implements MeterBinder {
+
+    private final FirstQueueRegistry firstQueues;
+    private final SecondQueue secondQueue;
+    private final ThirdQueue thirdQueue;
+    private final MatchingStats stats;
+    private final MatchingProperties properties;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (FirstQueue queue : firstQueues.queues()) {
+            queueSize(registry, "first-" + queue.ott().getValue(), "member", queue, FirstQueue::memberQueueSize);
+            queueSize(registry, "first-" + queue.ott().getValue(), "owner", queue, FirstQueue::ownerQueueSize);
+
+            FunctionCounter.builder("matching.party.filled", queue, FirstQueue::filledParties)
+                    .description("자리가 모두 채워진 파티 수")
+                    .tag("ott", queue.ott().getValue())
+                    .register(registry);
+            FunctionCounter.builder("matching.party.fill", queue, q -> q.fillNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                    .description("owner가 대기열에 들어온 뒤 자리가 모두 채워지기까지 걸린 시간 합계")
+                    .baseUnit("seconds")
+                    .tag("ott", queue.ott().getValue())
+                    .register(registry);
+        }
+        stageQueue(registry, "second", secondQueue);
+        stageQueue(registry, "third", thirdQueue);
+
+        for (StageStats stage : stats.all()) {
+            FunctionCounter.builder("matching.stage.processed", stage, StageStats::getProcessed)
+                    .tag("stage", stage.getName())
+                    .register(registry);
+            FunctionCounter.builder("matching.stage.failed", stage, StageStats::getFailed)
+                    .tag("stage", stage.getName())
+                    .register(registry);
+            FunctionCounter.builder("matching.stage.batches", stage, StageStats::getBatches)
+                    .tag("stage", stage.getName())
+                    .register(registry);
+            FunctionCounter.builder("matching.stage.busy", stage, s -> s.getBusyNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                    .description("batch 처리에 사용한 시간")
+                    .baseUnit("seconds")
+                    .tag("stage", stage.getName())
+                    .register(registry);
+
+            int workers = workers(stage);
+            Gauge.builder("matching.stage.workers", () -> workers)
+                    .description("단계를 처리하는 Worker 수")
+                    .tag("stage", stage.getName())
+                    .register(registry);
+        }
+    }
+
+    private void stageQueue(MeterRegistry registry, String stage, StageQueue queue) {
+        queueSize(registry, stage, "pair", queue, StageQueue::size);
+
+        Gauge.builder("matching.queue.capacity", queue, StageQueue::capacity)
+                .tag("stage", stage)
+                .tag("policy", queue.policy().name())
+                .register(registry);
+        FunctionCounter.builder("matching.queue.shed", queue, StageQueue::shedCount)
+                .description("가득 차서 버린 건수 (SHED)")
+                .tag("stage", stage)
+                .register(registry);
+        FunctionCounter.builder("matching.queue.spilled", queue, StageQueue::spilledCount)
+                .description("가득 차서 번호만 남긴 건수 (SPILL, BLOCK 대기 초과)")
+                .tag("stage", stage)
+                .register(registry);
+        FunctionCounter.builder("matching.queue.blocked", queue, q -> q.blockedNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                .description("가득 차서 offer가 대기한 시간 (BLOCK)")
+                .baseUnit("seconds")
+                .tag("stage", stage)
+                .register(registry);
+    }
+
+    /**
+     * event 모드의 Second/Third만 Worker를 여러개 둘 수 있다
+     */
+    private int workers(StageStats stage) {
+        if (!"event".equals(properties.getMode()))
+            return 1;
+        if (stage == stats.second())
+            return properties.getSecondWorkers();
+        if (stage == stats.third())
+            return properties.getThirdWorkers();
+        return 1;
+    }
+
+    private <T> void queueSize(MeterRegistry registry, String stage, String role, T queue, ToDoubleFunction<T> size) {
+        Gauge.builder("matching.queue.size", queue, size)
+                .tag("stage", stage)
+                .tag("role", role)
+                .register(registry);
+    }
+}
@@ -0,0 +1,144 @@
+package com.foryou.matchingservice.api.schedule;
+
+import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.queue.FirstQueue;
+import com.foryou.matchingservice.api.queue.SecondQueue;
+import com.foryou.matchingservice.api.queue.ThirdQueue;
+import com.foryou.matchingservice.api.service.ScheduledService;
+import com.foryou.matchingservice.global.error.CustomException;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 매칭 단계별 처리 로직
+ * <p>
+ * 스케줄러(scheduled 모드)와 Worker 쓰레드(event 모드)가 공통으로 사용하며,
+ * 한번 호출 시 batchSize 만큼 처리하고 한 건의 실패가 나머지 처리를 막지 않도록 건별로 예외 처리한다.
+ *
+ * @see NetfilxFirstScheduled
+ * @see MatchingStageWorkers
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchingStageProcessor {
+
+    private final SecondQueue secondQueue;
+    private final ThirdQueue thirdQueue;
+    private final ScheduledService service;
+    private final MatchingProperties properties;
+    private final MatchingStats stats;
+    private final MatchingMetrics metrics;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * @return 꺼낸 건수
+     */
+    public int firstMatch(FirstQueue queue) {
+        String label = "[" + queue.ott().getValue() + " First Match]";
+        StageStats stageStats = stats.first(queue.ott());
+
+        // Second Queue에 넣을 자리만큼만 매칭해서 결제 단계가 밀리면 매칭도 같이 늦춘다 (backpressure)
+        // 연결에 실패하면 취소 등으로 한쪽만 빠진 것이므로 남은 쪽은 다시 대기열에 넣는다
+        return process(() -> queue.drain(Math.min(properties.getBatchSize(), secondQueue.remainingCapacity())), stageStats, label, pollQueue -> {
+            Response matched;
+            try {
+                matched = service.firstMatchJob(pollQueue);
+            } catch (CustomException e) {
+                service.releaseFailedPair(queue, pollQueue);
+                throw e;
+            }
+            metrics.recordMatched(queue.ott());
+
+            // FirstQueue는 번호만 저장하므로 요청 시각부터 매칭까지를 대기 시간으로 본다
+            if (matched.getMember() != null && matched.getMember().getRequestedAt() != null)
+                metrics.recordQueueWait(stageStats.getName(), TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - matched.getMember().getRequestedAt()));
+
+            secondQueue.offerMatched(matched);
+        });
+    }
+
+    public int secondMatch() {
+        return process(() -> secondQueue.drain(properties.getBatchSize()), stats.second(), "[Second Match]", pollQueue ->
+                service.secondMatchJob(pollQueue)
+        );
+    }
+
+    public int thirdMatch() {
+        return process(() -> thirdQueue.drain(properties.getBatchSize()), stats.third(), "[Third Match]", pollQueue ->
+                service.thirdMatchJob(pollQueue)
+        );
+    }
+
+    /**
+     * 새로운 처리를 막고 처리중인 batch가 끝날때까지 대기
+     *
+     * @return timeout 전에 처리중인 batch가 모두 끝났으면 true
+     */
+    public boolean quiesce(long timeout, TimeUnit unit) throws InterruptedException {
+        closed = true;
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (inFlight.get() != 0) {
+            if (System.nanoTime() > deadline)
+                return false;
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    /**
+     * quiesce로 막았던 처리를 다시 허용 (Lifecycle 재시작)
+     */
+    public void resume() {
+        closed = false;
+    }
+
+    private int process(Supplier<List<Response>> drain, StageStats stageStats, String label, Consumer<Response> job) {
+        inFlight.incrementAndGet();
+        try {
+            return closed ? 0 : process(drain.get(), stageStats, label, job);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private int process(List<Response> batch, StageStats stageStats, String label, Consumer<Response> job) {
+        if (batch.isEmpty())
+            return 0;
+
+        long start = System.nanoTime();
+        int failed = 0;
+
+        for (Response pollQueue : batch) {
+            log.info("{}: {} OwnerPk: {}, MemberPk: {}", Thread.currentThread().getName(), label, pollQueue.getOwnerPk(), pollQueue.getMemberPk());
+
+            long jobStart = System.nanoTime();
+            if (pollQueue.getQueuedAt() > 0)
+                metrics.recordQueueWait(stageStats.getName(), jobStart - pollQueue.getQueuedAt());
+
+            try {
+                job.accept(pollQueue);
+            } catch (CustomException e) {
+                failed++;
+                metrics.recordFailure(stageStats.getName(), e.getErrorCode());
+                log.error("ERROR CustomException : {}", e.getErrorCode());
+            } finally {
+                metrics.recordJob(stageStats.getName(), System.nanoTime() - jobStart);
+            }
+        }
+
+        stageStats.record(batch.size() - failed, failed, System.nanoTime() - start);
+        return batch.size();
+    }
+}
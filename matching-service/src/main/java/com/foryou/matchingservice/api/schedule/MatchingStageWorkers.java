@@ -0,0 +1,119 @@
+package com.foryou.matchingservice.api.schedule;
+
+import com.foryou.matchingservice.api.queue.FirstQueueRegistry;
+import com.foryou.matchingservice.api.queue.SecondQueue;
+import com.foryou.matchingservice.api.queue.StageQueue;
+import com.foryou.matchingservice.api.queue.ThirdQueue;
+import com.foryou.matchingservice.api.service.InitService;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
+import com.foryou.matchingservice.global.queue.StageSignal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+
+/**
+ * event 모드: 단계별 전용 Worker 쓰레드가 Queue의 signal을 받아 즉시 처리
+ * <p>
+ * 처리할 데이터가 없으면 park 상태로 대기하고, offer 시점에 깨어나므로 scheduled 모드의 고정 주기 대기가 없다.
+ * First Match는 OTT별로 Worker를 두어 한 OTT의 지연이나 오류가 다른 OTT로 전파되지 않는다.
+ * Second, Third는 설정한 수만큼 Worker를 둔다.
+ * signal 유실에 대비해 idleTimeout 마다 한번씩은 Queue를 다시 확인한다.
+ * 단계 처리 중 오류가 나면 idleTimeout부터 두배씩 늘려가며 쉬었다가 재시도한다. (최대 MAX_ERROR_BACKOFF_TIMES 배)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "config.matching.mode", havingValue = "event")
+public class MatchingStageWorkers {
+
+    private static final int MAX_ERROR_BACKOFF_TIMES = 32;
+
+    private final FirstQueueRegistry firstQueues;
+    private final SecondQueue secondQueue;
+    private final ThirdQueue thirdQueue;
+    private final MatchingStageProcessor processor;
+    private final MatchingProperties properties;
+    private final InitService initService;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    /**
+     * 재기동 시 미처리건이 Queue에 모두 올라간 뒤 Worker 시작
+     * 복구 중에 매칭을 시작하면 복구중인 WAIT 건이 START로 바뀌어 START 복구에서 한번 더 올라갈 수 있다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startAfterRecovery() {
+        initService.whenRecovered().thenRun(this::start);
+    }
+
+    public synchronized void start() {
+        if (running)
+            return;
+        running = true;
+
+        firstQueues.queues().forEach(queue -> {
+            StageSignal signal = new StageSignal();
+            queue.subscribe(signal);
+            startWorker("matching-first-worker-" + queue.ott().getValue(), signal, () -> processor.firstMatch(queue));
+        });
+
+        startWorkers("matching-second-worker", properties.getSecondWorkers(), secondQueue, processor::secondMatch);
+        startWorkers("matching-third-worker", properties.getThirdWorkers(), thirdQueue, processor::thirdMatch);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        workers.clear();
+    }
+
+    /**
+     * 단계 Queue 하나를 workers 개의 쓰레드가 나눠서 처리 (drain은 쓰레드 안전)
+     */
+    private void startWorkers(String name, int workers, StageQueue queue, IntSupplier stage) {
+        List<StageSignal> signals = new ArrayList<>();
+
+        for (int i = 1; i <= workers; i++) {
+            StageSignal signal = new StageSignal();
+            signals.add(signal);
+            startWorker(workers == 1 ? name : name + "-" + i, signal, stage);
+        }
+        queue.subscribe(signals.size() == 1 ? signals.get(0) : StageSignal.broadcast(signals));
+    }
+
+    private void startWorker(String name, StageSignal signal, IntSupplier stage) {
+        Thread worker = new Thread(() -> {
+            int backoffTimes = 1;
+            while (running && !Thread.currentThread().isInterrupted()) {
+                try {
+                    if (stage.getAsInt() == 0)
+                        signal.await(properties.getIdleTimeoutMs(), TimeUnit.MILLISECONDS);
+                    backoffTimes = 1;
+                } catch (RuntimeException e) {
+                    long backoffMs = properties.getIdleTimeoutMs() * backoffTimes;
+                    log.error("{}: stage error, retry after {}ms", Thread.currentThread().getName(), backoffMs, e);
+
+                    // signal로는 깨우지 않는다. 데이터가 계속 들어오면 대기 없이 같은 오류를 반복하게 된다
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(backoffMs));
+                    backoffTimes = Math.min(backoffTimes * 2, MAX_ERROR_BACKOFF_TIMES);
+                }
+            }
+        }, name);
+
+        worker.setDaemon(true);
+        worker.start();
+        workers.add(worker);
+    }
+}
@@ -0,0 +1,45 @@
+package com.foryou.matchingservice.api.schedule;
+
+import com.foryou.matchingservice.api.enums.OttType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OTT별 First Match Worker와 Second, Third Worker의 처리 통계
+ */
+@Component
+public class MatchingStats {
+
+    private final Map<OttType, StageStats> first = new EnumMap<>(OttType.class);
+    private final StageStats second = new StageStats("second");
+    private final StageStats third = new StageStats("third");
+
+    public MatchingStats() {
+        for (OttType ott : OttType.values())
+            first.put(ott, new StageStats("first-" + ott.getValue()));
+    }
+
+    public StageStats first(OttType ott) {
+        return first.get(ott);
+    }
+
+    public StageStats second() {
+        return second;
+    }
+
+    public StageStats third() {
+        return third;
+    }
+
+    public List<StageStats> all() {
+        List<StageStats> stats = new ArrayList<>(first.values());
+        stats.add(second);
+        stats.add(third);
+        return Collections.unmodifiableList(stats);
+    }
+}
@@ -1,80 +1,42 @@
 package com.foryou.matchingservice.api.schedule;
 
-import com.foryou.matchingservice.api.dto.response.Response;
-import com.foryou.matchingservice.api.queue.FirstQueue;
-import com.foryou.matchingservice.api.queue.SecondQueue;
-import com.foryou.matchingservice.api.queue.ThirdQueue;
-import com.foryou.matchingservice.api.service.ScheduledService;
+import com.foryou.matchingservice.api.queue.FirstQueueRegistry;
+import com.foryou.matchingservice.api.service.InitService;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedRateTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.stereotype.Service;
 
-@Slf4j
+/**
+ * scheduled 모드: 고정 주기로 각 단계의 Queue를 확인
+ * <p>
+ * First Match는 OTT별로 별도 task로 등록되어 스케줄러 쓰레드풀에서 병렬로 실행되므로,
+ * 한 OTT의 처리가 지연되어도 다른 OTT의 매칭에는 영향을 주지 않는다.
+ * 재기동 후 미처리건 복구가 끝나기 전에는 모든 단계가 아무것도 하지 않는다.
+ */
 @Service
 @RequiredArgsConstructor
-public class NetfilxFirstScheduled {
-
-    @Qualifier("Netflix")
-    private final FirstQueue netflix;
-    @Qualifier("Tving")
-    private final FirstQueue tving;
-    @Qualifier("Disney")
-    private final FirstQueue disney;
-    @Qualifier("Watcha")
-    private final FirstQueue watcha;
-    @Qualifier("Wavve")
-    private final FirstQueue wavve;
-
-    private final SecondQueue secondQueue;
-    private final ThirdQueue thirdQueue;
-    private final ScheduledService service;
-
-    @Scheduled(
-            fixedRate = 500
-            , initialDelay = 10000
-    )
-    public void FirstMatch() {
-        netflix.pollQueues()
-                .ifPresent(pollQueue -> {
-                    log.info("{}: [Netflix First Match] OwnerPk: {}, MemberPk: {}", Thread.currentThread().getName(), pollQueue.getOwnerPk(), pollQueue.getMemberPk());
-
-                    Response matched = service.firstMatchJob(pollQueue.getOwnerPk(), pollQueue.getMemberPk());
-                    secondQueue.offerMatched(matched);
-                });
-
-        tving.pollQueues()
-                .ifPresent(pollQueue -> {
-                    log.info("{}: [Tving First Match] OwnerPk: {}, MemberPk: {}", Thread.currentThread().getName(), pollQueue.getOwnerPk(), pollQueue.getMemberPk());
-
-                    Response matched = service.firstMatchJob(pollQueue.getOwnerPk(), pollQueue.getMemberPk());
-                    secondQueue.offerMatched(matched);
-                });
-
-        disney.pollQueues()
-                .ifPresent(pollQueue -> {
-                    log.info("{}: [Disney First Match] OwnerPk: {}, MemberPk: {}", Thread.currentThread().getName(), pollQueue.getOwnerPk(), pollQueue.getMemberPk());
-
-                    Response matched = service.firstMatchJob(pollQueue.getOwnerPk(), pollQueue.getMemberPk());
-                    secondQueue.offerMatched(matched);
-                });
-
-        watcha.pollQueues()
-                .ifPresent(pollQueue -> {
-                    log.info("{}: [Watcha First Match] OwnerPk: {}, MemberPk: {}", Thread.currentThread().getName(), pollQueue.getOwnerPk(), pollQueue.getMemberPk());
-
-                    Response matched = service.firstMatchJob(pollQueue.getOwnerPk(), pollQueue.getMemberPk());
-                    secondQueue.offerMatched(matched);
-                });
-
-        wavve.pollQueues()
-                .ifPresent(pollQueue -> {
-                    log.info("{}: [Wavve First Match] OwnerPk: {}, MemberPk: {}", Thread.currentThread().getName(), pollQueue.getOwnerPk(), pollQueue.getMemberPk());
-
-                    Response matched = service.firstMatchJob(pollQueue.getOwnerPk(), pollQueue.getMemberPk());
-                    secondQueue.offerMatched(matched);
-                });
+@ConditionalOnProperty(name = "config.matching.mode", havingValue = "scheduled", matchIfMissing = true)
+public class NetfilxFirstScheduled implements SchedulingConfigurer {
+
+    private static final long FIXED_RATE = 500;
+    private static final long FIRST_INITIAL_DELAY = 10000;
+
+    private final FirstQueueRegistry firstQueues;
+    private final MatchingStageProcessor processor;
+    private final InitService initService;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        firstQueues.queues().forEach(queue ->
+                taskRegistrar.addFixedRateTask(new FixedRateTask(() -> {
+                    if (initService.isRecovered())
+                        processor.firstMatch(queue);
+                }, FIXED_RATE, FIRST_INITIAL_DELAY))
+        );
     }
 
     @Scheduled(
@@ -82,12 +44,8 @@ public class NetfilxFirstScheduled {
             , initialDelay = 5000
     )
     public void SecondMatch() {
-        secondQueue.pollQueue()
-                .ifPresent(pollQueue -> {
-                    log.info("{}: [Second Match] OwnerPk: {}, MemberPk: {}", Thread.currentThread().getName(), pollQueue.getOwnerPk(), pollQueue.getMemberPk());
-
-                    service.secondMatchJob(pollQueue.getOwnerPk(), pollQueue.getMemberPk());
-                });
+        if (initService.isRecovered())
+            processor.secondMatch();
     }
 
     @Scheduled(
@@ -95,11 +53,7 @@ public class NetfilxFirstScheduled {
             , initialDelay = 2000
     )
     public void ThirdMatch() {
-        thirdQueue.pollQueue()
-                .ifPresent(pollQueue -> {
-                    log.info("{}: [Third Match] OwnerPk: {}, MemberPk: {}", Thread.currentThread().getName(), pollQueue.getOwnerPk(), pollQueue.getMemberPk());
-
-                    service.thirdMatchJob(pollQueue.getOwnerPk(), pollQueue.getMemberPk());
-                });
+        if (initService.isRecovered())
+            processor.thirdMatch();
     }
 }
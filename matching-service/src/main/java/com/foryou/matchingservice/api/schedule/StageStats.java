@@ -0,0 +1,49 @@
+package com.foryou.matchingservice.api.schedule;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 매칭 Worker 하나의 처리 통계
+ */
+public class StageStats {
+
+    private final String name;
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+
+    public StageStats(String name) {
+        this.name = name;
+    }
+
+    public void record(int processedCount, int failedCount, long elapsedNanos) {
+        processed.add(processedCount);
+        failed.add(failedCount);
+        batches.increment();
+        busyNanos.add(elapsedNanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getProcessed() {
+        return processed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * 누적 처리 시간. 읽어도 초기화하지 않으므로 여러 곳에서 읽어도 같은 값을 본다
+     */
+    public long getBusyNanos() {
+        return busyNanos.sum();
+    }
+}
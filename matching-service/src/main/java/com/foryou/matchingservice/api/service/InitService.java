@@ -3,11 +3,34 @@ package com.foryou.matchingservice.api.service;
 import com.foryou.matchingservice.api.enums.OttType;
 import com.foryou.matchingservice.api.enums.PartyRole;
 
+import java.util.concurrent.CompletionStage;
+
 public interface InitService {
 
-    void uploadCompleteUnprocessData();
+    /**
+     * 재기동 시 미처리건 복구가 끝났는지 여부
+     */
+    boolean isRecovered();
+
+    /**
+     * 복구가 끝나면 완료되고, 재시도까지 모두 실패하면 예외로 완료된다
+     * Worker, 스케줄러, Kafka listener는 완료된 뒤에 시작한다
+     */
+    CompletionStage<Void> whenRecovered();
+
+    /**
+     * 해당 OTT의 미처리건을 모두 Queue에 저장 (Partition 소유권을 새로 얻은 경우)
+     *
+     * @return 저장한 건수
+     */
+    int recover(OttType ott);
+
+    /**
+     * ott가 null이면 전체 OTT
+     */
+    int uploadCompleteUnprocessData(OttType ott, long maxNo);
 
-    void uploadStartUnprocessData();
+    int uploadStartUnprocessData(OttType ott, long maxNo);
 
-    void uploadWaitUnprocessData(OttType ott, PartyRole role);
+    int uploadWaitUnprocessData(OttType ott, PartyRole role, long maxNo);
 }
@@ -0,0 +1,25 @@
+package com.foryou.matchingservice.api.service;
+
+import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.enums.StatusType;
+
+public interface MatchDeadlineService {
+
+    /**
+     * START/COMPLETE 상태로 바뀐 쌍의 처리 기한을 등록. 같은 member의 이전 기한은 취소한다
+     */
+    void watch(StatusType status, Response pair);
+
+    /**
+     * 다음 단계로 넘어가서 더 기다릴 필요가 없는 경우
+     */
+    void clear(Long memberPk);
+
+    /**
+     * 해당 OTT의 기한을 모두 취소 (Partition 소유권을 잃은 경우)
+     *
+     * @return 취소한 건수
+     */
+    int clearAll(OttType ott);
+}
@@ -2,11 +2,18 @@ package com.foryou.matchingservice.api.service;
 
 import com.foryou.matchingservice.api.dto.request.MatchingRequestMessage;
 import com.foryou.matchingservice.api.entity.Match;
+import com.foryou.matchingservice.api.enums.OttType;
 
 import java.util.List;
 
 public interface MatchingService {
     List<Match> createMatch(MatchingRequestMessage request);
 
+    List<Match> createMatches(List<MatchingRequestMessage> requests);
+
     void offerQueue(List<Match> matches);
+
+    void offerReleasedSeat(OttType ott, Long ownerNo);
+
+    int cancelMatch(MatchingRequestMessage request);
 }
@@ -0,0 +1,16 @@
+package com.foryou.matchingservice.api.service;
+
+public interface QueueJournalService {
+
+    /**
+     * 정상 종료된 Journal이 모두 있으면 Queue를 복구
+     *
+     * @return 복구하지 못했으면 false (DB에서 미처리건을 조회해야 한다)
+     */
+    boolean restore();
+
+    /**
+     * 기존 Journal을 버리고 빈 Journal을 Queue에 연결
+     */
+    void reset();
+}
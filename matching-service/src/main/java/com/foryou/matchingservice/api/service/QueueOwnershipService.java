@@ -0,0 +1,23 @@
+package com.foryou.matchingservice.api.service;
+
+import com.foryou.matchingservice.api.enums.OttType;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+public interface QueueOwnershipService {
+
+    /**
+     * 이 인스턴스가 해당 OTT의 FirstQueue를 관리하는지 여부 (Partition 소유권 모드가 아니면 항상 true)
+     */
+    boolean owns(OttType ott);
+
+    /**
+     * 새로 할당된 OTT를 별도 쓰레드에서 DB로 복구한 뒤 소유 처리한다
+     *
+     * @return 모든 OTT의 복구가 끝나면 완료 (실패하면 예외로 완료)
+     */
+    CompletableFuture<Void> assign(Collection<OttType> otts);
+
+    void revoke(Collection<OttType> otts);
+}
@@ -1,11 +1,17 @@
 package com.foryou.matchingservice.api.service;
 
 import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.queue.FirstQueue;
 
 public interface ScheduledService {
-    Response firstMatchJob(Long ownerPk, Long memberPk);
+    Response firstMatchJob(Response pair);
 
-    void secondMatchJob(Long ownerPk, Long memberPk);
+    /**
+     * firstMatchJob에 실패한 쌍 중 아직 대기중인 쪽을 다시 대기열에 넣는다
+     */
+    void releaseFailedPair(FirstQueue queue, Response pair);
 
-    void thirdMatchJob(Long ownerPk, Long memberPk);
+    void secondMatchJob(Response matched);
+
+    void thirdMatchJob(Response completed);
 }
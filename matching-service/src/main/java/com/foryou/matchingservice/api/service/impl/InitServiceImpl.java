@@ -1,23 +1,38 @@
 package com.foryou.matchingservice.api.service.impl;
 
 import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.dto.response.WaitingOwner;
 import com.foryou.matchingservice.api.enums.OttType;
 import com.foryou.matchingservice.api.enums.PartyRole;
 import com.foryou.matchingservice.api.enums.StatusType;
 import com.foryou.matchingservice.api.queue.FirstQueue;
+import com.foryou.matchingservice.api.queue.FirstQueueRegistry;
 import com.foryou.matchingservice.api.queue.SecondQueue;
 import com.foryou.matchingservice.api.queue.ThirdQueue;
 import com.foryou.matchingservice.api.repository.InitRepository;
 import com.foryou.matchingservice.api.service.InitService;
+import com.foryou.matchingservice.api.service.MatchDeadlineService;
+import com.foryou.matchingservice.api.service.QueueJournalService;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.annotation.PostConstruct;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 @Slf4j
 @Service
@@ -26,99 +41,215 @@ import java.util.List;
 public class InitServiceImpl implements InitService {
 
     private final InitRepository initRepository;
-    @Qualifier("Netflix")
-    private final FirstQueue netflix;
-    @Qualifier("Tving")
-    private final FirstQueue tving;
-    @Qualifier("Disney")
-    private final FirstQueue disney;
-    @Qualifier("Watcha")
-    private final FirstQueue watcha;
-    @Qualifier("Wavve")
-    private final FirstQueue wavve;
+    private final FirstQueueRegistry firstQueues;
     private final SecondQueue secondQueue;
     private final ThirdQueue thirdQueue;
+    private final QueueJournalService queueJournalService;
+    private final MatchDeadlineService deadlines;
+    private final MatchingProperties properties;
+
+    private final CompletableFuture<Void> recovery = new CompletableFuture<>();
 
     /**
      * 서비스 재기동 시 미처리건 Queue에 저 장
+     * 정상 종료된 Journal이 있으면 Journal로, 없으면 DB에서 조회해서 복구
+     * Journal에는 결제/최종 발행 기한이 없으므로 Journal로 복구해도 START, COMPLETE 건의 기한은 DB에서 다시 등록한다
+     * DB 복구는 OTT/Role/Status 별로 병렬로, chunk 단위로 조회하며 끝나기 전까지 readiness는 OUT_OF_SERVICE
+     * 실패하면 max-attempts까지 처음부터 다시 복구한다 (offer는 중복을 무시하고, 결제 요청은 Second 단계에서 한번만 보낸다)
+     * Partition 소유권 모드에서는 소유권을 얻은 OTT만 그때 복구한다 (recover)
      */
     @PostConstruct
     private void init() {
-        Arrays.stream(OttType.values()).forEach(ott -> {
-            uploadWaitUnprocessData(ott, PartyRole.OWNER);
-            uploadWaitUnprocessData(ott, PartyRole.MEMBER);
-        });
-        uploadStartUnprocessData();
-        uploadCompleteUnprocessData();
+        if (properties.isPartitionOwnership()) {
+            queueJournalService.reset();
+            recovery.complete(null);
+            return;
+        }
+
+        if (queueJournalService.restore()) {
+            recoverAsync("Deadline Watch", this::watchAllDeadlines);
+            return;
+        }
+
+        queueJournalService.reset();
+        recoverAsync("Unprocessed Data Upload", this::uploadAllUnprocessData);
     }
 
-    @Override
-    public void uploadCompleteUnprocessData() {
-        log.info("START Status {} Unprocessed Data Upload", StatusType.COMPLETE);
+    private void recoverAsync(String name, Function<ExecutorService, CompletableFuture<Integer>> task) {
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getRecoveryParallelism(), new RecoveryThreadFactory());
+
+        withRetry(executor, task, 1)
+                .whenComplete((count, e) -> {
+                    executor.shutdown();
+
+                    if (e != null) {
+                        log.error("{} Failed", name, e);
+                        recovery.completeExceptionally(e);
+                        return;
+                    }
+                    log.info("END {}: {}", name, count);
+                    recovery.complete(null);
+                });
+    }
+
+    private CompletableFuture<Integer> withRetry(ExecutorService executor, Function<ExecutorService, CompletableFuture<Integer>> task, int attempt) {
+        return task.apply(executor)
+                .handle((count, e) -> {
+                    if (e == null)
+                        return CompletableFuture.completedFuture(count);
+                    if (attempt >= properties.getRecoveryMaxAttempts())
+                        return CompletableFuture.<Integer>failedFuture(e);
+
+                    log.warn("Recovery Failed (attempt {}/{}), retry after {}ms"
+                            , attempt, properties.getRecoveryMaxAttempts(), properties.getRecoveryRetryBackoffMs(), e);
+                    Executor delayed = CompletableFuture.delayedExecutor(properties.getRecoveryRetryBackoffMs(), TimeUnit.MILLISECONDS, executor);
+                    return CompletableFuture.runAsync(() -> {
+                    }, delayed).thenCompose(v -> withRetry(executor, task, attempt + 1));
+                })
+                .thenCompose(Function.identity());
+    }
 
-        List<Response> responses = initRepository.selectUnprocessedAfterWait(StatusType.COMPLETE);
+    private CompletableFuture<Integer> uploadAllUnprocessData(ExecutorService executor) {
+        return CompletableFuture.supplyAsync(initRepository::selectMaxNo, executor)
+                .thenCompose(maxNo -> {
+                    List<CompletableFuture<Integer>> tasks = new ArrayList<>();
+
+                    for (OttType ott : OttType.values()) {
+                        tasks.add(CompletableFuture.supplyAsync(() -> uploadWaitUnprocessData(ott, PartyRole.OWNER, maxNo), executor));
+                        tasks.add(CompletableFuture.supplyAsync(() -> uploadWaitUnprocessData(ott, PartyRole.MEMBER, maxNo), executor));
+                    }
+                    tasks.add(CompletableFuture.supplyAsync(() -> uploadStartUnprocessData(null, maxNo), executor));
+                    tasks.add(CompletableFuture.supplyAsync(() -> uploadCompleteUnprocessData(null, maxNo), executor));
+
+                    return CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                            .thenApply(v -> tasks.stream().mapToInt(CompletableFuture::join).sum());
+                });
+    }
 
-        responses.forEach(match -> thirdQueue.offerCompleted(match));
+    /**
+     * Journal로 Queue를 복구한 뒤 결제를 기다리는 START, 최종 발행을 기다리는 COMPLETE 건의 기한만 다시 등록한다 (Queue에는 넣지 않음)
+     */
+    private CompletableFuture<Integer> watchAllDeadlines(ExecutorService executor) {
+        return CompletableFuture.supplyAsync(initRepository::selectMaxNo, executor)
+                .thenCompose(maxNo -> CompletableFuture.supplyAsync(() -> watchDeadlines(StatusType.START, maxNo), executor)
+                        .thenCombine(CompletableFuture.supplyAsync(() -> watchDeadlines(StatusType.COMPLETE, maxNo), executor), Integer::sum));
+    }
 
-        log.info("END Status {} Unprocessed Data Upload: {}", StatusType.COMPLETE, responses.size());
+    private int watchDeadlines(StatusType status, long maxNo) {
+        return uploadInChunks(
+                afterNo -> initRepository.selectUnprocessedAfterWait(null, status, afterNo, maxNo, properties.getRecoveryChunkSize())
+                , Response::getMemberPk
+                , match -> deadlines.watch(status, match)
+        );
     }
 
     @Override
-    public void uploadStartUnprocessData() {
-        log.info("START Status {} Unprocessed Data Upload", StatusType.START);
+    public boolean isRecovered() {
+        return recovery.isDone() && !recovery.isCompletedExceptionally();
+    }
+
+    @Override
+    public CompletionStage<Void> whenRecovered() {
+        return recovery.minimalCompletionStage();
+    }
+
+    @Override
+    public int recover(OttType ott) {
+        long maxNo = initRepository.selectMaxNo();
+
+        return uploadWaitUnprocessData(ott, PartyRole.OWNER, maxNo)
+                + uploadWaitUnprocessData(ott, PartyRole.MEMBER, maxNo)
+                + uploadStartUnprocessData(ott, maxNo)
+                + uploadCompleteUnprocessData(ott, maxNo);
+    }
 
-        List<Response> responses = initRepository.selectUnprocessedAfterWait(StatusType.START);
+    @Override
+    public int uploadCompleteUnprocessData(OttType ott, long maxNo) {
+        log.info("START Status {} Unprocessed Data Upload", StatusType.COMPLETE);
 
-        responses.forEach(match -> secondQueue.offerMatched(match));
+        int count = uploadInChunks(
+                afterNo -> initRepository.selectUnprocessedAfterWait(ott, StatusType.COMPLETE, afterNo, maxNo, properties.getRecoveryChunkSize())
+                , Response::getMemberPk
+                , match -> {
+                    thirdQueue.spill(match);
+                    deadlines.watch(StatusType.COMPLETE, match);
+                }
+        );
+
+        log.info("END Status {} Unprocessed Data Upload: {}", StatusType.COMPLETE, count);
+        return count;
+    }
 
-        log.info("END Status {} Unprocessed Data Upload: {}", StatusType.START, responses.size());
+    @Override
+    public int uploadStartUnprocessData(OttType ott, long maxNo) {
+        log.info("START Status {} Unprocessed Data Upload", StatusType.START);
 
+        int count = uploadInChunks(
+                afterNo -> initRepository.selectUnprocessedAfterWait(ott, StatusType.START, afterNo, maxNo, properties.getRecoveryChunkSize())
+                , Response::getMemberPk
+                , match -> {
+                    secondQueue.spill(match);
+                    deadlines.watch(StatusType.START, match);
+                }
+        );
+
+        log.info("END Status {} Unprocessed Data Upload: {}", StatusType.START, count);
+        return count;
     }
 
     @Override
-    public void uploadWaitUnprocessData(OttType ott, PartyRole role) {
+    public int uploadWaitUnprocessData(OttType ott, PartyRole role, long maxNo) {
         log.info("START Status {} Unprocessed Data Upload ({}, {})", StatusType.WAIT, ott, role);
 
-        List<Long> noList = initRepository.selectUnprocessedWait(ott, role);
-
-        if (PartyRole.MEMBER.equals(role)) {
-            switch (ott) {
-                case NETFLIX:
-                    noList.forEach(no -> netflix.offerMember(no));
-                    break;
-                case TVING:
-                    noList.forEach(no -> tving.offerMember(no));
-                    break;
-                case WAVVE:
-                    noList.forEach(no -> wavve.offerMember(no));
-                    break;
-                case WATCHA:
-                    noList.forEach(no -> watcha.offerMember(no));
-                    break;
-                case DISNEY_PLUS:
-                    noList.forEach(no -> disney.offerMember(no));
-                    break;
-            }
-        } else {
-            switch (ott) {
-                case NETFLIX:
-                    noList.forEach(no -> netflix.offerOwner(no));
-                    break;
-                case TVING:
-                    noList.forEach(no -> tving.offerOwner(no));
-                    break;
-                case WAVVE:
-                    noList.forEach(no -> wavve.offerOwner(no));
-                    break;
-                case WATCHA:
-                    noList.forEach(no -> watcha.offerOwner(no));
-                    break;
-                case DISNEY_PLUS:
-                    noList.forEach(no -> disney.offerOwner(no));
-                    break;
-            }
+        FirstQueue queue = firstQueues.get(ott);
+        int count = PartyRole.MEMBER.equals(role)
+                ? uploadInChunks(
+                        afterNo -> initRepository.selectUnprocessedWait(ott, role, afterNo, maxNo, properties.getRecoveryChunkSize())
+                        , no -> no
+                        , queue::offerMember)
+                : uploadInChunks(
+                        afterNo -> initRepository.selectUnprocessedWaitOwner(ott, afterNo, maxNo, properties.getRecoveryChunkSize())
+                        , WaitingOwner::getNo
+                        , owner -> queue.offerOwner(owner.getNo(), owner.getSeats()));
+
+        log.info("END Status {} Unprocessed Data Upload ({}, {}): {}", StatusType.WAIT, ott, role, count);
+        return count;
+    }
+
+    /**
+     * 마지막으로 조회한 번호 이후부터 chunk 단위로 조회해서 바로 Queue에 저장하므로 전체 목록을 메모리에 올리지 않는다
+     */
+    private <T> int uploadInChunks(ChunkReader<T> reader, ToLongFunction<T> keyOf, Consumer<T> offer) {
+        int count = 0;
+        long afterNo = 0L;
+
+        while (true) {
+            List<T> chunk = reader.read(afterNo);
+            if (chunk.isEmpty())
+                return count;
+
+            chunk.forEach(offer);
+            count += chunk.size();
+            afterNo = keyOf.applyAsLong(chunk.get(chunk.size() - 1));
+
+            if (chunk.size() < properties.getRecoveryChunkSize())
+                return count;
         }
+    }
+
+    @FunctionalInterface
+    private interface ChunkReader<T> {
+        List<T> read(long afterNo);
+    }
 
-        log.info("END Status {} Unprocessed Data Upload ({}, {}): {}", StatusType.WAIT, ott, role, noList.size());
+    private static class RecoveryThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "matching-recovery-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 }
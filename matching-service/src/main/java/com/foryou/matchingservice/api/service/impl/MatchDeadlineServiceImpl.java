@@ -0,0 +1,149 @@
+package com.foryou.matchingservice.api.service.impl;
+
+import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.enums.StatusType;
+import com.foryou.matchingservice.api.queue.SecondQueue;
+import com.foryou.matchingservice.api.queue.ThirdQueue;
+import com.foryou.matchingservice.api.service.MatchDeadlineService;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
+import com.foryou.matchingservice.global.timer.HashedTimingWheel;
+import com.foryou.matchingservice.global.timer.HashedTimingWheel.Timeout;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결제 결과가 오지 않은 START 쌍, 결과 메시지 전송에 실패한 COMPLETE 쌍을 재기동 없이 다시 처리
+ * <p>
+ * 상태가 바뀔때 member 번호로 Timing Wheel에 기한을 등록하고, 다음 단계로 넘어가면 취소한다.
+ * 기한이 지나면 snapshot 없이 해당 단계 Queue에 다시 넣어서, 단계 처리 시 DB 상태를 확인한 뒤 그 쌍만 다시 처리한다.
+ * 다시 넣을때마다 기한을 새로 등록하고 최대 재시도 횟수를 넘으면 포기한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MatchDeadlineServiceImpl implements MatchDeadlineService {
+
+    private final SecondQueue secondQueue;
+    private final ThirdQueue thirdQueue;
+    private final MatchingProperties properties;
+
+    private final Map<Long, Timeout<Deadline>> deadlines = new ConcurrentHashMap<>();
+    private HashedTimingWheel<Deadline> wheel;
+
+    @PostConstruct
+    public void start() {
+        wheel = new HashedTimingWheel<>(
+                "matching-deadline"
+                , properties.getDeadlineTickMs()
+                , TimeUnit.MILLISECONDS
+                , properties.getDeadlineWheelSize()
+                , this::expire
+        );
+        wheel.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        wheel.stop();
+    }
+
+    @Override
+    public void watch(StatusType status, Response pair) {
+        Deadline deadline = new Deadline(status, pair.getOwnerPk(), pair.getMemberPk(), pair.getOtt(), 0);
+        Timeout<Deadline> previous = deadlines.put(pair.getMemberPk(), schedule(deadline));
+
+        if (previous != null)
+            previous.cancel();
+    }
+
+    @Override
+    public void clear(Long memberPk) {
+        Timeout<Deadline> timeout = deadlines.remove(memberPk);
+
+        if (timeout != null)
+            timeout.cancel();
+    }
+
+    @Override
+    public int clearAll(OttType ott) {
+        int count = 0;
+
+        for (Iterator<Timeout<Deadline>> it = deadlines.values().iterator(); it.hasNext(); ) {
+            Timeout<Deadline> timeout = it.next();
+
+            if (timeout.task().getOtt() == ott) {
+                it.remove();
+                timeout.cancel();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * Timer 쓰레드에서 호출되므로 DB 조회 없이 Queue에만 넣는다 (가득 차도 대기하지 않도록 spill)
+     * 그 사이 취소되었거나 새 기한으로 바뀌었으면 무시
+     */
+    void expire(Deadline deadline) {
+        Timeout<Deadline> current = deadlines.get(deadline.getMemberPk());
+        if (current == null || current.task() != deadline)
+            return;
+
+        if (deadline.getAttempt() >= properties.getDeadlineMaxRetries()) {
+            deadlines.remove(deadline.getMemberPk(), current);
+            log.error("Give up stuck match: {}", deadline);
+            return;
+        }
+
+        log.warn("Re-drive stuck match: {}", deadline);
+        Response pair = new Response(deadline.getOwnerPk(), deadline.getMemberPk(), deadline.getOtt());
+
+        if (StatusType.START == deadline.getStatus())
+            secondQueue.spill(pair);
+        else
+            thirdQueue.spill(pair);
+
+        Timeout<Deadline> next = schedule(deadline.next());
+        if (!deadlines.replace(deadline.getMemberPk(), current, next))
+            next.cancel();
+    }
+
+    private Timeout<Deadline> schedule(Deadline deadline) {
+        long timeoutMs = StatusType.START == deadline.getStatus()
+                ? properties.getDeadlineStartTimeoutMs()
+                : properties.getDeadlineCompleteTimeoutMs();
+
+        return wheel.schedule(deadline, timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    static final class Deadline {
+        private final StatusType status;
+        private final Long ownerPk;
+        private final Long memberPk;
+        private final OttType ott;
+        private final int attempt;
+
+        private Deadline next() {
+            return new Deadline(status, ownerPk, memberPk, ott, attempt + 1);
+        }
+    }
+}
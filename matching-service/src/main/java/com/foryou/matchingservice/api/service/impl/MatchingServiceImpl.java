@@ -1,21 +1,23 @@
 package com.foryou.matchingservice.api.service.impl;
 
 import com.foryou.matchingservice.api.dto.request.MatchingRequestMessage;
+import com.foryou.matchingservice.api.dto.response.MatchSnapshot;
 import com.foryou.matchingservice.api.entity.Match;
 import com.foryou.matchingservice.api.enums.OttType;
 import com.foryou.matchingservice.api.enums.PartyRole;
+import com.foryou.matchingservice.api.enums.StatusType;
 import com.foryou.matchingservice.api.queue.FirstQueue;
+import com.foryou.matchingservice.api.queue.FirstQueueRegistry;
+import com.foryou.matchingservice.api.queue.MatchSnapshotStore;
 import com.foryou.matchingservice.api.repository.MatchRepository;
 import com.foryou.matchingservice.api.service.MatchingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -24,79 +26,77 @@ import java.util.stream.Stream;
 public class MatchingServiceImpl implements MatchingService {
 
     private final MatchRepository matchRepository;
-    @Qualifier("Netflix")
-    private final FirstQueue netflix;
-    @Qualifier("Tving")
-    private final FirstQueue tving;
-    @Qualifier("Disney")
-    private final FirstQueue disney;
-    @Qualifier("Watcha")
-    private final FirstQueue watcha;
-    @Qualifier("Wavve")
-    private final FirstQueue wavve;
+    private final FirstQueueRegistry firstQueues;
+    private final MatchSnapshotStore snapshots;
 
     /**
-     * 요청 인원수 개수만큼 생성
+     * owner는 모집인원을 자리 수로 가진 한 건, member는 요청 인원수 개수만큼 생성
+     * 번호는 미리 할당된 범위에서 채번하고 insert는 commit 시 JDBC batch 한번으로 전송
      */
     @Override
     @Transactional
     public List<Match> createMatch(MatchingRequestMessage request) {
+        return matchRepository.saveAll(request.toEntities());
+    }
 
-        return Stream.iterate(0, i -> i + 1)
-                .map(i -> request.toEntity())
-                .map(entity -> matchRepository.save(entity))
-                .limit(request.getInwon())
+    /**
+     * 여러 요청을 한 트랜잭션에서 생성 (Kafka batch 단위)
+     */
+    @Override
+    @Transactional
+    public List<Match> createMatches(List<MatchingRequestMessage> requests) {
+        List<Match> matches = requests.stream()
+                .flatMap(request -> request.toEntities().stream())
                 .collect(Collectors.toList());
+
+        return matchRepository.saveAll(matches);
     }
 
     @Override
     public void offerQueue(List<Match> matches) {
         matches.stream().forEach(match -> {
+            FirstQueue queue = firstQueues.get(match.getOtt());
+
             if (PartyRole.MEMBER == match.getRole()) {
-                offerMemberQueue(match.getNo(), match.getOtt());
+                snapshots.put(MatchSnapshot.from(match));
+                queue.offerMember(match.getNo());
             } else {
-                offerOwnerQueue(match.getNo(), match.getOtt());
+                snapshots.put(MatchSnapshot.from(match), match.getSeats());
+                queue.offerOwner(match.getNo(), match.getSeats());
             }
         });
     }
 
-    private void offerMemberQueue(Long no, OttType ott) {
-        switch (ott) {
-            case NETFLIX:
-                netflix.offerMember(no);
-                break;
-            case TVING:
-                tving.offerMember(no);
-                break;
-            case DISNEY_PLUS:
-                disney.offerMember(no);
-                break;
-            case WATCHA:
-                watcha.offerMember(no);
-                break;
-            case WAVVE:
-                wavve.offerMember(no);
-                break;
-        }
+    /**
+     * 결제 실패로 돌려받은 owner 자리를 다시 대기열에 넣는다 (Match는 새로 생성하지 않음)
+     * snapshot이 없으면 firstMatchJob 이후 단계에서 DB로 조회한다
+     */
+    @Override
+    public void offerReleasedSeat(OttType ott, Long ownerNo) {
+        firstQueues.get(ott).releaseOwnerSeat(ownerNo);
     }
 
-    private void offerOwnerQueue(Long no, OttType ott) {
-        switch (ott) {
-            case NETFLIX:
-                netflix.offerOwner(no);
-                break;
-            case TVING:
-                tving.offerOwner(no);
-                break;
-            case DISNEY_PLUS:
-                disney.offerOwner(no);
-                break;
-            case WATCHA:
-                watcha.offerOwner(no);
-                break;
-            case WAVVE:
-                wavve.offerOwner(no);
-                break;
+    /**
+     * 대기중인 요청을 취소하고 Queue에서 바로 제거한다
+     * owner는 연결된 member가 없을때만 취소하고, 남은 자리는 모두 Queue에서 뺀다 (member가 연결된 owner는 그대로 모집)
+     * DB 상태를 먼저 바꾸므로 이미 꺼내서 처리중인 건은 firstMatchJob에서 실패한다
+     *
+     * @return 취소한 건수
+     */
+    @Override
+    @Transactional
+    public int cancelMatch(MatchingRequestMessage request) {
+        FirstQueue queue = firstQueues.get(request.getOtt());
+        int cancelled = 0;
+
+        for (Match match : matchRepository.findAllByMemberIdAndPartyNoAndStatus(request.getMemberId(), request.getPartyNo(), StatusType.WAIT)) {
+            if (matchRepository.cancelWaiting(match.getNo()) == 0)
+                continue;
+
+            queue.remove(match.getNo());
+            snapshots.remove(match.getNo());
+            cancelled++;
         }
+        return cancelled;
     }
 }
@@ -0,0 +1,159 @@
+package com.foryou.matchingservice.api.service.impl;
+
+import com.foryou.matchingservice.api.queue.FirstQueueRegistry;
+import com.foryou.matchingservice.api.queue.JournaledQueue;
+import com.foryou.matchingservice.api.queue.SecondQueue;
+import com.foryou.matchingservice.api.queue.ThirdQueue;
+import com.foryou.matchingservice.api.schedule.MatchingStageProcessor;
+import com.foryou.matchingservice.api.service.QueueJournalService;
+import com.foryou.matchingservice.global.journal.JournalState;
+import com.foryou.matchingservice.global.journal.MappedQueueJournal;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue별 Journal 관리
+ * <p>
+ * Kafka Listener가 모두 멈춘 뒤(SmartLifecycle phase 0) 처리중인 매칭이 끝나기를 기다렸다가 Journal에 정상 종료를 표시한다.
+ * 재기동 시 모든 Journal이 정상 종료 상태일 때만 Journal로 복구하고, 하나라도 없거나 손상되었으면 DB 조회로 복구한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QueueJournalServiceImpl implements QueueJournalService, SmartLifecycle {
+
+    private final FirstQueueRegistry firstQueues;
+    private final SecondQueue secondQueue;
+    private final ThirdQueue thirdQueue;
+    private final MatchingStageProcessor processor;
+    private final MatchingProperties properties;
+
+    private final Map<String, MappedQueueJournal> journals = new LinkedHashMap<>();
+    private ExecutorService compactor;
+    private volatile boolean running;
+
+    @Override
+    public synchronized boolean restore() {
+        if (!properties.isJournalEnabled())
+            return false;
+
+        Map<String, JournaledQueue> targets = targets();
+        Map<String, JournalState> states = new LinkedHashMap<>();
+
+        for (Map.Entry<String, JournaledQueue> target : targets.entrySet()) {
+            try {
+                Optional<JournalState> state = MappedQueueJournal.recover(journalDir(), target.getKey());
+
+                if (state.isEmpty() || !state.get().isSealed()) {
+                    log.info("Journal {} is {}, recover from DB", target.getKey(), state.isEmpty() ? "missing" : "not sealed");
+                    return false;
+                }
+                states.put(target.getKey(), state.get());
+            } catch (IOException e) {
+                log.warn("Journal {} is corrupted, recover from DB", target.getKey(), e);
+                return false;
+            }
+        }
+
+        targets.forEach((name, queue) -> {
+            JournalState state = states.get(name);
+            queue.restore(state);
+            queue.attachJournal(open(name, state));
+        });
+
+        log.info("Restored matching queues from journal: {}", journals.keySet());
+        return true;
+    }
+
+    @Override
+    public synchronized void reset() {
+        if (!properties.isJournalEnabled())
+            return;
+
+        targets().forEach((name, queue) -> queue.attachJournal(open(name, new JournalState())));
+    }
+
+    @Override
+    public void start() {
+        processor.resume();
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+
+        if (journals.isEmpty())
+            return;
+
+        try {
+            if (processor.quiesce(properties.getJournalShutdownTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                journals.values().forEach(MappedQueueJournal::seal);
+                log.info("Sealed matching queue journals");
+            } else {
+                log.warn("Matching jobs still running, journals are not sealed");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            compactor.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Kafka Listener Container(Integer.MAX_VALUE - 100)보다 늦게 종료
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private Map<String, JournaledQueue> targets() {
+        Map<String, JournaledQueue> targets = new LinkedHashMap<>();
+        firstQueues.queues().forEach(queue -> targets.put(queue.ott().getValue(), queue));
+        targets.put("second", secondQueue);
+        targets.put("third", thirdQueue);
+        return targets;
+    }
+
+    private MappedQueueJournal open(String name, JournalState snapshot) {
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "matching-journal-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        try {
+            MappedQueueJournal journal = MappedQueueJournal.create(journalDir(), name, snapshot
+                    , properties.getJournalSegmentSize(), properties.getJournalMaxClosedSegments(), compactor);
+            journals.put(name, journal);
+            return journal;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open journal " + name, e);
+        }
+    }
+
+    private Path journalDir() {
+        return Paths.get(properties.getJournalDir());
+    }
+}
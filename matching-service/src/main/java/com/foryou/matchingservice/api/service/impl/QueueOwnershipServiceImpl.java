@@ -0,0 +1,169 @@
+package com.foryou.matchingservice.api.service.impl;
+
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.queue.FirstQueueRegistry;
+import com.foryou.matchingservice.api.queue.MatchSnapshotStore;
+import com.foryou.matchingservice.api.queue.SecondQueue;
+import com.foryou.matchingservice.api.queue.ThirdQueue;
+import com.foryou.matchingservice.api.service.InitService;
+import com.foryou.matchingservice.api.service.MatchDeadlineService;
+import com.foryou.matchingservice.api.service.QueueOwnershipService;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * OTT별 Queue 소유권 관리
+ * <p>
+ * 새로 소유권을 얻은 OTT는 DB에서 미처리건을 복구한 뒤 소유 처리하고,
+ * 소유권을 잃은 OTT는 Queue에 남아있는 건을 버린다 (새 소유자가 DB에서 다시 복구).
+ * 두 인스턴스가 잠시 같은 건을 가지고 있더라도 상태 변경은 조건부 UPDATE라 한쪽만 성공한다 (결제 요청도 markPaymentRequested로 한번만 보냄).
+ * 복구는 Kafka poll 쓰레드를 막지 않도록 별도 쓰레드에서 한 OTT씩 하고, 그 사이 소유권을 잃었으면 복구한 건을 버린다.
+ */
+@Slf4j
+@Service
+public class QueueOwnershipServiceImpl implements QueueOwnershipService {
+
+    private final InitService initService;
+    private final FirstQueueRegistry firstQueues;
+    private final SecondQueue secondQueue;
+    private final ThirdQueue thirdQueue;
+    private final MatchSnapshotStore snapshots;
+    private final MatchDeadlineService deadlines;
+    private final MatchingProperties properties;
+
+    private final Executor recoveryExecutor;
+
+    private final Set<OttType> assigned = ConcurrentHashMap.newKeySet();
+    private final Set<OttType> owned = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public QueueOwnershipServiceImpl(InitService initService, FirstQueueRegistry firstQueues, SecondQueue secondQueue, ThirdQueue thirdQueue
+            , MatchSnapshotStore snapshots, MatchDeadlineService deadlines, MatchingProperties properties) {
+        this(initService, firstQueues, secondQueue, thirdQueue, snapshots, deadlines, properties
+                , Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "matching-ownership-recovery");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    QueueOwnershipServiceImpl(InitService initService, FirstQueueRegistry firstQueues, SecondQueue secondQueue, ThirdQueue thirdQueue
+            , MatchSnapshotStore snapshots, MatchDeadlineService deadlines, MatchingProperties properties, Executor recoveryExecutor) {
+        this.initService = initService;
+        this.firstQueues = firstQueues;
+        this.secondQueue = secondQueue;
+        this.thirdQueue = thirdQueue;
+        this.snapshots = snapshots;
+        this.deadlines = deadlines;
+        this.properties = properties;
+        this.recoveryExecutor = recoveryExecutor;
+    }
+
+    @Override
+    public boolean owns(OttType ott) {
+        return !properties.isPartitionOwnership() || owned.contains(ott);
+    }
+
+    @Override
+    public CompletableFuture<Void> assign(Collection<OttType> otts) {
+        List<CompletableFuture<Void>> recoveries = otts.stream()
+                .filter(assigned::add)
+                .map(ott -> CompletableFuture.runAsync(() -> recover(ott), recoveryExecutor))
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(recoveries.toArray(new CompletableFuture[0]));
+    }
+
+    @Override
+    public synchronized void revoke(Collection<OttType> otts) {
+        for (OttType ott : otts) {
+            assigned.remove(ott);
+            if (!owned.remove(ott))
+                continue;
+
+            log.info("Revoked {} queue, dropped: {}", ott, release(ott));
+        }
+    }
+
+    /**
+     * recoveryExecutor에서 실행. DB 조회는 lock 밖에서 하고, 끝난 시점에 아직 할당 상태일때만 소유 처리한다
+     * 재시도까지 실패하면 할당 상태를 지워서 다음 할당때 다시 복구한다
+     */
+    private void recover(OttType ott) {
+        synchronized (this) {
+            if (!assigned.contains(ott) || owned.contains(ott))
+                return;
+            release(ott);
+        }
+
+        int count;
+        try {
+            count = recoverWithRetry(ott);
+        } catch (RuntimeException e) {
+            assigned.remove(ott);
+            log.error("Failed to recover {} queue", ott, e);
+            throw e;
+        }
+
+        synchronized (this) {
+            if (assigned.contains(ott)) {
+                owned.add(ott);
+                log.info("Assigned {} queue, recovered: {}", ott, count);
+            } else {
+                log.info("Revoked {} queue while recovering, dropped: {}", ott, release(ott));
+            }
+        }
+    }
+
+    private int recoverWithRetry(OttType ott) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return initService.recover(ott);
+            } catch (RuntimeException e) {
+                if (attempt >= properties.getRecoveryMaxAttempts())
+                    throw e;
+
+                log.warn("Retry {} queue recovery, attempt: {}", ott, attempt, e);
+                sleep(properties.getRecoveryRetryBackoffMs());
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for queue recovery retry", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (recoveryExecutor instanceof ExecutorService)
+            ((ExecutorService) recoveryExecutor).shutdownNow();
+    }
+
+    private int release(OttType ott) {
+        int count = firstQueues.get(ott).clear()
+                + secondQueue.removeIf(response -> response.getOtt() == ott)
+                + thirdQueue.removeIf(response -> response.getOtt() == ott);
+
+        snapshots.removeAll(ott);
+        deadlines.clearAll(ott);
+        return count;
+    }
+}
@@ -1,36 +1,43 @@
 package com.foryou.matchingservice.api.service.impl;
 
 import com.foryou.matchingservice.api.dto.request.PaymentRequestMessage;
+import com.foryou.matchingservice.api.dto.response.MatchSnapshot;
 import com.foryou.matchingservice.api.dto.response.MatchingResultMessage;
 import com.foryou.matchingservice.api.dto.response.Response;
 import com.foryou.matchingservice.api.entity.Match;
 import com.foryou.matchingservice.api.enums.StatusType;
+import com.foryou.matchingservice.api.queue.FirstQueue;
+import com.foryou.matchingservice.api.queue.MatchSnapshotStore;
 import com.foryou.matchingservice.api.repository.MatchRepository;
+import com.foryou.matchingservice.api.schedule.MatchingMetrics;
+import com.foryou.matchingservice.api.service.MatchDeadlineService;
 import com.foryou.matchingservice.api.service.ScheduledService;
 import com.foryou.matchingservice.api.service.kafka.producer.KafkaProducer;
 import com.foryou.matchingservice.global.constants.Constants;
 import com.foryou.matchingservice.global.error.CustomException;
 import com.foryou.matchingservice.global.error.ErrorCode;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Slf4j
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class ScheduledServiceImpl implements ScheduledService {
 
+    private static final int PAIR_SIZE = 2;
+
     private final MatchRepository repository;
     private final KafkaProducer producer;
-
-
-    private Match findWaitPeople(Long no) {
-        return repository.findByNoAndStatus(no, StatusType.WAIT).orElseThrow(() -> {
-            throw new CustomException(ErrorCode.NOT_EXIST_WAIT_PEOPLE);
-        });
-    }
+    private final MatchSnapshotStore snapshots;
+    private final MatchDeadlineService deadlines;
+    private final MatchingMetrics metrics;
+    private final MatchingProperties properties;
 
     private Match findStartPeople(Long no) {
         return repository.findByNoAndStatus(no, StatusType.START).orElseThrow(() -> {
@@ -38,46 +45,105 @@ public class ScheduledServiceImpl implements ScheduledService {
         });
     }
 
-    private Match findCompletePeople(Long no) {
-        return repository.findByNoAndStatus(no, StatusType.COMPLETE).orElseThrow(() -> {
-            throw new CustomException(ErrorCode.NOT_EXIST_COMPLETE_PEOPLE);
-        });
-    }
-
+    /**
+     * snapshot은 연결에 성공한 뒤에 꺼낸다. 실패하면 releaseFailedPair로 아직 대기중인 쪽을 다시 넣을때 필요하다
+     */
     @Override
     @Transactional
-    public Response firstMatchJob(Long ownerPk, Long memberPk) {
-        Match owner = findWaitPeople(ownerPk);
-        Match member = findWaitPeople(memberPk);
+    public Response firstMatchJob(Response pair) {
+        Long ownerPk = pair.getOwnerPk();
+        Long memberPk = pair.getMemberPk();
 
-        owner.changeStatus(StatusType.START);
-        member.changeStatus(StatusType.START);
+        if (repository.linkPair(ownerPk, memberPk, StatusType.WAIT, StatusType.START) != PAIR_SIZE)
+            throw new CustomException(ErrorCode.NOT_EXIST_WAIT_PEOPLE);
 
-        owner.link(memberPk);
-        member.link(ownerPk);
+        MatchSnapshot owner = snapshots.take(ownerPk);
+        MatchSnapshot member = snapshots.take(memberPk);
 
-        return new Response(ownerPk, memberPk);
+        Response matched = Response.builder()
+                .ownerPk(ownerPk)
+                .memberPk(memberPk)
+                .ott(pair.getOtt())
+                .owner(owner)
+                .member(member)
+                .build();
+
+        deadlines.watch(StatusType.START, matched);
+        return matched;
+    }
+
+    /**
+     * firstMatchJob이 롤백된 뒤 호출. 아직 대기중인 쪽은 FirstQueue에 다시 넣고, 대기중이 아닌 쪽은 snapshot만 버린다
+     * owner는 꺼낸 자리 하나만 돌려준다
+     */
+    @Override
+    public void releaseFailedPair(FirstQueue queue, Response pair) {
+        Long ownerPk = pair.getOwnerPk();
+        Long memberPk = pair.getMemberPk();
+
+        boolean ownerWaiting = repository.findByNoAndStatus(ownerPk, StatusType.WAIT)
+                .filter(owner -> owner.getSeats() > 0)
+                .isPresent();
+        if (ownerWaiting)
+            queue.releaseOwnerSeat(ownerPk);
+        else
+            snapshots.take(ownerPk);
+
+        if (repository.findByNoAndStatus(memberPk, StatusType.WAIT).isPresent())
+            queue.offerMember(memberPk);
+        else
+            snapshots.remove(memberPk);
     }
 
+    /**
+     * 결제 요청 시각을 compare-and-set으로 먼저 기록하고 성공한 경우에만 보낸다
+     * 복구, 기한 재처리 등으로 같은 쌍이 중복으로 들어와도 payment-resend-after-ms 안에는 한번만 보낸다
+     */
     @Override
-    public void secondMatchJob(Long ownerPk, Long memberPk) {
-        Match member = findStartPeople(memberPk);
+    @Transactional
+    public void secondMatchJob(Response matched) {
+        long now = System.currentTimeMillis();
+        if (repository.markPaymentRequested(matched.getMemberPk(), now, now - properties.getPaymentResendAfterMs()) != 1)
+            throw new CustomException(ErrorCode.NOT_EXIST_START_PEOPLE);
+
+        MatchSnapshot member = matched.getMember() != null
+                ? matched.getMember()
+                : MatchSnapshot.from(findStartPeople(matched.getMemberPk()));
+
         producer.sendMessage(Constants.KAFKA_TOPIC_PAYMENT, createPaymentRequestMessage(member));
     }
 
     @Override
     @Transactional
-    public void thirdMatchJob(Long ownerPk, Long memberPk) {
-        Match owner = findCompletePeople(ownerPk);
-        Match member = findCompletePeople(memberPk);
+    public void thirdMatchJob(Response completed) {
+        Long ownerPk = completed.getOwnerPk();
+        Long memberPk = completed.getMemberPk();
+        MatchSnapshot owner = completed.getOwner();
+        MatchSnapshot member = completed.getMember();
+
+        if (owner == null || member == null) {
+            List<Match> pair = repository.findAllById(List.of(ownerPk, memberPk));
+            if (pair.size() != PAIR_SIZE)
+                throw new CustomException(ErrorCode.NOT_EXIST_COMPLETE_PEOPLE);
+
+            boolean ownerFirst = ownerPk.equals(pair.get(0).getNo());
+            Match memberMatch = pair.get(ownerFirst ? 1 : 0);
+            if (StatusType.COMPLETE != memberMatch.getStatus())
+                throw new CustomException(ErrorCode.NOT_EXIST_COMPLETE_PEOPLE);
+
+            owner = MatchSnapshot.from(pair.get(ownerFirst ? 0 : 1));
+            member = MatchSnapshot.from(memberMatch);
+        }
+
+        if (repository.changeMemberStatus(memberPk, StatusType.COMPLETE, StatusType.ALL_COMPLETE) != 1)
+            throw new CustomException(ErrorCode.NOT_EXIST_COMPLETE_PEOPLE);
 
+        deadlines.clear(memberPk);
         producer.sendMessage(Constants.KAFKA_TOPIC_MATCH_RESULT, createResultMessage(owner, member));
-
-        owner.changeStatus(StatusType.ALL_COMPLETE);
-        member.changeStatus(StatusType.ALL_COMPLETE);
+        metrics.recordEndToEnd(member.getRequestedAt());
     }
 
-    private PaymentRequestMessage createPaymentRequestMessage(Match member) {
+    private PaymentRequestMessage createPaymentRequestMessage(MatchSnapshot member) {
         return PaymentRequestMessage.builder()
                 .memberId(member.getMemberId())
                 .partyNo(member.getPartyNo())
@@ -86,7 +152,7 @@ public class ScheduledServiceImpl implements ScheduledService {
                 .build();
     }
 
-    private MatchingResultMessage createResultMessage(Match owner, Match member) {
+    private MatchingResultMessage createResultMessage(MatchSnapshot owner, MatchSnapshot member) {
         return MatchingResultMessage.builder()
                 .ownerNo(owner.getPartyNo())
                 .memberNo(member.getPartyNo())
@@ -8,13 +8,18 @@ import com.foryou.matchingservice.api.service.MatchingService;
 import com.foryou.matchingservice.global.constants.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Service;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -23,29 +28,102 @@ public class MatchingRequestConsumer {
 
     private final ObjectMapper objMapper;
     private final MatchingService matchingService;
+    private final Validator validator;
 
+    /**
+     * poll 한번에 받은 요청을 한 트랜잭션으로 저장하고 offset은 batch 단위로 commit
+     * record는 index 순서대로 반영한다. 취소/돌려받은 자리 record를 만나면 앞의 요청부터 저장한 뒤 처리한다
+     * (취소는 같은 OTT key로 들어오므로 원래 요청 이후에 처리되고, 실패한 index 이후의 record는 아무것도 반영되지 않는다)
+     * 처리할 수 없는 record가 있으면 그 앞까지만 처리하고 해당 index로 BatchListenerFailedException을 던진다
+     * (error handler가 앞쪽 offset을 commit하고 실패한 record부터 다시 받음)
+     * 읽을 수 없거나 필수값이 없는 메시지는 재시도하지 않고 바로 DLT로 보낸다 (KafkaConsumerConfig)
+     */
     @KafkaListener(
-            topics = Constants.KAFKA_TOPIC_PARTY
+            id = Constants.KAFKA_LISTENER_ID_PARTY
+            , topics = Constants.KAFKA_TOPIC_PARTY
             , groupId = Constants.KAFKA_GROPU_ID_PARTY
+            , containerFactory = Constants.KAFKA_BATCH_CONTAINER_FACTORY
     )
-    public void listen(
-            @Header(KafkaHeaders.ACKNOWLEDGMENT) Acknowledgment ack
-            , @Header(KafkaHeaders.RECEIVED_TOPIC) String topic
-            , @Header(KafkaHeaders.GROUP_ID) String groupId
-            , @Header(KafkaHeaders.RECEIVED_PARTITION_ID) int partition
-            , @Header(KafkaHeaders.OFFSET) long offset
-            , @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long ts
-            , String msg) {
+    public void listen(List<ConsumerRecord<String, String>> records, Acknowledgment ack) {
+        List<MatchingRequestMessage> requests = new ArrayList<>(records.size());
+        int requestFrom = 0;
+        int saved = 0;
+        int cancels = 0;
+
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, String> record = records.get(i);
+            MatchingRequestMessage request;
+            try {
+                request = parse(record.value());
+            } catch (JsonProcessingException | IllegalArgumentException | ConstraintViolationException e) {
+                log.error("Poison message topic: {}, partition: {}, offset: {}, message: {}", record.topic(), record.partition(), record.offset(), record.value(), e);
+                save(requests, requestFrom);
+                throw new BatchListenerFailedException("Poison message", e, i);
+            }
+
+            request.setRequestedAt(record.timestamp());
+
+            if (!request.isCancel() && request.getMatchNo() == null) {
+                if (requests.isEmpty())
+                    requestFrom = i;
+                requests.add(request);
+                continue;
+            }
+
+            saved += save(requests, requestFrom);
+            apply(request, i);
+            cancels += request.isCancel() ? 1 : 0;
+        }
+
+        saved += save(requests, requestFrom);
+
+        log.info("topic: {}, records: {}, requests: {}, cancels: {}", Constants.KAFKA_TOPIC_PARTY, records.size(), saved, cancels);
+        ack.acknowledge();
+    }
+
+    /**
+     * 모아둔 요청을 한번에 저장하고 Queue에 넣는다
+     * 저장에 실패하면 (DB 장애 등) 첫 요청의 index로 예외를 던져서 DLT로 보내지 않고 그 record부터 다시 받는다
+     *
+     * @return 저장한 요청 수
+     */
+    private int save(List<MatchingRequestMessage> requests, int requestFrom) {
+        if (requests.isEmpty())
+            return 0;
+
+        List<Match> matches;
         try {
-            MatchingRequestMessage request = objMapper.readValue(msg, MatchingRequestMessage.class);
-            log.info("message: {}, topic: {}, groupId: {}, partition: {}, offset: {}, time: {}", request, topic, groupId, partition, offset, ts);
-
-            List<Match> Matches = matchingService.createMatch(request);
-            matchingService.offerQueue(Matches);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-        } finally {
-            ack.acknowledge();
+            matches = matchingService.createMatches(requests);
+        } catch (RuntimeException e) {
+            throw new BatchListenerFailedException("Save failed", e, requestFrom);
         }
+        matchingService.offerQueue(matches);
+
+        int saved = requests.size();
+        requests.clear();
+        return saved;
+    }
+
+    private void apply(MatchingRequestMessage request, int index) {
+        try {
+            if (request.isCancel()) {
+                matchingService.cancelMatch(request);
+            } else {
+                // 결제 실패로 돌려받은 owner 자리는 기존 Match를 다시 대기열에만 넣는다
+                matchingService.offerReleasedSeat(request.getOtt(), request.getMatchNo());
+            }
+        } catch (RuntimeException e) {
+            throw new BatchListenerFailedException("Apply failed", e, index);
+        }
+    }
+
+    private MatchingRequestMessage parse(String msg) throws JsonProcessingException {
+        MatchingRequestMessage request = objMapper.readValue(msg, MatchingRequestMessage.class);
+
+        Set<ConstraintViolation<MatchingRequestMessage>> violations = validator.validate(request);
+        if (!violations.isEmpty())
+            throw new ConstraintViolationException(violations);
+
+        return request;
     }
 }
@@ -3,6 +3,7 @@ package com.foryou.matchingservice.api.service.kafka.consumer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foryou.matchingservice.api.dto.request.MatchingRequestMessage;
+import com.foryou.matchingservice.api.dto.response.MatchSnapshot;
 import com.foryou.matchingservice.api.dto.response.PaymentResponseMessage;
 import com.foryou.matchingservice.api.dto.response.Response;
 import com.foryou.matchingservice.api.entity.Match;
@@ -10,7 +11,10 @@ import com.foryou.matchingservice.api.enums.PartyRole;
 import com.foryou.matchingservice.api.enums.StatusType;
 import com.foryou.matchingservice.api.queue.ThirdQueue;
 import com.foryou.matchingservice.api.repository.MatchRepository;
+import com.foryou.matchingservice.api.service.MatchDeadlineService;
 import com.foryou.matchingservice.api.service.MatchingService;
+import com.foryou.matchingservice.api.service.QueueOwnershipService;
+import com.foryou.matchingservice.api.service.kafka.producer.KafkaProducer;
 import com.foryou.matchingservice.global.constants.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,7 +25,6 @@ import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 
 @Slf4j
 @Service
@@ -32,6 +35,9 @@ public class PaymentResultConsumer {
     private final MatchRepository repository;
     private final MatchingService matchingService;
     private final ThirdQueue thirdQueue;
+    private final QueueOwnershipService ownership;
+    private final KafkaProducer producer;
+    private final MatchDeadlineService deadlines;
 
     @KafkaListener(
             topics = Constants.KAFKA_TOPIC_PAYMENT_RESULT
@@ -53,29 +59,52 @@ public class PaymentResultConsumer {
             Match member = repository.findByMemberIdAndPartyNo(response.getMemberId(), response.getPartyNo()).get();
             Match owner = repository.findById(member.getLinkedNo()).get();
 
+            // 단계별 상태는 member 행만 가지고, owner 행은 자리 수로 관리
+            // 결제 결과가 중복으로 오거나 기한이 지나 이미 취소된 뒤에 오면 START가 아니므로 무시한다 (compare-and-set)
             if (response.isSuccess()) {
-                member.changeStatus(StatusType.COMPLETE);
-                owner.changeStatus(StatusType.COMPLETE);
+                if (repository.changeMemberStatus(member.getNo(), StatusType.START, StatusType.COMPLETE) != 1) {
+                    log.warn("Ignore payment success, member is not START. memberPk: {}", member.getNo());
+                    return;
+                }
 
-                thirdQueue.offerCompleted(Response.builder()
+                Response completed = Response.builder()
                         .memberPk(member.getNo())
                         .ownerPk(owner.getNo())
-                        .build()
-                );
+                        .ott(owner.getOtt())
+                        .member(MatchSnapshot.from(member))
+                        .owner(MatchSnapshot.from(owner))
+                        .build();
+
+                thirdQueue.offerCompleted(completed);
+                deadlines.watch(StatusType.COMPLETE, completed);
             } else {
-                member.changeStatus(StatusType.CANCEL);
-                owner.changeStatus(StatusType.CANCEL);
+                if (repository.changeMemberStatus(member.getNo(), StatusType.START, StatusType.CANCEL) != 1) {
+                    log.warn("Ignore payment failure, member is not START. memberPk: {}", member.getNo());
+                    return;
+                }
 
-                List<Match> matches = matchingService.createMatch(MatchingRequestMessage.builder()
-                        .partyNo(owner.getPartyNo())
-                        .inwon(1)
-                        .memberId(owner.getMemberId())
-                        .ott(owner.getOtt())
-                        .role(PartyRole.OWNER)
-                        .paymentNo(0L)
-                        .build());
+                deadlines.clear(member.getNo());
+
+                // owner가 그 사이 취소되었으면 돌려줄 자리가 없다
+                if (repository.releaseSeat(owner.getNo()) != 1)
+                    return;
+
+                // 다른 인스턴스가 관리하는 OTT면 party topic으로 보내서 소유한 인스턴스가 다시 대기열에 넣도록 한다
+                if (ownership.owns(owner.getOtt())) {
+                    matchingService.offerReleasedSeat(owner.getOtt(), owner.getNo());
+                } else {
+                    MatchingRequestMessage request = MatchingRequestMessage.builder()
+                            .matchNo(owner.getNo())
+                            .partyNo(owner.getPartyNo())
+                            .inwon(1)
+                            .memberId(owner.getMemberId())
+                            .ott(owner.getOtt())
+                            .role(PartyRole.OWNER)
+                            .paymentNo(0L)
+                            .build();
 
-                matchingService.offerQueue(matches);
+                    producer.sendMessage(Constants.KAFKA_TOPIC_PARTY, owner.getOtt().name(), request);
+                }
             }
         } catch (JsonProcessingException e) {
             e.printStackTrace();
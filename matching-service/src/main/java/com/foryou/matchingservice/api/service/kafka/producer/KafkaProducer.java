@@ -15,4 +15,11 @@ public class KafkaProducer {
     public void sendMessage(String topic, Object message) {
         kafkaTemplate.send(topic, message);
     }
+
+    /**
+     * 같은 key는 같은 partition으로 전송된다
+     */
+    public void sendMessage(String topic, String key, Object message) {
+        kafkaTemplate.send(topic, key, message);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.foryou.matchingservice.global.config;
+
+import com.foryou.matchingservice.api.service.InitService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재기동 후 미처리건 복구가 끝난 뒤에 Kafka listener를 시작하고, 재시도까지 모두 실패하면 기동을 중단한다
+ * <p>
+ * 복구 중에 party, payment_result를 받으면 복구중인 건의 상태가 바뀌어 중복으로 Queue에 올라갈 수 있으므로
+ * listener container는 autoStartup=false로 만들고 여기서 시작한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueRecoveryGate {
+
+    private final InitService initService;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final ConfigurableApplicationContext context;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startAfterRecovery() {
+        initService.whenRecovered().whenComplete((v, e) -> {
+            if (e == null) {
+                log.info("Queue recovered, start Kafka listeners");
+                listenerRegistry.start();
+                return;
+            }
+
+            log.error("Queue recovery failed, shutting down", e);
+            System.exit(SpringApplication.exit(context, () -> 1));
+        });
+    }
+}
@@ -5,7 +5,10 @@ public final class Constants {
     public static final String KAFKA_TOPIC_MATCH_RESULT = "match_result";
     public static final String KAFKA_TOPIC_PAYMENT = "payment";
     public static final String KAFKA_TOPIC_PAYMENT_RESULT = "payment_result";
+    public static final String KAFKA_TOPIC_MATCHING_LOAD = "matching_load";
     public static final String KAFKA_GROPU_ID_PARTY = "party_group";
+    public static final String KAFKA_LISTENER_ID_PARTY = "party_listener";
     public static final String KAFKA_GROPU_ID_PAYMENT = "payment_group";
     public static final String KAFKA_AUTO_OFFSET_RESET_EARLIEST = "earliest";
+    public static final String KAFKA_BATCH_CONTAINER_FACTORY = "batchKafkaListenerContainerFactory";
 }
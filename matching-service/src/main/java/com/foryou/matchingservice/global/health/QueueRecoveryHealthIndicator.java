@@ -0,0 +1,27 @@
+package com.foryou.matchingservice.global.health;
+
+import com.foryou.matchingservice.api.service.InitService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재기동 후 미처리건 Queue 복구가 끝나기 전까지 OUT_OF_SERVICE (readiness group: queueRecovery)
+ */
+@Component
+@RequiredArgsConstructor
+public class QueueRecoveryHealthIndicator implements HealthIndicator {
+
+    private final InitService initService;
+
+    @Override
+    public Health health() {
+        if (initService.isRecovered())
+            return Health.up().build();
+
+        return Health.outOfService()
+                .withDetail("reason", "unprocessed data recovery in progress")
+                .build();
+    }
+}
@@ -0,0 +1,10 @@
+package com.foryou.matchingservice.global.journal;
+
+import java.io.IOException;
+
+public class JournalCorruptedException extends IOException {
+
+    public JournalCorruptedException(String message) {
+        super(message);
+    }
+}
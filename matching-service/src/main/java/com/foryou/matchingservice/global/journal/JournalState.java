@@ -0,0 +1,78 @@
+package com.foryou.matchingservice.global.journal;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Journal을 재생해서 얻은 channel별 남아있는 항목 (offer 순서 유지)
+ */
+public class JournalState {
+
+    private final TreeMap<Integer, LinkedHashSet<Entry>> channels = new TreeMap<>();
+    private boolean sealed;
+
+    void add(int channel, long a, long b) {
+        channels.computeIfAbsent(channel, key -> new LinkedHashSet<>()).add(new Entry(a, b));
+        sealed = false;
+    }
+
+    void remove(int channel, long a, long b) {
+        LinkedHashSet<Entry> entries = channels.get(channel);
+        if (entries != null)
+            entries.remove(new Entry(a, b));
+        sealed = false;
+    }
+
+    void seal() {
+        sealed = true;
+    }
+
+    /**
+     * 마지막 기록이 정상 종료 표시인지 여부. false면 종료 시점에 처리중인 건이 있었을 수 있다
+     */
+    public boolean isSealed() {
+        return sealed;
+    }
+
+    public Set<Entry> entries(int channel) {
+        return Collections.unmodifiableSet(channels.getOrDefault(channel, new LinkedHashSet<>()));
+    }
+
+    TreeMap<Integer, LinkedHashSet<Entry>> channels() {
+        return channels;
+    }
+
+    public static final class Entry {
+        private final long a;
+        private final long b;
+
+        Entry(long a, long b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        public long getA() {
+            return a;
+        }
+
+        public long getB() {
+            return b;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Entry)) return false;
+            Entry entry = (Entry) o;
+            return a == entry.a && b == entry.b;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(a, b);
+        }
+    }
+}
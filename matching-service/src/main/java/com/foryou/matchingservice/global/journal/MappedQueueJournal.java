@@ -0,0 +1,350 @@
+package com.foryou.matchingservice.global.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Memory-mapped 파일 기반 append-only QueueJournal
+ * <p>
+ * 고정 크기 Segment 파일({name}-{seq}.journal)에 24byte 고정 길이 레코드를 기록한다.
+ * 기록 위치는 AtomicInteger로 선점하므로 여러 쓰레드가 lock 없이 동시에 기록할 수 있고,
+ * Segment가 가득 차면 다음 Segment를 만들고 닫힌 Segment가 일정 개수를 넘으면 남아있는 항목만 모아 하나로 압축한다.
+ * <pre>
+ * | checksum(4) | type(1) | channel(1) | pad(2) | a(8) | b(8) |
+ * </pre>
+ */
+@Slf4j
+public class MappedQueueJournal implements QueueJournal {
+
+    static final int RECORD_SIZE = 24;
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    private static final byte SEAL = 3;
+    private static final String SUFFIX = ".journal";
+
+    private final Path dir;
+    private final String name;
+    private final int segmentSize;
+    private final int maxClosedSegments;
+    private final Executor compactor;
+    private final Deque<Segment> closed = new ArrayDeque<>();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private volatile Segment current;
+
+    private MappedQueueJournal(Path dir, String name, int segmentSize, int maxClosedSegments, Executor compactor) {
+        this.dir = dir;
+        this.name = name;
+        this.segmentSize = segmentSize - segmentSize % RECORD_SIZE;
+        this.maxClosedSegments = maxClosedSegments;
+        this.compactor = compactor;
+    }
+
+    /**
+     * 디스크에 남아있는 Journal을 재생
+     *
+     * @return Journal이 없으면 empty
+     * @throws JournalCorruptedException checksum이 맞지 않는 레코드가 있는 경우
+     */
+    public static Optional<JournalState> recover(Path dir, String name) throws IOException {
+        List<Path> segments = segments(dir, name);
+        if (segments.isEmpty())
+            return Optional.empty();
+
+        JournalState state = new JournalState();
+        for (Path segment : segments) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                replay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), state, segment);
+            }
+        }
+        return Optional.of(state);
+    }
+
+    /**
+     * 기존 Segment를 snapshot 하나로 압축하고 새 Segment에 이어서 기록하는 Journal 생성
+     *
+     * @param snapshot 현재 Queue에 남아있는 항목
+     */
+    public static MappedQueueJournal create(Path dir, String name, JournalState snapshot
+            , int segmentSize, int maxClosedSegments, Executor compactor) throws IOException {
+        if (segmentSize < RECORD_SIZE)
+            throw new IllegalArgumentException("segmentSize must be at least " + RECORD_SIZE);
+
+        Files.createDirectories(dir);
+        List<Path> olds = segments(dir, name);
+        long seq = olds.isEmpty() ? 1 : seqOf(olds.get(olds.size() - 1)) + 1;
+
+        MappedQueueJournal journal = new MappedQueueJournal(dir, name, segmentSize, maxClosedSegments, compactor);
+        Path snapshotPath = journal.path(seq);
+        writeSnapshot(snapshotPath, snapshot);
+        for (Path old : olds)
+            Files.deleteIfExists(old);
+
+        journal.closed.add(Segment.open(snapshotPath, seq));
+        journal.current = Segment.create(journal.path(seq + 1), seq + 1, journal.segmentSize);
+        return journal;
+    }
+
+    public static void delete(Path dir, String name) throws IOException {
+        for (Path segment : segments(dir, name))
+            Files.deleteIfExists(segment);
+    }
+
+    @Override
+    public void add(int channel, long a, long b) {
+        append(ADD, channel, a, b);
+    }
+
+    @Override
+    public void remove(int channel, long a, long b) {
+        append(REMOVE, channel, a, b);
+    }
+
+    /**
+     * 정상 종료 표시. 이후 다른 기록이 추가되면 정상 종료로 보지 않는다
+     */
+    public void seal() {
+        append(SEAL, 0, 0L, 0L);
+        current.buffer.force();
+    }
+
+    private void append(byte type, int channel, long a, long b) {
+        while (true) {
+            Segment segment = current;
+            segment.writers.incrementAndGet();
+            try {
+                int position = segment.reserve();
+                if (position >= 0) {
+                    segment.write(position, type, channel, a, b);
+                    return;
+                }
+            } finally {
+                segment.writers.decrementAndGet();
+            }
+            roll(segment);
+        }
+    }
+
+    private synchronized void roll(Segment full) {
+        if (current != full)
+            return;
+
+        try {
+            current = Segment.create(path(full.seq + 1), full.seq + 1, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        closed.addLast(full);
+
+        if (closed.size() > maxClosedSegments && compacting.compareAndSet(false, true))
+            compactor.execute(this::compactClosed);
+    }
+
+    /**
+     * 닫힌 Segment들을 재생해서 남아있는 항목만 가장 최근의 닫힌 Segment 자리에 기록
+     */
+    private void compactClosed() {
+        try {
+            List<Segment> targets;
+            synchronized (this) {
+                targets = new ArrayList<>(closed);
+            }
+
+            JournalState state = new JournalState();
+            for (Segment segment : targets) {
+                segment.awaitWriters();
+                replay(segment.buffer.duplicate(), state, segment.path);
+            }
+
+            Segment last = targets.get(targets.size() - 1);
+            writeSnapshot(last.path, state);
+            for (Segment segment : targets.subList(0, targets.size() - 1))
+                Files.deleteIfExists(segment.path);
+
+            Segment compacted = Segment.open(last.path, last.seq);
+            synchronized (this) {
+                targets.forEach(closed::remove);
+                closed.addFirst(compacted);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Journal compaction failed: {}", name, e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private static void replay(ByteBuffer buffer, JournalState state, Path source) throws JournalCorruptedException {
+        int limit = buffer.limit() - buffer.limit() % RECORD_SIZE;
+
+        for (int position = 0; position < limit; position += RECORD_SIZE) {
+            int checksum = buffer.getInt(position);
+            byte type = buffer.get(position + 4);
+            int channel = buffer.get(position + 5);
+            long a = buffer.getLong(position + 8);
+            long b = buffer.getLong(position + 16);
+
+            // 선점만 하고 기록되지 않은 위치
+            if (type == 0 && checksum == 0)
+                continue;
+
+            if (checksum != checksum(type, channel, a, b))
+                throw new JournalCorruptedException(source + " at " + position);
+
+            switch (type) {
+                case ADD:
+                    state.add(channel, a, b);
+                    break;
+                case REMOVE:
+                    state.remove(channel, a, b);
+                    break;
+                case SEAL:
+                    state.seal();
+                    break;
+                default:
+                    throw new JournalCorruptedException(source + " unknown type " + type + " at " + position);
+            }
+        }
+    }
+
+    private static void writeSnapshot(Path target, JournalState state) throws IOException {
+        int count = state.channels().values().stream().mapToInt(entries -> entries.size()).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(count * RECORD_SIZE);
+
+        state.channels().forEach((channel, entries) -> entries.forEach(entry -> {
+            int position = buffer.position();
+            encode(buffer, position, ADD, channel, entry.getA(), entry.getB());
+            buffer.position(position + RECORD_SIZE);
+        }));
+        buffer.flip();
+
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void encode(ByteBuffer buffer, int position, byte type, int channel, long a, long b) {
+        buffer.put(position + 5, (byte) channel);
+        buffer.putLong(position + 8, a);
+        buffer.putLong(position + 16, b);
+        buffer.put(position + 4, type);
+        buffer.putInt(position, checksum(type, channel, a, b));
+    }
+
+    /**
+     * 기록이 중간에 끊긴 레코드를 찾기 위한 값. 항상 0이 아니다
+     */
+    private static int checksum(byte type, int channel, long a, long b) {
+        long h = 0x9E3779B97F4A7C15L * (31L * type + channel);
+        h = (h ^ a) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ b) * 0x94D049BB133111EBL;
+        h ^= h >>> 31;
+        int result = (int) (h ^ (h >>> 32));
+        return result == 0 ? 1 : result;
+    }
+
+    private static List<Path> segments(Path dir, String name) throws IOException {
+        if (!Files.isDirectory(dir))
+            return List.of();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(path -> isSegmentOf(path, name))
+                    .sorted((left, right) -> Long.compare(seqOf(left), seqOf(right)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isSegmentOf(Path path, String name) {
+        String fileName = path.getFileName().toString();
+        if (!fileName.startsWith(name + "-") || !fileName.endsWith(SUFFIX))
+            return false;
+
+        String seq = fileName.substring(name.length() + 1, fileName.length() - SUFFIX.length());
+        return !seq.isEmpty() && seq.chars().allMatch(Character::isDigit);
+    }
+
+    private static long seqOf(Path path) {
+        String fileName = path.getFileName().toString();
+        return Long.parseLong(fileName.substring(fileName.lastIndexOf('-') + 1, fileName.length() - SUFFIX.length()));
+    }
+
+    private Path path(long seq) {
+        return dir.resolve(String.format("%s-%012d%s", name, seq, SUFFIX));
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long seq;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private final AtomicInteger position;
+        private final AtomicInteger writers = new AtomicInteger();
+
+        private Segment(Path path, long seq, MappedByteBuffer buffer, int position) {
+            this.path = path;
+            this.seq = seq;
+            this.buffer = buffer;
+            this.capacity = buffer.capacity();
+            this.position = new AtomicInteger(position);
+        }
+
+        private static Segment create(Path path, long seq, int capacity) throws IOException {
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+                file.setLength(capacity);
+                return new Segment(path, seq, file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity), 0);
+            }
+        }
+
+        /**
+         * 압축된 snapshot Segment. 더이상 기록하지 않는다
+         */
+        private static Segment open(Path path, long seq) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return new Segment(path, seq, buffer, buffer.capacity());
+            }
+        }
+
+        /**
+         * 한번 실패한 이후의 선점은 모두 실패하므로, 실패를 확인한 뒤에는 이 Segment에 새로 기록되는 레코드가 없다
+         *
+         * @return 기록할 위치, 공간이 부족하면 -1
+         */
+        private int reserve() {
+            int reserved = position.getAndAdd(RECORD_SIZE);
+            return reserved >= 0 && reserved <= capacity - RECORD_SIZE ? reserved : -1;
+        }
+
+        private void write(int position, byte type, int channel, long a, long b) {
+            encode(buffer, position, type, channel, a, b);
+        }
+
+        private void awaitWriters() {
+            while (writers.get() != 0)
+                Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.foryou.matchingservice.global.journal;
+
+/**
+ * Queue의 offer/poll 기록
+ * <p>
+ * channel은 하나의 Queue 안에서 저장소를 구분하는 값(ex. member, owner)이며,
+ * 한 항목은 long 두개(a, b)로 표현한다.
+ */
+public interface QueueJournal {
+
+    QueueJournal NONE = new QueueJournal() {
+        @Override
+        public void add(int channel, long a, long b) {
+        }
+
+        @Override
+        public void remove(int channel, long a, long b) {
+        }
+    };
+
+    void add(int channel, long a, long b);
+
+    void remove(int channel, long a, long b);
+}
@@ -0,0 +1,49 @@
+package com.foryou.matchingservice.global.kafka.consumer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Partition 하나의 consume lag을 broker offset으로 추정
+ * <p>
+ * 발행 주기마다 관측한 끝 offset과 관측 시각을 남겨두고, commit된 offset이 넘어선 관측 중 가장 최근 것을 기준으로 삼는다.
+ * 그 관측 이후에 들어온 record가 아직 처리하지 않은 가장 오래된 record이므로, 기준 관측 이후 지난 시간이 lag이다 (오차는 발행 주기 이내).
+ * consumer가 멈춰서 commit이 늘지 않으면 lag은 계속 커진다.
+ */
+class ConsumeLagTracker {
+    private static final int MAX_SAMPLES = 1024;
+
+    /**
+     * {끝 offset, 관측 시각}. 끝 offset 오름차순
+     */
+    private final Deque<long[]> samples = new ArrayDeque<>();
+
+    /**
+     * @return 가장 오래된 미처리 record가 기다린 시간 (ms). 모두 처리했으면 0
+     */
+    long update(long committed, long endOffset, long now) {
+        if (committed >= endOffset) {
+            samples.clear();
+            samples.add(new long[]{endOffset, now});
+            return 0L;
+        }
+
+        // 이미 처리한 관측 중 가장 최근 것만 기준으로 남긴다
+        while (samples.size() > 1) {
+            long[] oldest = samples.pollFirst();
+            if (samples.peekFirst()[0] > committed) {
+                samples.addFirst(oldest);
+                break;
+            }
+        }
+
+        if (samples.isEmpty() || samples.peekLast()[0] < endOffset) {
+            // 오래 멈춰 있으면 마지막 관측만 갱신한다 (기준 관측은 유지)
+            if (samples.size() >= MAX_SAMPLES)
+                samples.pollLast();
+            samples.addLast(new long[]{endOffset, now});
+        }
+
+        return now - samples.peekFirst()[1];
+    }
+}
@@ -1,8 +1,11 @@
 package com.foryou.matchingservice.global.kafka.consumer;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.foryou.matchingservice.global.constants.Constants;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,16 +15,27 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
 
+import javax.validation.ConstraintViolationException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 @EnableKafka
 @Configuration
 @RequiredArgsConstructor
 public class KafkaConsumerConfig {
 
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MatchingProperties properties;
+    private final OttPartitionRebalanceListener rebalanceListener;
+
     @Value("${spring.kafka.producer.bootstrap-servers}")
     private String bootstrapServers;
 
@@ -43,8 +57,61 @@ public class KafkaConsumerConfig {
 
         factory.setConsumerFactory(consumerFactory());
         factory.setConcurrency(2);
+        factory.setAutoStartup(false); // QueueRecoveryGate가 복구 후 시작
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+
+        return factory;
+    }
+
+    /**
+     * 처리할 수 없는 메시지를 {topic}.DLT 로 보낸다 (원본 topic/partition/offset, 예외 정보는 header에 포함)
+     */
+    @Bean
+    public DeadLetterPublishingRecoverer deadLetterRecoverer() {
+        return new DeadLetterPublishingRecoverer(kafkaTemplate);
+    }
+
+    /**
+     * poll 한번에 받은 record 목록을 listener에 넘기고 offset은 batch 단위로 commit
+     * listener가 BatchListenerFailedException을 던지면 그 앞 offset은 commit하고 실패한 record부터 다시 받는다
+     * Partition 소유권 모드에서는 이동한 Partition만 넘겨받도록 CooperativeStickyAssignor 사용
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+
+        Properties consumerProps = new Properties();
+        consumerProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, properties.getKafkaMaxPollRecords());
+        if (properties.isPartitionOwnership())
+            consumerProps.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
+
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(2);
+        factory.setBatchListener(true);
+        factory.setAutoStartup(false); // QueueRecoveryGate가 복구 후 시작
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerProps);
+        if (properties.isPartitionOwnership())
+            factory.getContainerProperties().setConsumerRebalanceListener(rebalanceListener);
+        factory.setCommonErrorHandler(batchErrorHandler(deadLetterRecoverer()));
 
         return factory;
     }
-}
+
+    /**
+     * 읽을 수 없거나 필수값이 없는 메시지는 재시도해도 같으므로 바로 DLT로 보낸다
+     * 그 외 (DB 연결 끊김, lock timeout 등)는 DLT로 보내지 않고 간격을 늘려가며 성공할때까지 재시도한다
+     */
+    DefaultErrorHandler batchErrorHandler(ConsumerRecordRecoverer recoverer) {
+        ExponentialBackOff backOff = new ExponentialBackOff(properties.getKafkaRetryIntervalMs(), 2.0);
+        backOff.setMaxInterval(properties.getKafkaRetryMaxIntervalMs());
+
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, backOff);
+        errorHandler.addNotRetryableExceptions(
+                JsonProcessingException.class
+                , IllegalArgumentException.class
+                , ConstraintViolationException.class
+        );
+        return errorHandler;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.foryou.matchingservice.global.kafka.consumer;
+
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.service.QueueOwnershipService;
+import com.foryou.matchingservice.global.constants.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * party topic Partition 할당이 바뀌면 해당 Partition으로 들어오는 OTT의 Queue 소유권을 넘긴다
+ * CooperativeStickyAssignor를 사용하므로 실제로 이동한 Partition에 대해서만 호출된다
+ * 새로 할당된 Partition은 복구가 끝날때까지 멈춰두고, 복구는 poll 쓰레드 밖에서 해서 max.poll.interval을 넘기지 않는다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OttPartitionRebalanceListener implements ConsumerAwareRebalanceListener {
+
+    private final QueueOwnershipService ownership;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+
+    /**
+     * key가 있는 메시지의 기본 Partitioner와 같은 계산 (murmur2(key) % partition 수)
+     */
+    public static int partitionOf(OttType ott, int numPartitions) {
+        return Utils.toPositive(Utils.murmur2(ott.name().getBytes(StandardCharsets.UTF_8))) % numPartitions;
+    }
+
+    /**
+     * poll 쓰레드에서 호출되므로 consumer를 바로 멈추고, Container에도 멈춤을 요청해서 다음 poll에서 풀리지 않게 한다
+     * 복구가 끝나면 Container에 재개를 요청한다 (consumer는 thread-safe하지 않아서 Container가 poll 쓰레드에서 재개)
+     */
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Set<OttType> otts = otts(consumer, partitions);
+        if (otts.isEmpty())
+            return;
+
+        List<TopicPartition> paused = partyPartitions(partitions);
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(Constants.KAFKA_LISTENER_ID_PARTY);
+
+        consumer.pause(paused);
+        if (container != null)
+            paused.forEach(container::pausePartition);
+
+        ownership.assign(otts).whenComplete((ignored, e) -> {
+            if (e != null)
+                log.error("Resume {} without recovered queue", paused, e);
+
+            if (container != null)
+                paused.forEach(container::resumePartition);
+        });
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Set<OttType> otts = otts(consumer, partitions);
+        if (!otts.isEmpty())
+            ownership.revoke(otts);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        onPartitionsRevokedAfterCommit(consumer, partitions);
+    }
+
+    private static List<TopicPartition> partyPartitions(Collection<TopicPartition> partitions) {
+        return partitions.stream()
+                .filter(partition -> Constants.KAFKA_TOPIC_PARTY.equals(partition.topic()))
+                .collect(Collectors.toList());
+    }
+
+    private Set<OttType> otts(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Set<Integer> owned = partyPartitions(partitions).stream()
+                .map(TopicPartition::partition)
+                .collect(Collectors.toSet());
+
+        if (owned.isEmpty())
+            return EnumSet.noneOf(OttType.class);
+
+        int numPartitions = consumer.partitionsFor(Constants.KAFKA_TOPIC_PARTY).size();
+
+        return Arrays.stream(OttType.values())
+                .filter(ott -> owned.contains(partitionOf(ott, numPartitions)))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(OttType.class)));
+    }
+}
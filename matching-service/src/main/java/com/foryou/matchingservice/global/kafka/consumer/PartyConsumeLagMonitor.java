@@ -0,0 +1,100 @@
+package com.foryou.matchingservice.global.kafka.consumer;
+
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.global.constants.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * party topic의 OTT별 consume lag을 broker 상태로 계산 (끝 offset과 party_group이 commit한 offset 비교)
+ * <p>
+ * 처리한 record의 시각으로 계산하면 consumer가 멈추거나 밀려서 처리한 record가 없을때 lag이 0으로 보이므로,
+ * 아직 처리하지 않은 record가 있는 동안은 처리가 없어도 lag이 커지도록 한다 (ConsumeLagTracker).
+ * broker 조회에 실패하면 직전 값을 유지한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "config.matching.load.enabled", havingValue = "true", matchIfMissing = true)
+public class PartyConsumeLagMonitor {
+
+    private final Admin admin;
+    private final long timeoutMs;
+    private final Map<Integer, ConsumeLagTracker> trackers = new HashMap<>();
+    private Map<OttType, Long> lastLags = new EnumMap<>(OttType.class);
+
+    @Autowired
+    public PartyConsumeLagMonitor(
+            @Value("${spring.kafka.producer.bootstrap-servers}") String bootstrapServers
+            , @Value("${config.matching.load.publish-interval-ms:1000}") long timeoutMs) {
+        this(Admin.create(Map.<String, Object>of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers)), timeoutMs);
+    }
+
+    PartyConsumeLagMonitor(Admin admin, long timeoutMs) {
+        this.admin = admin;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * @return OTT별로 아직 처리하지 않은 가장 오래된 party 요청이 기다린 시간 (ms)
+     */
+    public synchronized Map<OttType, Long> consumeLagMs(long now) {
+        try {
+            int numPartitions = admin.describeTopics(List.of(Constants.KAFKA_TOPIC_PARTY))
+                    .allTopicNames().get(timeoutMs, TimeUnit.MILLISECONDS)
+                    .get(Constants.KAFKA_TOPIC_PARTY).partitions().size();
+
+            Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(Constants.KAFKA_GROPU_ID_PARTY)
+                    .partitionsToOffsetAndMetadata().get(timeoutMs, TimeUnit.MILLISECONDS);
+
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> ends = admin.listOffsets(IntStream.range(0, numPartitions)
+                            .mapToObj(partition -> new TopicPartition(Constants.KAFKA_TOPIC_PARTY, partition))
+                            .collect(Collectors.toMap(Function.identity(), partition -> OffsetSpec.latest())))
+                    .all().get(timeoutMs, TimeUnit.MILLISECONDS);
+
+            Map<Integer, Long> partitionLags = new HashMap<>();
+            ends.forEach((partition, end) -> {
+                OffsetAndMetadata offset = committed.get(partition);
+                long lag = trackers.computeIfAbsent(partition.partition(), p -> new ConsumeLagTracker())
+                        .update(offset != null ? offset.offset() : 0L, end.offset(), now);
+                partitionLags.put(partition.partition(), lag);
+            });
+
+            Map<OttType, Long> lags = new EnumMap<>(OttType.class);
+            for (OttType ott : OttType.values())
+                lags.put(ott, partitionLags.getOrDefault(OttPartitionRebalanceListener.partitionOf(ott, numPartitions), 0L));
+
+            lastLags = lags;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Failed to read party topic offsets, keep last consume lag", e);
+        }
+        return lastLags;
+    }
+
+    @PreDestroy
+    public void close() {
+        admin.close();
+    }
+}
@@ -0,0 +1,167 @@
+package com.foryou.matchingservice.global.properties;
+
+import com.foryou.matchingservice.global.queue.MatchingPolicyType;
+import com.foryou.matchingservice.global.queue.OverflowPolicy;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Configuration
+public class MatchingProperties {
+
+    /**
+     * FirstQueue에서 member를 배정할 owner 순서 (FIFO, FULLEST_FIRST)
+     */
+    @Value("${config.matching.policy:FIFO}")
+    private MatchingPolicyType matchingPolicy;
+
+    /**
+     * 스케줄러 1회 실행 시 단계별로 처리할 최대 건수
+     */
+    @Value("${config.matching.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * scheduled: 고정 주기 스케줄러, event: Queue signal 기반 Worker
+     */
+    @Value("${config.matching.mode:scheduled}")
+    private String mode;
+
+    /**
+     * event 모드에서 signal이 없을때 Worker가 Queue를 다시 확인하기까지 최대 대기 시간
+     */
+    @Value("${config.matching.idle-timeout-ms:1000}")
+    private long idleTimeoutMs;
+
+    /**
+     * Queue Journal 사용 여부. 사용하지 않으면 재기동 시 항상 DB에서 미처리건을 조회한다
+     */
+    @Value("${config.matching.journal.enabled:false}")
+    private boolean journalEnabled;
+
+    @Value("${config.matching.journal.dir:./journal}")
+    private String journalDir;
+
+    @Value("${config.matching.journal.segment-size:4194304}")
+    private int journalSegmentSize;
+
+    /**
+     * 닫힌 Segment가 이 개수를 넘으면 하나로 압축
+     */
+    @Value("${config.matching.journal.max-closed-segments:4}")
+    private int journalMaxClosedSegments;
+
+    /**
+     * 종료 시 처리중인 매칭이 끝나기를 기다리는 최대 시간. 넘기면 Journal을 정상 종료 처리하지 않는다
+     */
+    @Value("${config.matching.journal.shutdown-timeout-ms:10000}")
+    private long journalShutdownTimeoutMs;
+
+    /**
+     * DB 복구 시 한번에 조회해서 Queue에 올리는 최대 건수
+     */
+    @Value("${config.matching.recovery.chunk-size:1000}")
+    private int recoveryChunkSize;
+
+    /**
+     * DB 복구를 동시에 진행할 Thread 수
+     */
+    @Value("${config.matching.recovery.parallelism:4}")
+    private int recoveryParallelism;
+
+    /**
+     * DB 복구 실패 시 처음부터 다시 시도하는 최대 횟수와 간격. 기동 시 복구가 모두 실패하면 기동을 중단한다
+     * Partition 소유권 모드에서 할당받은 OTT 복구에도 같은 값을 쓴다
+     */
+    @Value("${config.matching.recovery.max-attempts:3}")
+    private int recoveryMaxAttempts;
+
+    @Value("${config.matching.recovery.retry-backoff-ms:5000}")
+    private long recoveryRetryBackoffMs;
+
+    /**
+     * party topic batch listener가 poll 한번에 받는 최대 record 수
+     */
+    @Value("${config.matching.kafka.max-poll-records:500}")
+    private int kafkaMaxPollRecords;
+
+    /**
+     * batch 처리 실패 시 재시도 간격. 처음 간격에서 2배씩 늘려 최대 간격까지 기다리며 성공할때까지 재시도한다
+     * (DB 장애 중에도 정상 요청을 DLT로 보내지 않음. DLT는 읽을 수 없거나 필수값이 없는 메시지만)
+     */
+    @Value("${config.matching.kafka.retry-interval-ms:1000}")
+    private long kafkaRetryIntervalMs;
+
+    @Value("${config.matching.kafka.retry-max-interval-ms:60000}")
+    private long kafkaRetryMaxIntervalMs;
+
+    /**
+     * party topic을 OTT key로 받아서, 할당받은 Partition의 OTT Queue만 이 인스턴스가 관리 (다중 인스턴스)
+     */
+    @Value("${config.matching.partition-ownership.enabled:false}")
+    private boolean partitionOwnership;
+
+    /**
+     * START/COMPLETE 상태로 멈춘 쌍을 다시 처리하는 Timing Wheel 설정
+     * tick 간격 x wheel 크기가 한바퀴 시간이며, 더 긴 기한은 바퀴 수로 센다
+     */
+    @Value("${config.matching.deadline.tick-ms:1000}")
+    private long deadlineTickMs;
+
+    @Value("${config.matching.deadline.wheel-size:512}")
+    private int deadlineWheelSize;
+
+    /**
+     * 결제 결과를 기다리는 최대 시간. 넘으면 결제 요청을 다시 보낸다
+     */
+    @Value("${config.matching.deadline.start-timeout-ms:300000}")
+    private long deadlineStartTimeoutMs;
+
+    /**
+     * 매칭 결과 전송을 기다리는 최대 시간. 넘으면 결과 메시지를 다시 보낸다
+     */
+    @Value("${config.matching.deadline.complete-timeout-ms:60000}")
+    private long deadlineCompleteTimeoutMs;
+
+    @Value("${config.matching.deadline.max-retries:3}")
+    private int deadlineMaxRetries;
+
+    /**
+     * 같은 쌍의 결제 요청을 다시 보낼 수 있는 최소 간격. 이보다 먼저 Second Queue에 다시 들어온 쌍은 보내지 않는다
+     * Second Queue 대기 시간만큼 기한 재처리가 늦게 보내질 수 있으므로 start-timeout-ms보다 충분히 짧게 둔다
+     */
+    @Value("${config.matching.deadline.payment-resend-after-ms:150000}")
+    private long paymentResendAfterMs;
+
+    /**
+     * Second/Third 단계 Queue 용량과 가득 찼을때 처리 방식 (BLOCK, SHED, SPILL)
+     * Second Queue가 가득 차면 First 단계는 남은 자리만큼만 매칭하므로 결제 단계가 느려지면 매칭도 같이 느려진다
+     */
+    @Value("${config.matching.stage.second.capacity:10000}")
+    private int secondCapacity;
+
+    @Value("${config.matching.stage.second.policy:BLOCK}")
+    private OverflowPolicy secondPolicy;
+
+    @Value("${config.matching.stage.third.capacity:10000}")
+    private int thirdCapacity;
+
+    @Value("${config.matching.stage.third.policy:BLOCK}")
+    private OverflowPolicy thirdPolicy;
+
+    /**
+     * BLOCK 정책에서 자리가 나기를 기다리는 최대 시간. 넘으면 SPILL 처리
+     */
+    @Value("${config.matching.stage.offer-timeout-ms:1000}")
+    private long stageOfferTimeoutMs;
+
+    /**
+     * event 모드에서 단계별 Worker 쓰레드 수
+     */
+    @Value("${config.matching.stage.second.workers:1}")
+    private int secondWorkers;
+
+    @Value("${config.matching.stage.third.workers:1}")
+    private int thirdWorkers;
+}
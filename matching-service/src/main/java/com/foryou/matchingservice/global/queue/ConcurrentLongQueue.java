@@ -0,0 +1,144 @@
+package com.foryou.matchingservice.global.queue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * primitive long 전용 Lock-Free MPMC Queue
+ * <p>
+ * 고정 크기 long 배열(Segment)을 링크드 리스트로 이어붙여 무한히 늘어나는 링 버퍼처럼 사용한다.
+ * 각 Segment는 enq/deq 인덱스를 getAndIncrement(FAA)로 선점하여 CAS 경합을 최소화하고,
+ * 값은 박싱 없이 AtomicLongArray 슬롯에 그대로 저장한다.
+ */
+public class ConcurrentLongQueue {
+
+    /**
+     * 비어있는 슬롯 / 꺼내간 슬롯 표시용 값. 두 값은 Queue에 넣을 수 없다
+     */
+    public static final long EMPTY = Long.MIN_VALUE;
+    private static final long TAKEN = Long.MIN_VALUE + 1;
+
+    private static final int DEFAULT_SEGMENT_SIZE = 1024;
+
+    private final int segmentSize;
+    private final AtomicReference<Segment> head;
+    private final AtomicReference<Segment> tail;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public ConcurrentLongQueue() {
+        this(DEFAULT_SEGMENT_SIZE);
+    }
+
+    public ConcurrentLongQueue(int segmentSize) {
+        if (segmentSize < 1)
+            throw new IllegalArgumentException("segmentSize must be positive");
+
+        this.segmentSize = segmentSize;
+        Segment first = new Segment(segmentSize);
+        this.head = new AtomicReference<>(first);
+        this.tail = new AtomicReference<>(first);
+    }
+
+    public void offer(long value) {
+        if (value == EMPTY || value == TAKEN)
+            throw new IllegalArgumentException("reserved value: " + value);
+
+        while (true) {
+            Segment last = tail.get();
+            int idx = last.enqIdx.getAndIncrement();
+
+            if (idx >= segmentSize) {
+                if (last != tail.get())
+                    continue;
+
+                Segment next = last.next.get();
+                if (next == null) {
+                    Segment created = new Segment(segmentSize, value);
+                    if (last.next.compareAndSet(null, created)) {
+                        tail.compareAndSet(last, created);
+                        size.incrementAndGet();
+                        return;
+                    }
+                } else {
+                    tail.compareAndSet(last, next);
+                }
+                continue;
+            }
+
+            // Consumer가 먼저 TAKEN 처리한 슬롯이면 다음 인덱스로 재시도
+            if (last.items.compareAndSet(idx, EMPTY, value)) {
+                size.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return 꺼낸 값, 비어있으면 {@link #EMPTY}
+     */
+    public long poll() {
+        while (true) {
+            Segment first = head.get();
+
+            if (first.deqIdx.get() >= first.enqIdx.get() && first.next.get() == null)
+                return EMPTY;
+
+            int idx = first.deqIdx.getAndIncrement();
+
+            if (idx >= segmentSize) {
+                Segment next = first.next.get();
+                if (next == null)
+                    return EMPTY;
+
+                head.compareAndSet(first, next);
+                continue;
+            }
+
+            long value = first.items.getAndSet(idx, TAKEN);
+            if (value != EMPTY) {
+                size.decrementAndGet();
+                return value;
+            }
+        }
+    }
+
+    /**
+     * 다른 쓰레드가 offer를 완료한 값이 존재함을 호출자가 보장하는 경우에 사용한다
+     * offer 도중인 슬롯 때문에 poll이 잠깐 EMPTY를 반환할 수 있어 값이 나올때까지 재시도한다
+     */
+    public long pollReserved() {
+        long value;
+        while ((value = poll()) == EMPTY)
+            Thread.onSpinWait();
+        return value;
+    }
+
+    public int size() {
+        return Math.max(0, size.get());
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private static final class Segment {
+        private final AtomicInteger enqIdx;
+        private final AtomicInteger deqIdx = new AtomicInteger();
+        private final AtomicLongArray items;
+        private final AtomicReference<Segment> next = new AtomicReference<>();
+
+        private Segment(int segmentSize) {
+            this.items = new AtomicLongArray(segmentSize);
+            this.enqIdx = new AtomicInteger();
+            for (int i = 0; i < segmentSize; i++)
+                items.lazySet(i, EMPTY);
+        }
+
+        private Segment(int segmentSize, long first) {
+            this(segmentSize);
+            items.lazySet(0, first);
+            enqIdx.set(1);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.foryou.matchingservice.global.queue;
+
+/**
+ * FirstQueue에서 member를 배정할 owner를 고르는 방식
+ */
+public enum MatchingPolicyType {
+
+    /**
+     * 먼저 들어온 owner의 자리부터 채운다
+     */
+    FIFO,
+
+    /**
+     * 남은 자리가 가장 적은 owner부터 채워서 파티가 빨리 다 차게 한다. 남은 자리가 같으면 먼저 들어온 owner부터
+     */
+    FULLEST_FIRST
+}
@@ -0,0 +1,23 @@
+package com.foryou.matchingservice.global.queue;
+
+/**
+ * 용량이 정해진 단계 Queue가 가득 찼을때 offer 처리 방식
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 자리가 날때까지 offer 하는 쪽이 대기 (앞 단계 Worker, Kafka consumer가 느려진다)
+     * 대기 시간을 넘기면 SPILL 처리
+     */
+    BLOCK,
+
+    /**
+     * 버린다. DB 상태는 그대로이므로 기한(MatchDeadlineService)이 지나면 다시 처리된다
+     */
+    SHED,
+
+    /**
+     * snapshot을 버리고 번호만 overflow 영역에 넣는다. 꺼낼때 DB에서 다시 조회한다
+     */
+    SPILL
+}
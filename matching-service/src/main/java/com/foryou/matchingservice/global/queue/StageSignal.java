@@ -0,0 +1,66 @@
+package com.foryou.matchingservice.global.queue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Queue에 처리할 데이터가 생겼음을 대기중인 Worker 쓰레드에 알리는 신호
+ * <p>
+ * Worker 쓰레드 하나가 await로 park 하고, offer 하는 쪽에서 signal로 깨운다.
+ * await 호출 전에 들어온 signal은 유지되므로 깨우는 신호를 놓치지 않는다.
+ */
+public class StageSignal {
+
+    public static final StageSignal NONE = new StageSignal() {
+        @Override
+        public void signal() {
+        }
+    };
+
+    /**
+     * 같은 Queue를 여러 Worker가 처리하는 경우 Worker마다 signal을 두고 모두 깨운다
+     */
+    public static StageSignal broadcast(List<StageSignal> signals) {
+        return new StageSignal() {
+            @Override
+            public void signal() {
+                signals.forEach(StageSignal::signal);
+            }
+        };
+    }
+
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private volatile Thread waiter;
+
+    public void signal() {
+        if (pending.compareAndSet(false, true)) {
+            Thread current = waiter;
+            if (current != null)
+                LockSupport.unpark(current);
+        }
+    }
+
+    /**
+     * signal이 오거나 timeout이 지날때까지 대기
+     */
+    public void await(long timeout, TimeUnit unit) {
+        if (pending.getAndSet(false))
+            return;
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        waiter = Thread.currentThread();
+        try {
+            while (!pending.getAndSet(false)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || Thread.currentThread().isInterrupted())
+                    return;
+
+                LockSupport.parkNanos(this, remaining);
+            }
+        } finally {
+            waiter = null;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.foryou.matchingservice.global.timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * tick 간격으로 한칸씩 도는 슬롯 배열에 만료 시각을 등록하는 Timer (Hashed Timing Wheel)
+ * <p>
+ * 등록/취소는 O(1)이고, tick마다 현재 슬롯만 확인하므로 등록된 건수와 상관없이 비용이 일정하다.
+ * 등록은 여러 쓰레드에서 가능하며 대기열에 넣어두면 Timer 쓰레드가 다음 tick에 슬롯으로 옮긴다.
+ * 취소는 표시만 하고 슬롯을 지날때 버린다. 만료 정밀도는 tick 단위.
+ * 만료 처리는 Timer 쓰레드에서 하므로 오래 걸리는 작업은 다른 Queue로 넘겨야 한다.
+ */
+@Slf4j
+public class HashedTimingWheel<T> {
+
+    private final String name;
+    private final long tickNanos;
+    private final int mask;
+    private final Queue<Timeout<T>>[] wheel;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final Consumer<T> onExpire;
+
+    private volatile Thread worker;
+    private volatile long startTime;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, long tickDuration, TimeUnit unit, int ticksPerWheel, Consumer<T> onExpire) {
+        if (tickDuration <= 0)
+            throw new IllegalArgumentException("tickDuration must be positive");
+        if (ticksPerWheel <= 0 || Integer.bitCount(ticksPerWheel) != 1)
+            throw new IllegalArgumentException("ticksPerWheel must be a power of two: " + ticksPerWheel);
+
+        this.name = name;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.mask = ticksPerWheel - 1;
+        this.wheel = new Queue[ticksPerWheel];
+        this.onExpire = onExpire;
+
+        for (int i = 0; i < ticksPerWheel; i++)
+            wheel[i] = new ArrayDeque<>();
+    }
+
+    public synchronized void start() {
+        if (worker != null)
+            return;
+
+        startTime = System.nanoTime();
+        worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public synchronized void stop() {
+        Thread current = worker;
+        worker = null;
+
+        if (current != null)
+            current.interrupt();
+    }
+
+    public Timeout<T> schedule(T task, long delay, TimeUnit unit) {
+        Timeout<T> timeout = new Timeout<>(task, System.nanoTime() + unit.toNanos(delay));
+        pending.offer(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        while (worker == Thread.currentThread()) {
+            long deadline = startTime + (tick + 1) * tickNanos;
+            long wait;
+
+            while ((wait = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, wait);
+                if (worker != Thread.currentThread())
+                    return;
+            }
+
+            transferPending();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    /**
+     * 이미 지난 만료 시각이면 현재 슬롯에 넣어서 이번 tick에 바로 만료시킨다
+     */
+    private void transferPending() {
+        Timeout<T> timeout;
+
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.isCancelled())
+                continue;
+
+            long expireTick = Math.max((timeout.deadline - startTime) / tickNanos, tick);
+            timeout.remainingRounds = (expireTick - tick) / wheel.length;
+            wheel[(int) (expireTick & mask)].offer(timeout);
+        }
+    }
+
+    private void expire(Queue<Timeout<T>> bucket) {
+        for (int i = bucket.size(); i > 0; i--) {
+            Timeout<T> timeout = bucket.poll();
+
+            if (timeout.isCancelled())
+                continue;
+
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                bucket.offer(timeout);
+                continue;
+            }
+
+            if (!timeout.expire())
+                continue;
+
+            try {
+                onExpire.accept(timeout.task);
+            } catch (RuntimeException e) {
+                log.error("{} expire failed: {}", name, timeout.task, e);
+            }
+        }
+    }
+
+    public static final class Timeout<T> {
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final T task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+        private long remainingRounds;
+
+        private Timeout(T task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public T task() {
+            return task;
+        }
+
+        /**
+         * @return 만료되기 전에 취소했으면 true
+         */
+        public boolean cancel() {
+            return state.compareAndSet(INIT, CANCELLED);
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private boolean expire() {
+            return state.compareAndSet(INIT, EXPIRED);
+        }
+    }
+}
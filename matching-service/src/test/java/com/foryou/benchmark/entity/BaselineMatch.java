@@ -0,0 +1,78 @@
+package com.foryou.benchmark.entity;
+
+import com.foryou.matchingservice.api.dto.request.MatchingRequestMessage;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.enums.PartyRole;
+import com.foryou.matchingservice.api.enums.StatusType;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * MatchInsertDbCallBenchmark 의 before 측정용. Match 와 같은 PARTY_MATCH, SEQ_MATCH 를 쓰고 채번만 기존처럼 allocationSize = 1
+ * 같은 sequence 에 다른 allocationSize 를 쓰므로 다른 테스트의 entity scan 에 잡히지 않도록 애플리케이션 package 밖에 둔다
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@SequenceGenerator(
+        name = "SEQ_MATCH_BASELINE_GENERATOR"
+        , sequenceName = "SEQ_MATCH"
+        , initialValue = 1
+        , allocationSize = 1
+)
+@Table(name = "PARTY_MATCH")
+public class BaselineMatch {
+
+    @Id
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE
+            , generator = "SEQ_MATCH_BASELINE_GENERATOR"
+    )
+    @Column(name = "MATCH_NO")
+    private Long no;
+
+    @Column(name = "MEMBER_ID", nullable = false, updatable = false)
+    private String memberId;
+
+    @Column(name = "PAYMENT_NO", nullable = false, updatable = false)
+    private Long paymentNo;
+
+    @Column(name = "PARTY_NO", nullable = false, updatable = false)
+    private Long partyNo;
+
+    @Column(name = "OTT", nullable = false, updatable = false)
+    @Enumerated(value = EnumType.STRING)
+    private OttType ott;
+
+    @Column(name = "ROLE", nullable = false, updatable = false)
+    @Enumerated(value = EnumType.STRING)
+    private PartyRole role;
+
+    @Column(name = "STATUS", nullable = false)
+    @Enumerated(value = EnumType.STRING)
+    private StatusType status;
+
+    @Column(name = "LINKED_NO")
+    private Long linkedNo;
+
+    @Column(name = "SEATS", nullable = false)
+    private Integer seats;
+
+    @Column(name = "REQUESTED_AT", nullable = false, updatable = false)
+    private Long requestedAt;
+
+    public BaselineMatch(MatchingRequestMessage request) {
+        this.memberId = request.getMemberId();
+        this.paymentNo = request.getPaymentNo();
+        this.partyNo = request.getPartyNo();
+        this.ott = request.getOtt();
+        this.role = request.getRole();
+        this.status = StatusType.WAIT;
+        this.linkedNo = 0L;
+        this.seats = PartyRole.OWNER == request.getRole() ? request.getInwon() : 1;
+        this.requestedAt = System.currentTimeMillis();
+    }
+}
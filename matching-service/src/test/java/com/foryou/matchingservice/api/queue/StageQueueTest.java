@@ -0,0 +1,149 @@
+package com.foryou.matchingservice.api.queue;
+
+import com.foryou.matchingservice.api.dto.response.MatchSnapshot;
+import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.entity.Match;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.enums.PartyRole;
+import com.foryou.matchingservice.api.queue.second.MatchQueue;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
+import com.foryou.matchingservice.global.queue.OverflowPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StageQueueTest {
+
+    private MatchQueue queue(int capacity, OverflowPolicy policy, long offerTimeoutMs) {
+        MatchingProperties properties = new MatchingProperties();
+        ReflectionTestUtils.setField(properties, "secondCapacity", capacity);
+        ReflectionTestUtils.setField(properties, "secondPolicy", policy);
+        ReflectionTestUtils.setField(properties, "stageOfferTimeoutMs", offerTimeoutMs);
+        return new MatchQueue(properties);
+    }
+
+    private Response matched(long ownerPk, long memberPk) {
+        Match member = Match.builder()
+                .memberId("member")
+                .partyNo(memberPk)
+                .paymentNo(1L)
+                .ott(OttType.NETFLIX)
+                .role(PartyRole.MEMBER)
+                .build();
+
+        return Response.builder()
+                .ownerPk(ownerPk)
+                .memberPk(memberPk)
+                .ott(OttType.NETFLIX)
+                .member(MatchSnapshot.from(member))
+                .build();
+    }
+
+    @Test
+    @DisplayName("SHED 정책은 가득 차면 버리고 건수를 센다")
+    public void shedWhenFull() throws Exception {
+        // given
+        MatchQueue queue = queue(1, OverflowPolicy.SHED, 0L);
+        queue.offerMatched(matched(1L, 2L));
+
+        // when
+        queue.offerMatched(matched(1L, 3L));
+
+        // then
+        assertEquals(1, queue.size());
+        assertEquals(1L, queue.shedCount());
+        assertEquals(0, queue.remainingCapacity());
+    }
+
+    @Test
+    @DisplayName("SPILL 정책은 가득 차면 snapshot 없이 번호만 남기고 drain할때 같이 꺼낸다")
+    public void spillWhenFull() throws Exception {
+        // given
+        MatchQueue queue = queue(1, OverflowPolicy.SPILL, 0L);
+        queue.offerMatched(matched(1L, 2L));
+
+        // when
+        queue.offerMatched(matched(1L, 3L));
+        List<Response> drained = queue.drain(10);
+
+        // then
+        assertEquals(2, drained.size());
+        assertEquals(1L, queue.spilledCount());
+        Response spilled = drained.stream().filter(response -> response.getMemberPk() == 3L).findFirst().get();
+        assertNull(spilled.getMember());
+        assertEquals(OttType.NETFLIX, spilled.getOtt());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    @DisplayName("BLOCK 정책은 자리가 날때까지 대기하고, 대기 시간을 넘기면 번호만 남긴다")
+    public void blockUntilSpace() throws Exception {
+        // given
+        MatchQueue queue = queue(1, OverflowPolicy.BLOCK, 5000L);
+        queue.offerMatched(matched(1L, 2L));
+        CountDownLatch offered = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            queue.offerMatched(matched(1L, 3L));
+            offered.countDown();
+        });
+
+        // when
+        producer.start();
+        assertFalse(offered.await(200, TimeUnit.MILLISECONDS));
+        queue.pollQueue();
+
+        // then
+        assertTrue(offered.await(5, TimeUnit.SECONDS));
+        assertNotNull(queue.pollQueue().get().getMember());
+        assertEquals(0L, queue.spilledCount());
+
+        MatchQueue timeout = queue(1, OverflowPolicy.BLOCK, 50L);
+        timeout.offerMatched(matched(1L, 2L));
+        timeout.offerMatched(matched(1L, 3L));
+        assertEquals(1L, timeout.spilledCount());
+        assertEquals(2, timeout.size());
+    }
+
+    @Test
+    @DisplayName("재기동 복구, 기한 재처리 항목은 가득 차도 대기하지 않는다")
+    public void spillWithoutWait() throws Exception {
+        // given
+        MatchQueue queue = queue(1, OverflowPolicy.BLOCK, 60000L);
+        queue.offerMatched(matched(1L, 2L));
+
+        // when
+        long start = System.nanoTime();
+        queue.spill(new Response(1L, 3L, OttType.NETFLIX));
+
+        // then
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, queue.size());
+        assertEquals(2, queue.removeIf(response -> response.getOtt() == OttType.NETFLIX));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    @DisplayName("번호가 없는 항목은 자리를 잡지 않고 IllegalArgumentException을 던진다")
+    public void rejectNullNumbers() throws Exception {
+        // given
+        MatchQueue queue = queue(1, OverflowPolicy.SHED, 0L);
+
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> queue.offerMatched(null));
+        assertThrows(IllegalArgumentException.class, () -> queue.offerMatched(new Response(null, 2L, OttType.NETFLIX)));
+        assertThrows(IllegalArgumentException.class, () -> queue.spill(new Response(1L, null, OttType.NETFLIX)));
+        assertEquals(0, queue.size());
+        assertEquals(1, queue.remainingCapacity());
+    }
+}
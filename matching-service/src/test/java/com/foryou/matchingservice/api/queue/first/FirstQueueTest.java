@@ -1,17 +1,30 @@
 package com.foryou.matchingservice.api.queue.first;
 
+import com.foryou.matchingservice.api.dto.response.Response;
 import com.foryou.matchingservice.api.queue.FirstQueue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FirstQueueTest {
 
@@ -95,4 +108,215 @@ class FirstQueueTest {
             assertEquals(Optional.empty(), queue.pollQueues());
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("drain은 최대 개수와 매칭 가능한 쌍의 개수 중 작은 값 만큼만 꺼낸다")
+    public void drainUpToMaxPairs() throws Exception {
+        firstQueues.forEach(queue -> {
+            // given
+            for (long no = 1L; no <= 5L; no++)
+                queue.offerMember(no);
+            for (long no = 1L; no <= 3L; no++)
+                queue.offerOwner(no);
+
+            // when
+            List<Response> first = queue.drain(2);
+            List<Response> second = queue.drain(10);
+
+            // then
+            assertEquals(2, first.size());
+            assertEquals(1L, first.get(0).getOwnerPk());
+            assertEquals(1L, first.get(0).getMemberPk());
+            assertEquals(1, second.size());
+            assertEquals(3L, second.get(0).getOwnerPk());
+            assertEquals(2, queue.memberQueueSize());
+            assertEquals(0, queue.ownerQueueSize());
+        });
+    }
+
+    @Test
+    @DisplayName("owner는 한 건만 저장되고 맨 앞 owner의 남은 자리부터 순서대로 매칭된다")
+    public void fillOwnerSeatsInOrder() throws Exception {
+        firstQueues.forEach(queue -> {
+            // given
+            queue.offerOwner(1L, 2);
+            queue.offerOwner(2L, 1);
+            for (long no = 1L; no <= 3L; no++)
+                queue.offerMember(no);
+
+            // when
+            List<Response> pairs = queue.drain(10);
+
+            // then
+            assertEquals(3, pairs.size());
+            assertEquals(1L, pairs.get(0).getOwnerPk().longValue());
+            assertEquals(1L, pairs.get(1).getOwnerPk().longValue());
+            assertEquals(2L, pairs.get(2).getOwnerPk().longValue());
+            assertEquals(0, queue.ownerQueueSize());
+        });
+    }
+
+    @Test
+    @DisplayName("같은 번호를 여러번 offer해도 한번만 저장된다")
+    public void ignoreDuplicateOffer() throws Exception {
+        firstQueues.forEach(queue -> {
+            // when
+            queue.offerMember(1L);
+            queue.offerMember(1L);
+            queue.offerOwner(2L, 2);
+            queue.offerOwner(2L, 2);
+
+            // then
+            assertEquals(1, queue.memberQueueSize());
+            assertEquals(2, queue.ownerQueueSize());
+        });
+    }
+
+    @Test
+    @DisplayName("remove는 대기중인 번호를 바로 제거하고 남은 번호만 순서대로 매칭된다")
+    public void removeWaitingEntries() throws Exception {
+        firstQueues.forEach(queue -> {
+            // given
+            for (long no = 1L; no <= 3L; no++)
+                queue.offerMember(no);
+            queue.offerOwner(10L, 1);
+            queue.offerOwner(20L, 2);
+
+            // when
+            boolean removedMember = queue.remove(2L);
+            boolean removedOwner = queue.remove(10L);
+            List<Response> pairs = queue.drain(10);
+
+            // then
+            assertTrue(removedMember);
+            assertTrue(removedOwner);
+            assertFalse(queue.contains(2L));
+            assertFalse(queue.remove(2L));
+            assertEquals(2, pairs.size());
+            assertEquals(1L, pairs.get(0).getMemberPk().longValue());
+            assertEquals(3L, pairs.get(1).getMemberPk().longValue());
+            assertEquals(20L, pairs.get(1).getOwnerPk().longValue());
+        });
+    }
+
+    @Test
+    @DisplayName("이미 선점된 자리가 남은 owner를 remove하면 선점된 자리는 매칭하지 않고 member는 대기열에 남는다")
+    public void removeOwnerWithReservedSeat() throws Exception {
+        firstQueues.forEach(queue -> {
+            // given
+            queue.offerMember(1L);
+            queue.offerOwner(10L, 1);
+            ReflectionTestUtils.invokeMethod(queue, "reservePairs", 1);
+
+            // when
+            boolean removed = queue.remove(10L);
+            Response pair = ReflectionTestUtils.invokeMethod(queue, "pollReservedPair");
+
+            // then
+            assertTrue(removed);
+            assertFalse(queue.contains(10L));
+            assertNull(pair);
+            assertEquals(1, queue.memberQueueSize());
+
+            queue.offerOwner(20L, 1);
+            Response next = queue.pollQueues().get();
+            assertEquals(20L, next.getOwnerPk());
+            assertEquals(1L, next.getMemberPk());
+        });
+    }
+
+    @Test
+    @DisplayName("clear는 남아있는 member, owner를 모두 버리고 이후 offer는 정상 매칭된다")
+    public void clearDropsAllEntries() throws Exception {
+        firstQueues.forEach(queue -> {
+            // given
+            for (long no = 1L; no <= 3L; no++)
+                queue.offerMember(no);
+            queue.offerOwner(1L);
+
+            // when
+            int cleared = queue.clear();
+            queue.offerMember(10L);
+            queue.offerOwner(20L);
+
+            // then
+            assertEquals(4, cleared);
+            Response pair = queue.pollQueues().get();
+            assertEquals(20L, pair.getOwnerPk());
+            assertEquals(10L, pair.getMemberPk());
+            assertEquals(queue.ott(), pair.getOtt());
+        });
+    }
+
+    @Test
+    @DisplayName("여러 쓰레드가 동시에 offer, poll 해도 모든 번호는 정확히 한번씩만 매칭된다")
+    public void stressOfferAndPollAsTheSameTime() throws Exception {
+        final int producerCount = 4;
+        final int consumerCount = 4;
+        final int perProducer = 20_000;
+        final int totalPairs = producerCount * perProducer;
+
+        for (FirstQueue queue : firstQueues) {
+            // given
+            ExecutorService executor = Executors.newFixedThreadPool(producerCount + consumerCount);
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger matched = new AtomicInteger();
+            Set<Long> owners = ConcurrentHashMap.newKeySet();
+            Set<Long> members = ConcurrentHashMap.newKeySet();
+
+            for (int p = 0; p < producerCount; p++) {
+                final long base = (long) p * perProducer + 1;
+                executor.submit(() -> {
+                    start.await();
+                    for (long no = base; no < base + perProducer; no++) {
+                        queue.offerOwner(no);
+                        queue.offerMember(no);
+                    }
+                    return null;
+                });
+            }
+
+            for (int c = 0; c < consumerCount; c++) {
+                executor.submit(() -> {
+                    start.await();
+                    while (matched.get() < totalPairs) {
+                        queue.pollQueues().ifPresent(pair -> {
+                            assertTrue(owners.add(pair.getOwnerPk()));
+                            assertTrue(members.add(pair.getMemberPk()));
+                            matched.incrementAndGet();
+                        });
+                    }
+                    return null;
+                });
+            }
+
+            // when
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+            // then
+            assertEquals(totalPairs, matched.get());
+            assertEquals(totalPairs, owners.size());
+            assertEquals(totalPairs, members.size());
+            assertEquals(0, queue.memberQueueSize());
+            assertEquals(0, queue.ownerQueueSize());
+            assertEquals(Optional.empty(), queue.pollQueues());
+        }
+    }
+
+    @Test
+    @DisplayName("null 번호는 Queue에 넣지 않고 IllegalArgumentException을 던진다")
+    public void rejectNullNo() throws Exception {
+        firstQueues.forEach(queue -> {
+            // when, then
+            assertThrows(IllegalArgumentException.class, () -> queue.offerMember(null));
+            assertThrows(IllegalArgumentException.class, () -> queue.offerOwner(null));
+            assertThrows(IllegalArgumentException.class, () -> queue.offerOwner(null, 2));
+            assertThrows(IllegalArgumentException.class, () -> queue.releaseOwnerSeat(null));
+            assertEquals(0, queue.memberQueueSize());
+            assertEquals(0, queue.ownerQueueSize());
+            assertEquals(Optional.empty(), queue.pollQueues());
+        });
+    }
+}
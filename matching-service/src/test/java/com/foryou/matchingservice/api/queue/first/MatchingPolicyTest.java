@@ -0,0 +1,146 @@
+package com.foryou.matchingservice.api.queue.first;
+
+import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.queue.FirstQueue;
+import com.foryou.matchingservice.global.queue.MatchingPolicyType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MatchingPolicyTest {
+
+    private FirstQueue fullestFirst() {
+        return new AbstractFirstQueue(OttType.NETFLIX, MatchingPolicyType.FULLEST_FIRST) {
+        };
+    }
+
+    private List<Long> ownersOf(List<Response> pairs) {
+        return pairs.stream().map(Response::getOwnerPk).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("FULLEST_FIRST는 남은 자리가 가장 적은 owner부터 채우고 같으면 먼저 들어온 owner부터 채운다")
+    public void fillFewestRemainingSeatsFirst() throws Exception {
+        // given
+        FirstQueue queue = fullestFirst();
+        queue.offerOwner(1L, 3);
+        queue.offerOwner(2L, 1);
+        queue.offerOwner(3L, 2);
+        queue.offerOwner(4L, 1);
+        for (long no = 1L; no <= 7L; no++)
+            queue.offerMember(no);
+
+        // when
+        List<Response> pairs = queue.drain(10);
+
+        // then
+        assertEquals(List.of(2L, 4L, 3L, 3L, 1L, 1L, 1L), ownersOf(pairs));
+        assertEquals(4L, queue.filledParties());
+    }
+
+    @Test
+    @DisplayName("FULLEST_FIRST는 채우기 시작한 파티를 다 찰때까지 먼저 채운다")
+    public void keepFillingStartedParty() throws Exception {
+        // given
+        FirstQueue queue = fullestFirst();
+        queue.offerOwner(1L, 3);
+        queue.offerOwner(2L, 3);
+        queue.offerMember(1L);
+        queue.drain(1);
+
+        // when
+        for (long no = 2L; no <= 3L; no++)
+            queue.offerMember(no);
+        List<Response> pairs = queue.drain(10);
+
+        // then
+        assertEquals(List.of(1L, 1L), ownersOf(pairs));
+        assertEquals(1L, queue.filledParties());
+        assertEquals(3, queue.ownerQueueSize());
+    }
+
+    @Test
+    @DisplayName("FULLEST_FIRST에서 자리를 돌려받은 owner는 남은 자리 수에 맞는 순서로 다시 정렬된다")
+    public void reorderOnReleasedSeat() throws Exception {
+        // given
+        FirstQueue queue = fullestFirst();
+        queue.offerOwner(1L, 1);
+        queue.offerOwner(2L, 2);
+        queue.releaseOwnerSeat(1L);
+        queue.releaseOwnerSeat(1L);
+
+        // when
+        for (long no = 1L; no <= 5L; no++)
+            queue.offerMember(no);
+        List<Response> pairs = queue.drain(10);
+
+        // then
+        assertEquals(List.of(2L, 2L, 1L, 1L, 1L), ownersOf(pairs));
+    }
+
+    @Test
+    @DisplayName("FULLEST_FIRST에서 remove, clear는 선점되지 않은 자리만 버린다")
+    public void removeAndClearWithFullestFirst() throws Exception {
+        // given
+        FirstQueue queue = fullestFirst();
+        queue.offerOwner(1L, 2);
+        queue.offerOwner(2L, 1);
+        queue.offerOwner(3L, 3);
+
+        // when
+        queue.remove(2L);
+        queue.offerMember(1L);
+        Response first = queue.pollQueues().get();
+        int dropped = queue.clear();
+
+        // then
+        assertEquals(1L, first.getOwnerPk().longValue());
+        assertEquals(4, dropped);
+        assertEquals(0, queue.ownerQueueSize());
+
+        queue.offerOwner(4L, 1);
+        queue.offerMember(2L);
+        assertEquals(4L, queue.pollQueues().get().getOwnerPk().longValue());
+    }
+
+    @Test
+    @DisplayName("indexed heap은 추가, 제거, 자리 수 변경이 섞여도 항상 (남은 자리, 들어온 순서)가 가장 작은 owner를 맨 앞에 둔다")
+    public void heapKeepsOrderUnderRandomUpdates() throws Exception {
+        // given
+        FullestFirstMatchingPolicy policy = new FullestFirstMatchingPolicy();
+        List<OwnerSeats> owners = new ArrayList<>();
+        Comparator<OwnerSeats> order = Comparator.<OwnerSeats>comparingInt(owner -> owner.seats).thenComparingLong(owner -> owner.sequence);
+        Random random = new Random(20);
+
+        // when & then
+        for (int i = 0; i < 10_000; i++) {
+            int op = random.nextInt(3);
+
+            if (op == 0 || owners.isEmpty()) {
+                OwnerSeats owner = new OwnerSeats(i, 1 + random.nextInt(4));
+                policy.add(owner);
+                owners.add(owner);
+            } else if (op == 1) {
+                policy.remove(owners.remove(random.nextInt(owners.size())));
+            } else {
+                OwnerSeats owner = owners.get(random.nextInt(owners.size()));
+                owner.seats = 1 + random.nextInt(4);
+                policy.changed(owner);
+            }
+
+            assertEquals(owners.stream().min(order).orElse(null), policy.head());
+        }
+
+        owners.forEach(policy::remove);
+        assertNull(policy.head());
+    }
+}
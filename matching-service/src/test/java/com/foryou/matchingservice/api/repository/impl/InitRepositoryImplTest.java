@@ -1,6 +1,7 @@
 package com.foryou.matchingservice.api.repository.impl;
 
 import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.dto.response.WaitingOwner;
 import com.foryou.matchingservice.api.entity.Match;
 import com.foryou.matchingservice.api.enums.OttType;
 import com.foryou.matchingservice.api.enums.PartyRole;
@@ -39,11 +40,11 @@ class InitRepositoryImplTest {
     @DisplayName("미처리된 Netflix, Member, Wait 만 검색한다")
     public void selectUnprocessedWaitMemberNetflix() throws Exception {
         // given
-        Match member = new Match("member", 1L, 0L, OttType.NETFLIX, PartyRole.MEMBER);
+        Match member = new Match("member", 1L, 0L, OttType.NETFLIX, PartyRole.MEMBER, 1, null);
         em.persist(member);
 
         // when
-        List<Long> matchNoList = initRepository.selectUnprocessedWait(OttType.NETFLIX, PartyRole.MEMBER);
+        List<Long> matchNoList = initRepository.selectUnprocessedWait(OttType.NETFLIX, PartyRole.MEMBER, 0L, Long.MAX_VALUE, 100);
 
         // then
         assertEquals(1, matchNoList.size());
@@ -53,38 +54,73 @@ class InitRepositoryImplTest {
     @DisplayName("Netflix, Member, Wait말고 다른 파라미터값으로 조회시 조회되는 데이터가 없다")
     public void justSearchMemberNetflixWait() throws Exception {
         // given
-        Match member = new Match("member", 1L, 0L, OttType.NETFLIX, PartyRole.MEMBER);
+        Match member = new Match("member", 1L, 0L, OttType.NETFLIX, PartyRole.MEMBER, 1, null);
         em.persist(member);
 
         // when
-        List<Long> matchNoList = initRepository.selectUnprocessedWait(OttType.NETFLIX, PartyRole.OWNER);
+        List<Long> matchNoList = initRepository.selectUnprocessedWait(OttType.NETFLIX, PartyRole.OWNER, 0L, Long.MAX_VALUE, 100);
 
         // then
         assertEquals(0, matchNoList.size());
     }
 
     @Test
-    @DisplayName("상태가 START이면서 OWNER인 데이터만 조회한다")
-    public void searchStartAndOwner() throws Exception {
+    @DisplayName("상태가 START이면서 MEMBER인 데이터만 조회하고 연결된 owner 번호를 함께 조회한다")
+    public void searchStartAndMember() throws Exception {
         // given
-        Match member1 = new Match("member", 1L, 1L, OttType.NETFLIX, PartyRole.OWNER);
-        Match member2 = new Match("member", 2L, 2L, OttType.NETFLIX, PartyRole.OWNER);
-        Match member3 = new Match("member", 3L, 3L, OttType.NETFLIX, PartyRole.MEMBER);
+        Match member1 = new Match("member", 1L, 1L, OttType.NETFLIX, PartyRole.MEMBER, 1, null);
+        Match member2 = new Match("member", 2L, 2L, OttType.NETFLIX, PartyRole.MEMBER, 1, null);
+        Match owner = new Match("owner", 3L, 3L, OttType.NETFLIX, PartyRole.OWNER, 2, null);
         member1.changeStatus(StatusType.START);
         member2.changeStatus(StatusType.START);
-        member3.changeStatus(StatusType.START);
-        member1.link(1L);
-        member2.link(2L);
+        owner.changeStatus(StatusType.START);
+        member1.link(10L);
+        member2.link(20L);
         em.persist(member1);
         em.persist(member2);
-        em.persist(member3);
+        em.persist(owner);
 
         // when
-        List<Response> responses = initRepository.selectUnprocessedAfterWait(StatusType.START);
+        List<Response> responses = initRepository.selectUnprocessedAfterWait(null, StatusType.START, 0L, Long.MAX_VALUE, 100);
 
         // then
         assertEquals(2, responses.size());
-        assertEquals(1L, responses.get(0).getMemberPk());
-        assertEquals(2L, responses.get(1).getMemberPk());
+        assertEquals(10L, responses.get(0).getOwnerPk().longValue());
+        assertEquals(20L, responses.get(1).getOwnerPk().longValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("자리가 남아있는 대기중 owner만 남은 자리 수와 함께 조회한다")
+    public void selectUnprocessedWaitOwnerWithSeats() throws Exception {
+        // given
+        em.persist(new Match("owner1", 1L, 1L, OttType.NETFLIX, PartyRole.OWNER, 3, null));
+        em.persist(new Match("owner2", 2L, 2L, OttType.NETFLIX, PartyRole.OWNER, 0, null));
+        em.persist(new Match("member", 3L, 3L, OttType.NETFLIX, PartyRole.MEMBER, 1, null));
+
+        // when
+        List<WaitingOwner> owners = initRepository.selectUnprocessedWaitOwner(OttType.NETFLIX, 0L, Long.MAX_VALUE, 100);
+
+        // then
+        assertEquals(1, owners.size());
+        assertEquals(3, owners.get(0).getSeats().intValue());
+    }
+
+    @Test
+    @DisplayName("마지막으로 조회한 번호 이후부터 limit 만큼만 조회하고 maxNo 이후 데이터는 제외한다")
+    public void selectUnprocessedWaitByKeyset() throws Exception {
+        // given
+        for (long i = 1; i <= 5; i++)
+            em.persist(new Match("member" + i, i, 0L, OttType.NETFLIX, PartyRole.MEMBER, 1, null));
+        long maxNo = initRepository.selectMaxNo();
+        em.persist(new Match("member6", 6L, 0L, OttType.NETFLIX, PartyRole.MEMBER, 1, null));
+
+        // when
+        List<Long> first = initRepository.selectUnprocessedWait(OttType.NETFLIX, PartyRole.MEMBER, 0L, maxNo, 3);
+        List<Long> second = initRepository.selectUnprocessedWait(OttType.NETFLIX, PartyRole.MEMBER, first.get(2), maxNo, 3);
+
+        // then
+        assertEquals(3, first.size());
+        assertEquals(2, second.size());
+        assertEquals(maxNo, second.get(1).longValue());
+    }
+}
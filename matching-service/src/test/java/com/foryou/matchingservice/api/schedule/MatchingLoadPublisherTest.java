@@ -0,0 +1,135 @@
+package com.foryou.matchingservice.api.schedule;
+
+import com.foryou.matchingservice.api.dto.response.MatchingLoadMessage;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.queue.FirstQueueRegistry;
+import com.foryou.matchingservice.api.queue.first.Netflix;
+import com.foryou.matchingservice.api.queue.first.Tving;
+import com.foryou.matchingservice.api.queue.second.MatchQueue;
+import com.foryou.matchingservice.api.queue.third.CompleteQueue;
+import com.foryou.matchingservice.api.service.QueueOwnershipService;
+import com.foryou.matchingservice.api.service.kafka.producer.KafkaProducer;
+import com.foryou.matchingservice.global.constants.Constants;
+import com.foryou.matchingservice.global.kafka.consumer.PartyConsumeLagMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MatchingLoadPublisherTest {
+
+    private MatchingLoadPublisher publisher;
+    private MatchingStats stats;
+    private Netflix netflix;
+    @Mock
+    private QueueOwnershipService ownership;
+    @Mock
+    private KafkaProducer producer;
+    @Mock
+    private PartyConsumeLagMonitor lagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        stats = new MatchingStats();
+        netflix = new Netflix();
+        publisher = new MatchingLoadPublisher(
+                new FirstQueueRegistry(List.of(netflix, new Tving()))
+                , new MatchQueue()
+                , new CompleteQueue()
+                , stats
+                , ownership
+                , producer
+                , lagMonitor
+        );
+    }
+
+    @Test
+    @DisplayName("OTT별 대기 건수와 consume lag을 OTT key로 발행한다")
+    public void publishWaitingCountsByOtt() throws Exception {
+        // given
+        netflix.offerMember(1L);
+        netflix.offerMember(2L);
+        doReturn(Map.of(OttType.NETFLIX, 1500L)).when(lagMonitor).consumeLagMs(anyLong());
+        doReturn(true).when(ownership).owns(any(OttType.class));
+
+        // when
+        publisher.publish();
+
+        // then
+        ArgumentCaptor<MatchingLoadMessage> captor = ArgumentCaptor.forClass(MatchingLoadMessage.class);
+        verify(producer).sendMessage(eq(Constants.KAFKA_TOPIC_MATCHING_LOAD), eq(OttType.NETFLIX.name()), captor.capture());
+
+        MatchingLoadMessage load = captor.getValue();
+        assertEquals(2, load.getWaitingMembers());
+        assertEquals(0, load.getWaitingOwnerSeats());
+        assertEquals(1500L, load.getConsumeLagMs());
+        assertEquals(0.0, load.getStageSaturation());
+    }
+
+    @Test
+    @DisplayName("broker에서 계산한 consume lag을 발행 주기마다 다시 읽는다")
+    public void publishConsumeLagFromMonitor() throws Exception {
+        // given
+        doReturn(true).when(ownership).owns(any(OttType.class));
+        doReturn(Map.of(OttType.NETFLIX, 1500L), Map.of(OttType.NETFLIX, 2500L)).when(lagMonitor).consumeLagMs(anyLong());
+        publisher.publish();
+
+        // when
+        publisher.publish();
+
+        // then
+        ArgumentCaptor<MatchingLoadMessage> captor = ArgumentCaptor.forClass(MatchingLoadMessage.class);
+        verify(producer, times(2)).sendMessage(eq(Constants.KAFKA_TOPIC_MATCHING_LOAD), eq(OttType.NETFLIX.name()), captor.capture());
+        assertEquals(1500L, captor.getAllValues().get(0).getConsumeLagMs());
+        assertEquals(2500L, captor.getAllValues().get(1).getConsumeLagMs());
+    }
+
+    @Test
+    @DisplayName("직전 발행 이후 매칭된 건수로 초당 매칭 건수를 계산한다")
+    public void publishMatchedPerSecond() throws Exception {
+        // given
+        doReturn(true).when(ownership).owns(any(OttType.class));
+        publisher.publish();
+        stats.first(OttType.NETFLIX).record(10, 0, 0L);
+
+        // when
+        publisher.publish();
+
+        // then
+        ArgumentCaptor<MatchingLoadMessage> captor = ArgumentCaptor.forClass(MatchingLoadMessage.class);
+        verify(producer, times(2)).sendMessage(eq(Constants.KAFKA_TOPIC_MATCHING_LOAD), eq(OttType.NETFLIX.name()), captor.capture());
+        assertTrue(captor.getValue().getMatchedPerSecond() > 0.0);
+    }
+
+    @Test
+    @DisplayName("소유하지 않은 OTT는 발행하지 않는다")
+    public void skipNotOwnedOtt() throws Exception {
+        // given
+        doReturn(true).when(ownership).owns(OttType.NETFLIX);
+        doReturn(false).when(ownership).owns(OttType.TVING);
+
+        // when
+        publisher.publish();
+
+        // then
+        verify(producer).sendMessage(eq(Constants.KAFKA_TOPIC_MATCHING_LOAD), eq(OttType.NETFLIX.name()), any(MatchingLoadMessage.class));
+        verify(producer, never()).sendMessage(eq(Constants.KAFKA_TOPIC_MATCHING_LOAD), eq(OttType.TVING.name()), any());
+    }
+}
@@ -0,0 +1,101 @@
+package com.foryou.matchingservice.api.schedule;
+
+import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.queue.FirstQueueRegistry;
+import com.foryou.matchingservice.api.queue.first.*;
+import com.foryou.matchingservice.api.queue.second.MatchQueue;
+import com.foryou.matchingservice.api.queue.third.CompleteQueue;
+import com.foryou.matchingservice.global.error.ErrorCode;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MatchingMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private MatchingMetrics metrics;
+    private MatchingStats stats;
+    private Netflix netflix;
+    private MatchQueue secondQueue;
+    private CompleteQueue thirdQueue;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MatchingMetrics(registry);
+        stats = new MatchingStats();
+        netflix = new Netflix();
+        secondQueue = new MatchQueue();
+        thirdQueue = new CompleteQueue();
+
+        new MatchingMetricsBinder(
+                new FirstQueueRegistry(List.of(netflix, new Tving(), new Disney(), new Watcha(), new Wavve()))
+                , secondQueue
+                , thirdQueue
+                , stats
+                , new MatchingProperties()
+        ).bindTo(registry);
+    }
+
+    @Test
+    @DisplayName("Queue 크기 Gauge는 scrape 시점의 크기를 읽는다")
+    public void gaugeReadsQueueSize() throws Exception {
+        // given
+        netflix.offerMember(1L);
+        netflix.offerMember(2L);
+        netflix.offerOwner(3L, 3);
+        secondQueue.offerMatched(new Response(3L, 1L, OttType.NETFLIX));
+        thirdQueue.offerCompleted(new Response(3L, 2L, OttType.NETFLIX));
+        thirdQueue.pollQueue();
+
+        // then
+        assertEquals(2.0, registry.get("matching.queue.size").tags("stage", "first-" + OttType.NETFLIX.getValue(), "role", "member").gauge().value());
+        assertEquals(3.0, registry.get("matching.queue.size").tags("stage", "first-" + OttType.NETFLIX.getValue(), "role", "owner").gauge().value());
+        assertEquals(1.0, registry.get("matching.queue.size").tags("stage", "second").gauge().value());
+        assertEquals(0.0, registry.get("matching.queue.size").tags("stage", "third").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Worker 처리 통계와 실패 원인별 건수를 내보낸다")
+    public void exportStageStatsAndFailures() throws Exception {
+        // given
+        stats.second().record(3, 1, TimeUnit.MILLISECONDS.toNanos(5));
+
+        // when
+        metrics.recordFailure("second", ErrorCode.NOT_EXIST_START_PEOPLE);
+        metrics.recordMatched(OttType.NETFLIX);
+        metrics.recordJob("second", TimeUnit.MILLISECONDS.toNanos(2));
+        metrics.recordEndToEnd(System.currentTimeMillis() - 1000);
+
+        // then
+        assertEquals(3.0, registry.get("matching.stage.processed").tag("stage", "second").functionCounter().count());
+        assertEquals(1.0, registry.get("matching.failures").tags("stage", "second", "error", "NOT_EXIST_START_PEOPLE").counter().count());
+        assertEquals(1.0, registry.get("matching.matches").tag("ott", OttType.NETFLIX.getValue()).counter().count());
+        assertEquals(1, registry.get("matching.job").tag("stage", "second").timer().count());
+        assertEquals(1, registry.get("matching.end-to-end").timer().count());
+    }
+
+    @Test
+    @DisplayName("처리 시간은 누적 카운터라 여러번 읽어도 값이 줄지 않는다")
+    public void busyTimeIsCumulative() throws Exception {
+        // given
+        stats.third().record(1, 0, TimeUnit.SECONDS.toNanos(2));
+
+        // when
+        double first = registry.get("matching.stage.busy").tag("stage", "third").functionCounter().count();
+        double second = registry.get("matching.stage.busy").tag("stage", "third").functionCounter().count();
+
+        // then
+        assertEquals(2.0, first);
+        assertEquals(first, second);
+        assertEquals(1.0, registry.get("matching.stage.workers").tag("stage", "third").gauge().value());
+    }
+}
@@ -1,14 +1,19 @@
 package com.foryou.matchingservice.api.service.impl;
 
 import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.dto.response.WaitingOwner;
 import com.foryou.matchingservice.api.enums.OttType;
 import com.foryou.matchingservice.api.enums.PartyRole;
 import com.foryou.matchingservice.api.enums.StatusType;
 import com.foryou.matchingservice.api.queue.FirstQueue;
+import com.foryou.matchingservice.api.queue.FirstQueueRegistry;
 import com.foryou.matchingservice.api.queue.first.*;
 import com.foryou.matchingservice.api.queue.second.MatchQueue;
 import com.foryou.matchingservice.api.queue.third.CompleteQueue;
 import com.foryou.matchingservice.api.repository.InitRepository;
+import com.foryou.matchingservice.api.service.MatchDeadlineService;
+import com.foryou.matchingservice.api.service.QueueJournalService;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,15 +21,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class InitServiceImplTest {
@@ -32,6 +50,10 @@ class InitServiceImplTest {
     private InitServiceImpl service;
     @Mock
     private InitRepository initRepository;
+    @Mock
+    private QueueJournalService queueJournalService;
+    @Mock
+    private MatchDeadlineService deadlines;
     @Spy
     private Netflix netflix;
     @Spy
@@ -47,10 +69,13 @@ class InitServiceImplTest {
     @Spy
     private CompleteQueue thirdQueue;
     private List<FirstQueue> firstQueues;
+    private MatchingProperties properties;
 
     @BeforeEach
     void setUp() {
-        service = new InitServiceImpl(initRepository, netflix, tving, disney, watcha, wavve, secondQueue, thirdQueue);
+        properties = new MatchingProperties();
+        ReflectionTestUtils.setField(properties, "recoveryChunkSize", 1000);
+        service = new InitServiceImpl(initRepository, new FirstQueueRegistry(List.of(netflix, tving, disney, watcha, wavve)), secondQueue, thirdQueue, queueJournalService, deadlines, properties);
 
         firstQueues = new ArrayList<>();
         firstQueues.add(netflix);
@@ -67,25 +92,25 @@ class InitServiceImplTest {
         // given
         List<Long> noList = List.of(1L, 2L, 3L);
 
-        doReturn(noList).when(initRepository).selectUnprocessedWait(any(OttType.class), any(PartyRole.class));
+        doReturn(noList).when(initRepository).selectUnprocessedWait(any(OttType.class), any(PartyRole.class), anyLong(), anyLong(), anyInt());
 
         // when
-        Arrays.stream(OttType.values()).forEach(ott -> service.uploadWaitUnprocessData(ott, PartyRole.MEMBER));
+        Arrays.stream(OttType.values()).forEach(ott -> service.uploadWaitUnprocessData(ott, PartyRole.MEMBER, Long.MAX_VALUE));
 
         // then
         firstQueues.forEach(queue -> assertEquals(3, queue.memberQueueSize()));
     }
 
     @Test
-    @DisplayName("미처리된 Owner 데이터가 있으면 재기동시 Queue에 저장한다")
+    @DisplayName("미처리된 Owner 데이터가 있으면 재기동시 남은 자리 수만큼 Queue에 저장한다")
     public void uploadUnprocessDataInOwnerQueue() throws Exception {
         // given
-        List<Long> noList = List.of(1L, 2L, 3L);
+        List<WaitingOwner> owners = List.of(new WaitingOwner(1L, 2), new WaitingOwner(2L, 1));
 
-        doReturn(noList).when(initRepository).selectUnprocessedWait(any(OttType.class), any(PartyRole.class));
+        doReturn(owners).when(initRepository).selectUnprocessedWaitOwner(any(OttType.class), anyLong(), anyLong(), anyInt());
 
         // when
-        Arrays.stream(OttType.values()).forEach(ott -> service.uploadWaitUnprocessData(ott, PartyRole.OWNER));
+        Arrays.stream(OttType.values()).forEach(ott -> service.uploadWaitUnprocessData(ott, PartyRole.OWNER, Long.MAX_VALUE));
 
         // then
         firstQueues.forEach(queue -> assertEquals(3, queue.ownerQueueSize()));
@@ -95,10 +120,10 @@ class InitServiceImplTest {
     @DisplayName("미처리된 데이터가 없으면 재기동시 Queue는 비어있다")
     public void emptyNoExistUnprocessData() throws Exception {
         // given
-        doReturn(new ArrayList<Response>()).when(initRepository).selectUnprocessedAfterWait(StatusType.START);
+        doReturn(new ArrayList<Response>()).when(initRepository).selectUnprocessedAfterWait(any(), eq(StatusType.START), anyLong(), anyLong(), anyInt());
 
         // when
-        service.uploadStartUnprocessData();
+        service.uploadStartUnprocessData(null, Long.MAX_VALUE);
 
         // then
         assertEquals(0, netflix.memberQueueSize());
@@ -114,13 +139,14 @@ class InitServiceImplTest {
                 .memberPk(2L)
                 .build();
 
-        doReturn(List.of(response)).when(initRepository).selectUnprocessedAfterWait(StatusType.START);
+        doReturn(List.of(response)).when(initRepository).selectUnprocessedAfterWait(any(), eq(StatusType.START), anyLong(), anyLong(), anyInt());
 
         // when
-        service.uploadStartUnprocessData();
+        service.uploadStartUnprocessData(null, Long.MAX_VALUE);
 
         // then
         assertSame(response, secondQueue.pollQueue().get());
+        verify(deadlines).watch(StatusType.START, response);
     }
 
     @Test
@@ -132,12 +158,96 @@ class InitServiceImplTest {
                 .memberPk(2L)
                 .build();
 
-        doReturn(List.of(response)).when(initRepository).selectUnprocessedAfterWait(StatusType.COMPLETE);
+        doReturn(List.of(response)).when(initRepository).selectUnprocessedAfterWait(any(), eq(StatusType.COMPLETE), anyLong(), anyLong(), anyInt());
 
         // when
-        service.uploadCompleteUnprocessData();
+        service.uploadCompleteUnprocessData(null, Long.MAX_VALUE);
 
         // then
         assertSame(response, thirdQueue.pollQueue().get());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("chunk 크기만큼 조회되면 마지막 번호 이후부터 다음 chunk를 조회한다")
+    public void uploadUnprocessDataByChunk() throws Exception {
+        // given
+        ReflectionTestUtils.setField(properties, "recoveryChunkSize", 3);
+        doReturn(List.of(1L, 2L, 3L)).when(initRepository).selectUnprocessedWait(OttType.NETFLIX, PartyRole.MEMBER, 0L, 10L, 3);
+        doReturn(List.of(4L, 5L)).when(initRepository).selectUnprocessedWait(OttType.NETFLIX, PartyRole.MEMBER, 3L, 10L, 3);
+
+        // when
+        int count = service.uploadWaitUnprocessData(OttType.NETFLIX, PartyRole.MEMBER, 10L);
+
+        // then
+        assertEquals(5, count);
+        assertEquals(5, netflix.memberQueueSize());
+        verify(initRepository, times(2)).selectUnprocessedWait(eq(OttType.NETFLIX), eq(PartyRole.MEMBER), anyLong(), eq(10L), eq(3));
+    }
+
+    @Test
+    @DisplayName("DB 복구가 실패하면 max-attempts까지 다시 시도하고 성공하면 복구 완료")
+    public void retryRecoveryUntilSuccess() throws Exception {
+        // given
+        ReflectionTestUtils.setField(properties, "recoveryParallelism", 2);
+        ReflectionTestUtils.setField(properties, "recoveryMaxAttempts", 2);
+        doReturn(false).when(queueJournalService).restore();
+        doThrow(new IllegalStateException("db down")).doReturn(0L).when(initRepository).selectMaxNo();
+
+        // when
+        ReflectionTestUtils.invokeMethod(service, "init");
+        service.whenRecovered().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        // then
+        assertTrue(service.isRecovered());
+        verify(initRepository, times(2)).selectMaxNo();
+    }
+
+    @Test
+    @DisplayName("재시도까지 모두 실패하면 복구 완료로 보지 않고 예외로 끝난다")
+    public void failRecoveryAfterMaxAttempts() throws Exception {
+        // given
+        ReflectionTestUtils.setField(properties, "recoveryParallelism", 2);
+        ReflectionTestUtils.setField(properties, "recoveryMaxAttempts", 1);
+        doReturn(false).when(queueJournalService).restore();
+        doThrow(new IllegalStateException("db down")).when(initRepository).selectMaxNo();
+
+        // when
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        // then
+        assertThrows(ExecutionException.class, () -> service.whenRecovered().toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertFalse(service.isRecovered());
+    }
+
+    @Test
+    @DisplayName("Journal로 복구해도 START, COMPLETE 건의 기한은 DB에서 다시 등록하고 Queue에는 넣지 않는다")
+    public void watchDeadlinesAfterJournalRestore() throws Exception {
+        // given
+        ReflectionTestUtils.setField(properties, "recoveryParallelism", 2);
+        Response start = Response.builder()
+                .ownerPk(1L)
+                .memberPk(2L)
+                .build();
+        Response complete = Response.builder()
+                .ownerPk(3L)
+                .memberPk(4L)
+                .build();
+
+        doReturn(true).when(queueJournalService).restore();
+        doReturn(10L).when(initRepository).selectMaxNo();
+        doReturn(List.of(start)).when(initRepository).selectUnprocessedAfterWait(null, StatusType.START, 0L, 10L, 1000);
+        doReturn(List.of(complete)).when(initRepository).selectUnprocessedAfterWait(null, StatusType.COMPLETE, 0L, 10L, 1000);
+
+        // when
+        ReflectionTestUtils.invokeMethod(service, "init");
+        service.whenRecovered().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        // then
+        assertTrue(service.isRecovered());
+        verify(deadlines).watch(StatusType.START, start);
+        verify(deadlines).watch(StatusType.COMPLETE, complete);
+        verify(secondQueue, never()).spill(any());
+        verify(thirdQueue, never()).spill(any());
+        verify(queueJournalService, never()).reset();
+    }
+}
@@ -0,0 +1,119 @@
+package com.foryou.matchingservice.api.service.impl;
+
+import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.enums.StatusType;
+import com.foryou.matchingservice.api.queue.second.MatchQueue;
+import com.foryou.matchingservice.api.queue.third.CompleteQueue;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchDeadlineServiceImplTest {
+
+    private MatchDeadlineServiceImpl service;
+    private MatchQueue secondQueue;
+    private CompleteQueue thirdQueue;
+
+    @BeforeEach
+    void setUp() {
+        MatchingProperties properties = new MatchingProperties();
+        ReflectionTestUtils.setField(properties, "deadlineTickMs", 10L);
+        ReflectionTestUtils.setField(properties, "deadlineWheelSize", 8);
+        ReflectionTestUtils.setField(properties, "deadlineStartTimeoutMs", 50L);
+        ReflectionTestUtils.setField(properties, "deadlineCompleteTimeoutMs", 50L);
+        ReflectionTestUtils.setField(properties, "deadlineMaxRetries", 1);
+
+        secondQueue = new MatchQueue();
+        thirdQueue = new CompleteQueue();
+        service = new MatchDeadlineServiceImpl(secondQueue, thirdQueue, properties);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    @DisplayName("기한이 지난 START 쌍은 snapshot 없이 SecondQueue에 다시 넣고, 최대 재시도 후 포기한다")
+    public void redriveStuckStart() throws Exception {
+        // given
+        service.watch(StatusType.START, new Response(1L, 2L, OttType.NETFLIX));
+
+        // when
+        Optional<Response> redriven = pollWithin(secondQueue::pollQueue, 5000);
+
+        // then
+        assertTrue(redriven.isPresent());
+        assertEquals(2L, redriven.get().getMemberPk().longValue());
+        assertEquals(OttType.NETFLIX, redriven.get().getOtt());
+        assertNull(redriven.get().getMember());
+        awaitEmpty(5000);
+        assertTrue(secondQueue.pollQueue().isEmpty());
+    }
+
+    @Test
+    @DisplayName("COMPLETE로 바뀌면 START 기한은 취소되고 COMPLETE 기한으로 바뀐다")
+    public void replaceStartWithComplete() throws Exception {
+        // given
+        Response pair = new Response(1L, 2L, OttType.NETFLIX);
+        service.watch(StatusType.START, pair);
+
+        // when
+        service.watch(StatusType.COMPLETE, pair);
+
+        // then
+        assertTrue(pollWithin(thirdQueue::pollQueue, 5000).isPresent());
+        assertTrue(secondQueue.pollQueue().isEmpty());
+    }
+
+    @Test
+    @DisplayName("다음 단계로 넘어가 취소한 기한은 다시 넣지 않는다")
+    public void skipCleared() throws Exception {
+        // given
+        service.watch(StatusType.START, new Response(1L, 2L, OttType.NETFLIX));
+        service.watch(StatusType.COMPLETE, new Response(3L, 4L, OttType.TVING));
+
+        // when
+        service.clear(2L);
+        int cleared = service.clearAll(OttType.TVING);
+        Thread.sleep(200);
+
+        // then
+        assertEquals(1, cleared);
+        assertEquals(0, service.size());
+        assertTrue(secondQueue.pollQueue().isEmpty());
+        assertTrue(thirdQueue.pollQueue().isEmpty());
+    }
+
+    private Optional<Response> pollWithin(Supplier<Optional<Response>> poll, long timeoutMs) throws InterruptedException {
+        long until = System.currentTimeMillis() + timeoutMs;
+
+        while (System.currentTimeMillis() < until) {
+            Optional<Response> polled = poll.get();
+            if (polled.isPresent())
+                return polled;
+
+            Thread.sleep(10);
+        }
+        return Optional.empty();
+    }
+
+    private void awaitEmpty(long timeoutMs) throws InterruptedException {
+        long until = System.currentTimeMillis() + timeoutMs;
+
+        while (service.size() > 0 && System.currentTimeMillis() < until)
+            Thread.sleep(10);
+    }
+}
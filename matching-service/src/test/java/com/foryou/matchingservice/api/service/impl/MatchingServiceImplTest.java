@@ -4,6 +4,9 @@ import com.foryou.matchingservice.api.dto.request.MatchingRequestMessage;
 import com.foryou.matchingservice.api.entity.Match;
 import com.foryou.matchingservice.api.enums.OttType;
 import com.foryou.matchingservice.api.enums.PartyRole;
+import com.foryou.matchingservice.api.enums.StatusType;
+import com.foryou.matchingservice.api.queue.FirstQueueRegistry;
+import com.foryou.matchingservice.api.queue.MatchSnapshotStore;
 import com.foryou.matchingservice.api.queue.first.*;
 import com.foryou.matchingservice.api.repository.MatchRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,8 +21,15 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class MatchingServiceImplTest {
@@ -40,7 +50,7 @@ class MatchingServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        this.matchingService = new MatchingServiceImpl(matchRepository, netflix, tving, disney, watcha, wavve);
+        this.matchingService = new MatchingServiceImpl(matchRepository, new FirstQueueRegistry(List.of(netflix, tving, disney, watcha, wavve)), new MatchSnapshotStore());
     }
 
     private MatchingRequestMessage createOwner(OttType type) {
@@ -61,14 +71,18 @@ class MatchingServiceImplTest {
                 .build();
     }
 
+    private Match withNo(Match match, Long no) {
+        ReflectionTestUtils.setField(match, "no", no);
+        return match;
+    }
+
     @Test
     @DisplayName("생성된 No 개수가 1개")
     public void successCreateNoOne() throws Exception {
         // given
         MatchingRequestMessage memberDto = createMember(OttType.NETFLIX);
-        Match match = memberDto.toEntity();
 
-        doReturn(match).when(matchRepository).save(any(Match.class));
+        doAnswer(invocation -> invocation.getArgument(0)).when(matchRepository).saveAll(anyList());
 
         // when
         List<Match> results = matchingService.createMatch(memberDto);
@@ -83,90 +97,176 @@ class MatchingServiceImplTest {
     public void successCreateNoThree() throws Exception {
         // given
         MatchingRequestMessage memberDto = createMember(OttType.NETFLIX);
-        Match match = memberDto.toEntity();
         ReflectionTestUtils.setField(memberDto, "inwon", 3);
 
-        doReturn(match).when(matchRepository).save(any(Match.class));
+        doAnswer(invocation -> invocation.getArgument(0)).when(matchRepository).saveAll(anyList());
 
         // when
         List<Match> results = matchingService.createMatch(memberDto);
 
         // then
         assertEquals(3, results.size());
+        verify(matchRepository, times(1)).saveAll(anyList());
+        verify(matchRepository, never()).save(any(Match.class));
+    }
+
+    @Test
+    @DisplayName("여러 요청을 한번에 저장하고 owner는 모집인원과 상관없이 한 건만 저장한다")
+    public void successCreateMatches() throws Exception {
+        // given
+        doAnswer(invocation -> invocation.getArgument(0)).when(matchRepository).saveAll(anyList());
+
+        // when
+        List<Match> results = matchingService.createMatches(List.of(createOwner(OttType.NETFLIX), createMember(OttType.TVING)));
+
+        // then
+        assertEquals(2, results.size());
+        assertEquals(3, results.get(0).getSeats().intValue());
+        verify(matchRepository, times(1)).saveAll(anyList());
     }
 
     @Test
     @DisplayName("Netflix는 Netflix Queue로 offer한다")
     public void offerWhenNetflix() throws Exception {
         // given
-        Match member = createMember(OttType.NETFLIX).toEntity();
-        Match owner = createOwner(OttType.NETFLIX).toEntity();
+        Match member = withNo(createMember(OttType.NETFLIX).toEntity(), 1L);
+        Match owner = withNo(createOwner(OttType.NETFLIX).toEntity(), 2L);
 
         // when
         matchingService.offerQueue(List.of(member, owner));
 
         // then
         assertEquals(1, netflix.memberQueueSize());
-        assertEquals(1, netflix.ownerQueueSize());
+        assertEquals(3, netflix.ownerQueueSize());
     }
 
     @Test
     @DisplayName("Tving은 Tving Queue로 offer한다")
     public void offerWhenTving() throws Exception {
         // given
-        Match member = createMember(OttType.TVING).toEntity();
-        Match owner = createOwner(OttType.TVING).toEntity();
+        Match member = withNo(createMember(OttType.TVING).toEntity(), 1L);
+        Match owner = withNo(createOwner(OttType.TVING).toEntity(), 2L);
 
         // when
         matchingService.offerQueue(List.of(member, owner));
 
         // then
         assertEquals(1, tving.memberQueueSize());
-        assertEquals(1, tving.ownerQueueSize());
+        assertEquals(3, tving.ownerQueueSize());
     }
 
     @Test
     @DisplayName("Disney는 Disney Queue로 offer한다")
     public void offerWhenDisney() throws Exception {
         // given
-        Match member = createMember(OttType.DISNEY_PLUS).toEntity();
-        Match owner = createOwner(OttType.DISNEY_PLUS).toEntity();
+        Match member = withNo(createMember(OttType.DISNEY_PLUS).toEntity(), 1L);
+        Match owner = withNo(createOwner(OttType.DISNEY_PLUS).toEntity(), 2L);
 
         // when
         matchingService.offerQueue(List.of(member, owner));
 
         // then
         assertEquals(1, disney.memberQueueSize());
-        assertEquals(1, disney.ownerQueueSize());
+        assertEquals(3, disney.ownerQueueSize());
     }
 
     @Test
     @DisplayName("Watcha는 Watcha Queue로 offer한다")
     public void offerWhenWatcha() throws Exception {
         // given
-        Match member = createMember(OttType.WATCHA).toEntity();
-        Match owner = createOwner(OttType.WATCHA).toEntity();
+        Match member = withNo(createMember(OttType.WATCHA).toEntity(), 1L);
+        Match owner = withNo(createOwner(OttType.WATCHA).toEntity(), 2L);
 
         // when
         matchingService.offerQueue(List.of(member, owner));
 
         // then
         assertEquals(1, watcha.memberQueueSize());
-        assertEquals(1, watcha.ownerQueueSize());
+        assertEquals(3, watcha.ownerQueueSize());
     }
 
     @Test
     @DisplayName("Wavve은 Wavve Queue로 offer한다")
     public void offerWhenWavve() throws Exception {
         // given
-        Match member = createMember(OttType.WAVVE).toEntity();
-        Match owner = createOwner(OttType.WAVVE).toEntity();
+        Match member = withNo(createMember(OttType.WAVVE).toEntity(), 1L);
+        Match owner = withNo(createOwner(OttType.WAVVE).toEntity(), 2L);
 
         // when
         matchingService.offerQueue(List.of(member, owner));
 
         // then
         assertEquals(1, wavve.memberQueueSize());
-        assertEquals(1, wavve.ownerQueueSize());
+        assertEquals(3, wavve.ownerQueueSize());
+    }
+
+    @Test
+    @DisplayName("결제 실패로 돌려받은 owner 자리는 Match 생성 없이 Queue에 한 자리만 다시 넣는다")
+    public void offerReleasedSeat() throws Exception {
+        // when
+        matchingService.offerReleasedSeat(OttType.NETFLIX, 1L);
+
+        // then
+        assertEquals(1, netflix.ownerQueueSize());
+        verify(matchRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("대기중인 요청을 취소하면 Queue에서 바로 제거한다")
+    public void cancelMatchRemovesFromQueue() throws Exception {
+        // given
+        MatchingRequestMessage request = createMember(OttType.NETFLIX);
+        Match member = withNo(request.toEntity(), 1L);
+        matchingService.offerQueue(List.of(member));
+
+        doReturn(List.of(member)).when(matchRepository).findAllByMemberIdAndPartyNoAndStatus(request.getMemberId(), request.getPartyNo(), StatusType.WAIT);
+        doReturn(1).when(matchRepository).cancelWaiting(1L);
+
+        // when
+        int cancelled = matchingService.cancelMatch(request);
+
+        // then
+        assertEquals(1, cancelled);
+        assertEquals(0, netflix.memberQueueSize());
+        assertFalse(netflix.contains(1L));
+    }
+
+    @Test
+    @DisplayName("이미 매칭이 시작된 요청은 취소하지 않고 Queue에서도 제거하지 않는다")
+    public void notCancelWhenAlreadyStarted() throws Exception {
+        // given
+        MatchingRequestMessage request = createMember(OttType.NETFLIX);
+        Match member = withNo(request.toEntity(), 1L);
+        matchingService.offerQueue(List.of(member));
+
+        doReturn(List.of(member)).when(matchRepository).findAllByMemberIdAndPartyNoAndStatus(request.getMemberId(), request.getPartyNo(), StatusType.WAIT);
+        doReturn(0).when(matchRepository).cancelWaiting(1L);
+
+        // when
+        int cancelled = matchingService.cancelMatch(request);
+
+        // then
+        assertEquals(0, cancelled);
+        assertTrue(netflix.contains(1L));
+    }
+
+    @Test
+    @DisplayName("연결된 member가 없는 owner를 취소하면 남은 자리를 Queue에서 모두 제거한다")
+    public void cancelOwnerRemovesAllSeats() throws Exception {
+        // given
+        MatchingRequestMessage request = createOwner(OttType.NETFLIX);
+        Match owner = withNo(request.toEntity(), 1L);
+        matchingService.offerQueue(List.of(owner));
+
+        doReturn(List.of(owner)).when(matchRepository).findAllByMemberIdAndPartyNoAndStatus(request.getMemberId(), request.getPartyNo(), StatusType.WAIT);
+        doReturn(1).when(matchRepository).cancelWaiting(1L);
+
+        // when
+        int cancelled = matchingService.cancelMatch(request);
+
+        // then
+        assertEquals(1, cancelled);
+        assertEquals(0, netflix.ownerQueueSize());
+        assertFalse(netflix.contains(1L));
     }
-}
\ No newline at end of file
+}
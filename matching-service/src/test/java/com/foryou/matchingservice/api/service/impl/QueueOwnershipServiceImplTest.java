@@ -0,0 +1,175 @@
+package com.foryou.matchingservice.api.service.impl;
+
+import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.queue.FirstQueueRegistry;
+import com.foryou.matchingservice.api.queue.MatchSnapshotStore;
+import com.foryou.matchingservice.api.queue.first.*;
+import com.foryou.matchingservice.api.queue.second.MatchQueue;
+import com.foryou.matchingservice.api.queue.third.CompleteQueue;
+import com.foryou.matchingservice.api.service.InitService;
+import com.foryou.matchingservice.api.service.MatchDeadlineService;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class QueueOwnershipServiceImplTest {
+
+    private QueueOwnershipServiceImpl service;
+    @Mock
+    private InitService initService;
+    @Mock
+    private MatchDeadlineService deadlines;
+    private MatchingProperties properties;
+    private Netflix netflix;
+    private MatchQueue secondQueue;
+    private CompleteQueue thirdQueue;
+
+    private final List<Runnable> recoveries = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new MatchingProperties();
+        ReflectionTestUtils.setField(properties, "partitionOwnership", true);
+        netflix = new Netflix();
+        secondQueue = new MatchQueue();
+        thirdQueue = new CompleteQueue();
+
+        service = service(Runnable::run);
+    }
+
+    private QueueOwnershipServiceImpl service(Executor recoveryExecutor) {
+        return new QueueOwnershipServiceImpl(
+                initService
+                , new FirstQueueRegistry(List.of(netflix, new Tving(), new Disney(), new Watcha(), new Wavve()))
+                , secondQueue
+                , thirdQueue
+                , new MatchSnapshotStore()
+                , deadlines
+                , properties
+                , recoveryExecutor
+        );
+    }
+
+    @Test
+    @DisplayName("Partition 소유권 모드가 아니면 모든 OTT를 소유한다")
+    public void ownsAllWhenDisabled() throws Exception {
+        // given
+        ReflectionTestUtils.setField(properties, "partitionOwnership", false);
+
+        // then
+        assertTrue(service.owns(OttType.NETFLIX));
+    }
+
+    @Test
+    @DisplayName("새로 할당된 OTT만 DB에서 복구한다")
+    public void recoverOnlyNewlyAssigned() throws Exception {
+        // when
+        service.assign(Set.of(OttType.NETFLIX));
+        service.assign(Set.of(OttType.NETFLIX, OttType.TVING));
+
+        // then
+        verify(initService, times(1)).recover(OttType.NETFLIX);
+        verify(initService, times(1)).recover(OttType.TVING);
+        assertTrue(service.owns(OttType.NETFLIX));
+        assertFalse(service.owns(OttType.WATCHA));
+    }
+
+    @Test
+    @DisplayName("소유권을 잃은 OTT의 Queue 항목은 버리고 다른 OTT 항목은 유지한다")
+    public void dropEntriesOnRevoke() throws Exception {
+        // given
+        service.assign(Set.of(OttType.NETFLIX));
+        netflix.offerMember(1L);
+        netflix.offerOwner(2L);
+        secondQueue.offerMatched(new Response(3L, 4L, OttType.NETFLIX));
+        secondQueue.offerMatched(new Response(5L, 6L, OttType.TVING));
+        thirdQueue.offerCompleted(new Response(7L, 8L, OttType.NETFLIX));
+
+        // when
+        service.revoke(Set.of(OttType.NETFLIX));
+
+        // then
+        assertFalse(service.owns(OttType.NETFLIX));
+        assertEquals(0, netflix.memberQueueSize());
+        assertEquals(0, netflix.ownerQueueSize());
+        assertEquals(OttType.TVING, secondQueue.pollQueue().get().getOtt());
+        assertTrue(secondQueue.pollQueue().isEmpty());
+        assertTrue(thirdQueue.pollQueue().isEmpty());
+        verify(deadlines, times(2)).clearAll(OttType.NETFLIX);
+    }
+
+    @Test
+    @DisplayName("복구는 별도 쓰레드에서 하고 끝나기 전까지는 소유하지 않는다")
+    public void ownAfterRecoveryCompletes() throws Exception {
+        // given
+        service = service(recoveries::add);
+
+        // when
+        CompletableFuture<Void> assigned = service.assign(Set.of(OttType.NETFLIX));
+
+        // then
+        assertFalse(assigned.isDone());
+        assertFalse(service.owns(OttType.NETFLIX));
+
+        recoveries.forEach(Runnable::run);
+        assertTrue(assigned.isDone());
+        assertTrue(service.owns(OttType.NETFLIX));
+    }
+
+    @Test
+    @DisplayName("복구 중에 소유권을 잃으면 복구한 항목을 버리고 소유하지 않는다")
+    public void dropRecoveredWhenRevokedWhileRecovering() throws Exception {
+        // given
+        service = service(recoveries::add);
+        doAnswer(invocation -> {
+            netflix.offerMember(1L);
+            return 1;
+        }).when(initService).recover(OttType.NETFLIX);
+        service.assign(Set.of(OttType.NETFLIX));
+
+        // when
+        service.revoke(Set.of(OttType.NETFLIX));
+        recoveries.forEach(Runnable::run);
+
+        // then
+        assertFalse(service.owns(OttType.NETFLIX));
+        assertEquals(0, netflix.memberQueueSize());
+    }
+
+    @Test
+    @DisplayName("복구에 실패하면 예외로 완료하고 다음 할당때 다시 복구한다")
+    public void retryRecoveryOnNextAssign() throws Exception {
+        // given
+        doThrow(new IllegalStateException("db down")).doReturn(0).when(initService).recover(OttType.NETFLIX);
+
+        // when
+        CompletableFuture<Void> failed = service.assign(Set.of(OttType.NETFLIX));
+        service.assign(Set.of(OttType.NETFLIX));
+
+        // then
+        assertTrue(failed.isCompletedExceptionally());
+        assertTrue(service.owns(OttType.NETFLIX));
+        verify(initService, times(2)).recover(OttType.NETFLIX);
+    }
+}
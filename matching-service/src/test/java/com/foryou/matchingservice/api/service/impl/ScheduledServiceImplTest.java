@@ -1,30 +1,43 @@
 package com.foryou.matchingservice.api.service.impl;
 
+import com.foryou.matchingservice.api.dto.response.MatchSnapshot;
 import com.foryou.matchingservice.api.dto.response.Response;
 import com.foryou.matchingservice.api.entity.Match;
 import com.foryou.matchingservice.api.enums.OttType;
 import com.foryou.matchingservice.api.enums.PartyRole;
 import com.foryou.matchingservice.api.enums.StatusType;
+import com.foryou.matchingservice.api.queue.MatchSnapshotStore;
+import com.foryou.matchingservice.api.queue.first.Netflix;
 import com.foryou.matchingservice.api.repository.MatchRepository;
+import com.foryou.matchingservice.api.schedule.MatchingMetrics;
+import com.foryou.matchingservice.api.service.MatchDeadlineService;
 import com.foryou.matchingservice.api.service.kafka.producer.KafkaProducer;
+import com.foryou.matchingservice.global.constants.Constants;
 import com.foryou.matchingservice.global.error.CustomException;
 import com.foryou.matchingservice.global.error.ErrorCode;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class ScheduledServiceImplTest {
@@ -35,6 +48,14 @@ class ScheduledServiceImplTest {
     private MatchRepository repository;
     @Mock
     private KafkaProducer producer;
+    @Spy
+    private MatchSnapshotStore snapshots;
+    @Mock
+    private MatchDeadlineService deadlines;
+    @Mock
+    private MatchingMetrics metrics;
+    @Spy
+    private MatchingProperties properties;
     private Match owner;
     private Match member;
 
@@ -60,30 +81,71 @@ class ScheduledServiceImplTest {
     @DisplayName("상태가 WAIT가 아닐 경우 오류 발생")
     public void ExceptionWhenNotWait() throws Exception {
         // given
-        doReturn(Optional.empty()).when(repository).findByNoAndStatus(anyLong(), any(StatusType.class));
+        snapshots.put(MatchSnapshot.from(owner));
+        snapshots.put(MatchSnapshot.from(member));
+        doReturn(1).when(repository).linkPair(anyLong(), anyLong(), any(StatusType.class), any(StatusType.class));
 
         // when
         CustomException customException = assertThrows(CustomException.class, () -> {
-            service.firstMatchJob(owner.getNo(), member.getNo());
+            service.firstMatchJob(new Response(owner.getNo(), member.getNo(), OttType.NETFLIX));
         });
 
         // then
         assertEquals(ErrorCode.NOT_EXIST_WAIT_PEOPLE, customException.getErrorCode());
         assertEquals(HttpStatus.BAD_REQUEST, customException.getErrorCode().getHttpStatus());
+        assertEquals(2, snapshots.size());
+    }
+
+    @Test
+    @DisplayName("연결에 실패한 쌍 중 아직 대기중인 member만 다시 대기열에 넣고 owner의 snapshot은 버린다")
+    public void releaseFailedPairOffersWaitingSide() throws Exception {
+        // given
+        Netflix queue = new Netflix();
+        snapshots.put(MatchSnapshot.from(owner));
+        snapshots.put(MatchSnapshot.from(member));
+        doReturn(Optional.empty()).when(repository).findByNoAndStatus(owner.getNo(), StatusType.WAIT);
+        doReturn(Optional.of(member)).when(repository).findByNoAndStatus(member.getNo(), StatusType.WAIT);
+
+        // when
+        service.releaseFailedPair(queue, new Response(owner.getNo(), member.getNo(), OttType.NETFLIX));
+
+        // then
+        assertTrue(queue.contains(member.getNo()));
+        assertFalse(queue.contains(owner.getNo()));
+        assertNull(snapshots.take(owner.getNo()));
+        assertEquals(MatchSnapshot.from(member), snapshots.take(member.getNo()));
+    }
+
+    @Test
+    @DisplayName("연결에 실패한 쌍의 owner가 아직 자리가 남아있으면 꺼낸 자리를 돌려준다")
+    public void releaseFailedPairReturnsOwnerSeat() throws Exception {
+        // given
+        Netflix queue = new Netflix();
+        doReturn(Optional.of(owner)).when(repository).findByNoAndStatus(owner.getNo(), StatusType.WAIT);
+        doReturn(Optional.empty()).when(repository).findByNoAndStatus(member.getNo(), StatusType.WAIT);
+
+        // when
+        service.releaseFailedPair(queue, new Response(owner.getNo(), member.getNo(), OttType.NETFLIX));
+
+        // then
+        assertEquals(1, queue.ownerQueueSize());
+        assertFalse(queue.contains(member.getNo()));
     }
 
     @Test
     @DisplayName("firstSmatchJob 정상동작_Owner")
     public void successFirstmatchJob() throws Exception {
         // given
-        doReturn(Optional.of(owner)).when(repository).findByNoAndStatus(anyLong(), any(StatusType.class));
+        doReturn(2).when(repository).linkPair(owner.getNo(), member.getNo(), StatusType.WAIT, StatusType.START);
 
         // when
-        Response result = service.firstMatchJob(owner.getNo(), member.getNo());
+        Response result = service.firstMatchJob(new Response(owner.getNo(), member.getNo(), OttType.NETFLIX));
 
         // then
         assertNotNull(result);
         assertEquals(owner.getNo(), result.getOwnerPk());
+        assertEquals(OttType.NETFLIX, result.getOtt());
+        verify(deadlines).watch(StatusType.START, result);
     }
 
 
@@ -91,11 +153,12 @@ class ScheduledServiceImplTest {
     @DisplayName("상태가 START가 아닐 경우 오류 발생")
     public void ExceptionWhenNotStart() throws Exception {
         // given
+        doReturn(1).when(repository).markPaymentRequested(eq(member.getNo()), anyLong(), anyLong());
         doReturn(Optional.empty()).when(repository).findByNoAndStatus(anyLong(), any(StatusType.class));
 
         // when
         CustomException customException = assertThrows(CustomException.class, () -> {
-            service.secondMatchJob(owner.getNo(), member.getNo());
+            service.secondMatchJob(new Response(owner.getNo(), member.getNo()));
         });
 
         // then
@@ -107,23 +170,45 @@ class ScheduledServiceImplTest {
     @DisplayName("secondMatchJob 정상동작")
     public void successSecondMatchJob() throws Exception {
         // given
+        doReturn(1).when(repository).markPaymentRequested(eq(member.getNo()), anyLong(), anyLong());
         doReturn(Optional.of(member)).when(repository).findByNoAndStatus(anyLong(), any(StatusType.class));
 
         // when
-        service.secondMatchJob(owner.getNo(), member.getNo());
+        service.secondMatchJob(new Response(owner.getNo(), member.getNo()));
+
+        // then
+        verify(producer).sendMessage(eq(Constants.KAFKA_TOPIC_PAYMENT), any());
+    }
+
+    @Test
+    @DisplayName("이미 결제 요청을 보낸 쌍이 다시 들어오면 결제 요청을 보내지 않는다")
+    public void notSendPaymentTwice() throws Exception {
+        // given
+        ReflectionTestUtils.setField(properties, "paymentResendAfterMs", 150_000L);
+        Response matched = Response.builder()
+                .ownerPk(owner.getNo())
+                .memberPk(member.getNo())
+                .member(MatchSnapshot.from(member))
+                .build();
+        doReturn(0).when(repository).markPaymentRequested(eq(member.getNo()), anyLong(), anyLong());
+
+        // when
+        CustomException customException = assertThrows(CustomException.class, () -> service.secondMatchJob(matched));
 
         // then
+        assertEquals(ErrorCode.NOT_EXIST_START_PEOPLE, customException.getErrorCode());
+        verify(producer, never()).sendMessage(any(), any());
     }
 
     @Test
     @DisplayName("상태가 COMPLETE가 아닐 경우 오류 발생")
     public void ExceptionWhenNotComplete() throws Exception {
         // given
-        doReturn(Optional.empty()).when(repository).findByNoAndStatus(anyLong(), any(StatusType.class));
+        doReturn(List.of()).when(repository).findAllById(anyIterable());
 
         // when
         CustomException customException = assertThrows(CustomException.class, () -> {
-            service.thirdMatchJob(owner.getNo(), member.getNo());
+            service.thirdMatchJob(new Response(owner.getNo(), member.getNo()));
         });
 
         // then
@@ -135,11 +220,90 @@ class ScheduledServiceImplTest {
     @DisplayName("thirdMatchJob 정상동작_Owner")
     public void successThirdMatchJob() throws Exception {
         // given
-        doReturn(Optional.of(owner)).when(repository).findByNoAndStatus(anyLong(), any(StatusType.class));
+        member.changeStatus(StatusType.COMPLETE);
+        doReturn(List.of(member, owner)).when(repository).findAllById(anyIterable());
+        doReturn(1).when(repository).changeMemberStatus(member.getNo(), StatusType.COMPLETE, StatusType.ALL_COMPLETE);
+
+        // when
+        service.thirdMatchJob(new Response(owner.getNo(), member.getNo()));
+
+        // then
+        verify(producer).sendMessage(eq(Constants.KAFKA_TOPIC_MATCH_RESULT), any());
+        verify(metrics).recordEndToEnd(member.getRequestedAt());
+    }
+
+    @Test
+    @DisplayName("다른 Worker가 먼저 상태를 바꾼 경우 결과 메시지를 보내지 않는다")
+    public void notSendResultWhenLostRace() throws Exception {
+        // given
+        member.changeStatus(StatusType.COMPLETE);
+        doReturn(List.of(owner, member)).when(repository).findAllById(anyIterable());
+        doReturn(0).when(repository).changeMemberStatus(anyLong(), any(StatusType.class), any(StatusType.class));
+
+        // when
+        CustomException customException = assertThrows(CustomException.class, () -> {
+            service.thirdMatchJob(new Response(owner.getNo(), member.getNo()));
+        });
+
+        // then
+        assertEquals(ErrorCode.NOT_EXIST_COMPLETE_PEOPLE, customException.getErrorCode());
+        verify(producer, never()).sendMessage(any(), any());
+    }
+
+    @Test
+    @DisplayName("firstMatchJob은 보관된 snapshot을 Response에 담아 넘긴다")
+    public void firstMatchJobCarriesSnapshot() throws Exception {
+        // given
+        snapshots.put(MatchSnapshot.from(owner));
+        snapshots.put(MatchSnapshot.from(member));
+        doReturn(2).when(repository).linkPair(owner.getNo(), member.getNo(), StatusType.WAIT, StatusType.START);
+
+        // when
+        Response result = service.firstMatchJob(new Response(owner.getNo(), member.getNo(), OttType.NETFLIX));
+
+        // then
+        assertEquals(MatchSnapshot.from(owner), result.getOwner());
+        assertEquals(MatchSnapshot.from(member), result.getMember());
+        assertEquals(0, snapshots.size());
+    }
+
+    @Test
+    @DisplayName("owner snapshot은 남은 자리 수만큼 매칭될때까지 보관한다")
+    public void keepOwnerSnapshotWhileSeatsRemain() throws Exception {
+        // given
+        snapshots.put(MatchSnapshot.from(owner), 2);
+        snapshots.put(MatchSnapshot.from(member));
+        doReturn(2).when(repository).linkPair(owner.getNo(), member.getNo(), StatusType.WAIT, StatusType.START);
+
+        // when
+        Response result = service.firstMatchJob(new Response(owner.getNo(), member.getNo(), OttType.NETFLIX));
+
+        // then
+        assertEquals(MatchSnapshot.from(owner), result.getOwner());
+        assertEquals(1, snapshots.size());
+    }
+
+    @Test
+    @DisplayName("snapshot이 있으면 second/thirdMatchJob은 조회하지 않는다")
+    public void skipSelectWhenSnapshotExists() throws Exception {
+        // given
+        Response response = Response.builder()
+                .ownerPk(owner.getNo())
+                .memberPk(member.getNo())
+                .owner(MatchSnapshot.from(owner))
+                .member(MatchSnapshot.from(member))
+                .build();
+        doReturn(1).when(repository).markPaymentRequested(eq(member.getNo()), anyLong(), anyLong());
+        doReturn(1).when(repository).changeMemberStatus(member.getNo(), StatusType.COMPLETE, StatusType.ALL_COMPLETE);
 
         // when
-        service.thirdMatchJob(owner.getNo(), member.getNo());
+        service.secondMatchJob(response);
+        service.thirdMatchJob(response);
 
         // then
+        verify(repository, never()).findByNoAndStatus(any(), any());
+        verify(repository, never()).findAllById(any());
+        verify(producer).sendMessage(eq(Constants.KAFKA_TOPIC_PAYMENT), any());
+        verify(producer).sendMessage(eq(Constants.KAFKA_TOPIC_MATCH_RESULT), any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,180 @@
+package com.foryou.matchingservice.api.service.kafka.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foryou.matchingservice.api.dto.request.MatchingRequestMessage;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.service.MatchingService;
+import com.foryou.matchingservice.global.constants.Constants;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import javax.validation.Validation;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MatchingRequestConsumerTest {
+
+    private MatchingRequestConsumer consumer;
+    @Mock
+    private MatchingService matchingService;
+    @Mock
+    private Acknowledgment ack;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new MatchingRequestConsumer(new ObjectMapper(), matchingService, Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    private ConsumerRecord<String, String> record(long offset, String value) {
+        return new ConsumerRecord<>(Constants.KAFKA_TOPIC_PARTY, 0, offset, null, value);
+    }
+
+    private String request(String memberId) {
+        return "{\"memberId\":\"" + memberId + "\",\"paymentNo\":1,\"partyNo\":1,\"inwon\":1,\"ott\":\"NETFLIX\",\"role\":\"MEMBER\"}";
+    }
+
+    @Test
+    @DisplayName("batch로 받은 요청을 한번에 저장하고 한번만 ack 한다")
+    public void createMatchesOncePerBatch() throws Exception {
+        // given
+        List<ConsumerRecord<String, String>> records = List.of(record(0, request("a")), record(1, request("b")));
+
+        // when
+        consumer.listen(records, ack);
+
+        // then
+        verify(matchingService, times(1)).createMatches(argThat(requests -> requests.size() == 2));
+        verify(ack, times(1)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("읽을 수 없는 메시지가 있으면 그 앞까지만 저장하고 해당 index로 실패를 알린다")
+    public void failAtPoisonMessage() throws Exception {
+        // given
+        ConsumerRecord<String, String> broken = record(1, "{not json");
+        List<ConsumerRecord<String, String>> records = List.of(record(0, request("a")), broken, record(2, request("c")));
+
+        // when
+        BatchListenerFailedException e = assertThrows(BatchListenerFailedException.class, () -> consumer.listen(records, ack));
+
+        // then
+        assertEquals(1, e.getIndex());
+        verify(matchingService).createMatches(argThat(requests -> {
+            assertEquals("a", requests.get(0).getMemberId());
+            return requests.size() == 1;
+        }));
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("필수값이 없는 메시지가 처음이면 저장하지 않고 해당 index로 실패를 알린다")
+    public void failAtInvalidMessageWithoutSave() throws Exception {
+        // given
+        List<ConsumerRecord<String, String>> records = List.of(record(0, "{\"memberId\":\"c\",\"inwon\":0}"), record(1, request("a")));
+
+        // when
+        BatchListenerFailedException e = assertThrows(BatchListenerFailedException.class, () -> consumer.listen(records, ack));
+
+        // then
+        assertEquals(0, e.getIndex());
+        verify(matchingService, never()).createMatches(anyList());
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("DB 장애로 저장하지 못하면 record를 탓하지 않고 반영하지 않은 첫 record부터 다시 받는다")
+    public void retryFromFirstPendingWhenSaveFails() throws Exception {
+        // given
+        String cancel = "{\"memberId\":\"a\",\"paymentNo\":1,\"partyNo\":1,\"inwon\":1,\"ott\":\"NETFLIX\",\"role\":\"MEMBER\",\"cancel\":true}";
+        DataAccessResourceFailureException failure = new DataAccessResourceFailureException("connection lost");
+        doThrow(failure).when(matchingService).createMatches(anyList());
+
+        // when
+        BatchListenerFailedException e = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.listen(List.of(record(0, request("a")), record(1, cancel), record(2, request("b"))), ack));
+
+        // then
+        assertEquals(0, e.getIndex());
+        assertSame(failure, e.getCause());
+        verify(matchingService, never()).offerQueue(anyList());
+        verify(matchingService, never()).cancelMatch(any());
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("결제 실패로 돌려받은 owner 자리는 새로 저장하지 않고 Queue에만 다시 넣는다")
+    public void offerReleasedSeatWithoutCreate() throws Exception {
+        // given
+        String released = "{\"memberId\":\"owner\",\"paymentNo\":0,\"partyNo\":1,\"inwon\":1,\"ott\":\"NETFLIX\",\"role\":\"OWNER\",\"matchNo\":10}";
+
+        // when
+        consumer.listen(List.of(record(0, released)), ack);
+
+        // then
+        verify(matchingService).offerReleasedSeat(OttType.NETFLIX, 10L);
+        verify(matchingService, never()).createMatches(anyList());
+        verify(ack, times(1)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("취소 요청은 같은 batch의 요청을 저장한 이후에 처리한다")
+    public void cancelAfterCreate() throws Exception {
+        // given
+        String cancel = "{\"memberId\":\"a\",\"paymentNo\":1,\"partyNo\":1,\"inwon\":1,\"ott\":\"NETFLIX\",\"role\":\"MEMBER\",\"cancel\":true}";
+
+        // when
+        consumer.listen(List.of(record(0, request("a")), record(1, cancel)), ack);
+
+        // then
+        InOrder inOrder = inOrder(matchingService);
+        inOrder.verify(matchingService).createMatches(argThat(requests -> requests.size() == 1));
+        inOrder.verify(matchingService).cancelMatch(argThat(MatchingRequestMessage::isCancel));
+        verify(ack, times(1)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("저장에 실패한 index 이후의 돌려받은 자리는 Queue에 넣지 않는다")
+    public void skipReleasedSeatAfterFailedIndex() throws Exception {
+        // given
+        String released = "{\"memberId\":\"owner\",\"paymentNo\":0,\"partyNo\":1,\"inwon\":1,\"ott\":\"NETFLIX\",\"role\":\"OWNER\",\"matchNo\":10}";
+        String releasedAfter = released.replace("10", "20");
+        doAnswer(invocation -> {
+            List<MatchingRequestMessage> requests = invocation.getArgument(0);
+            if (requests.stream().anyMatch(request -> "b".equals(request.getMemberId())))
+                throw new DataAccessResourceFailureException("connection lost");
+            return List.of();
+        }).when(matchingService).createMatches(anyList());
+
+        // when
+        BatchListenerFailedException e = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.listen(List.of(record(0, request("a")), record(1, released), record(2, request("b")), record(3, releasedAfter)), ack));
+
+        // then
+        assertEquals(2, e.getIndex());
+        verify(matchingService).offerReleasedSeat(OttType.NETFLIX, 10L);
+        verify(matchingService, never()).offerReleasedSeat(OttType.NETFLIX, 20L);
+        verify(ack, never()).acknowledge();
+    }
+}
@@ -0,0 +1,152 @@
+package com.foryou.matchingservice.api.service.kafka.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foryou.matchingservice.api.dto.response.PaymentResponseMessage;
+import com.foryou.matchingservice.api.dto.response.Response;
+import com.foryou.matchingservice.api.entity.Match;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.enums.PartyRole;
+import com.foryou.matchingservice.api.enums.StatusType;
+import com.foryou.matchingservice.api.queue.ThirdQueue;
+import com.foryou.matchingservice.api.repository.MatchRepository;
+import com.foryou.matchingservice.api.service.MatchDeadlineService;
+import com.foryou.matchingservice.api.service.MatchingService;
+import com.foryou.matchingservice.api.service.QueueOwnershipService;
+import com.foryou.matchingservice.api.service.kafka.producer.KafkaProducer;
+import com.foryou.matchingservice.global.constants.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentResultConsumerTest {
+
+    private PaymentResultConsumer consumer;
+    private final ObjectMapper mapper = new ObjectMapper();
+    @Mock
+    private MatchRepository repository;
+    @Mock
+    private MatchingService matchingService;
+    @Mock
+    private ThirdQueue thirdQueue;
+    @Mock
+    private QueueOwnershipService ownership;
+    @Mock
+    private KafkaProducer producer;
+    @Mock
+    private MatchDeadlineService deadlines;
+    @Mock
+    private Acknowledgment ack;
+    private Match owner;
+    private Match member;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new PaymentResultConsumer(mapper, repository, matchingService, thirdQueue, ownership, producer, deadlines);
+
+        owner = Match.builder()
+                .memberId("owner")
+                .partyNo(1L)
+                .role(PartyRole.OWNER)
+                .ott(OttType.NETFLIX)
+                .build();
+
+        member = Match.builder()
+                .memberId("member")
+                .partyNo(2L)
+                .role(PartyRole.MEMBER)
+                .ott(OttType.NETFLIX)
+                .build();
+
+        ReflectionTestUtils.setField(owner, "no", 1L);
+        ReflectionTestUtils.setField(member, "no", 2L);
+        member.link(owner.getNo());
+
+        doReturn(Optional.of(member)).when(repository).findByMemberIdAndPartyNo("member", 2L);
+        doReturn(Optional.of(owner)).when(repository).findById(owner.getNo());
+    }
+
+    private void listen(boolean success) throws Exception {
+        String msg = mapper.writeValueAsString(PaymentResponseMessage.builder()
+                .memberId("member")
+                .partyNo(2L)
+                .paymentNo(1L)
+                .success(success)
+                .build());
+
+        consumer.listen(ack, Constants.KAFKA_TOPIC_PAYMENT_RESULT, Constants.KAFKA_GROPU_ID_PAYMENT, 0, 0L, 0L, msg);
+    }
+
+    @Test
+    @DisplayName("결제 성공이면 START인 member만 COMPLETE로 바꾸고 Third Queue에 넣는다")
+    public void completeOnlyStartMember() throws Exception {
+        // given
+        doReturn(1).when(repository).changeMemberStatus(member.getNo(), StatusType.START, StatusType.COMPLETE);
+
+        // when
+        listen(true);
+
+        // then
+        verify(thirdQueue).offerCompleted(any(Response.class));
+        verify(deadlines).watch(any(StatusType.class), any(Response.class));
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("이미 처리된 결제 성공 결과는 다시 Third Queue에 넣지 않는다")
+    public void ignoreDuplicateSuccess() throws Exception {
+        // given
+        doReturn(0).when(repository).changeMemberStatus(member.getNo(), StatusType.START, StatusType.COMPLETE);
+
+        // when
+        listen(true);
+
+        // then
+        verify(thirdQueue, never()).offerCompleted(any(Response.class));
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("결제 실패면 START인 member만 취소하고 owner 자리를 돌려준 뒤 다시 대기열에 넣는다")
+    public void releaseSeatOnlyWhenCancelled() throws Exception {
+        // given
+        doReturn(1).when(repository).changeMemberStatus(member.getNo(), StatusType.START, StatusType.CANCEL);
+        doReturn(1).when(repository).releaseSeat(owner.getNo());
+        doReturn(true).when(ownership).owns(OttType.NETFLIX);
+
+        // when
+        listen(false);
+
+        // then
+        verify(deadlines).clear(member.getNo());
+        verify(matchingService).offerReleasedSeat(OttType.NETFLIX, owner.getNo());
+    }
+
+    @Test
+    @DisplayName("중복으로 온 결제 실패 결과는 owner 자리를 다시 돌려주지 않는다")
+    public void ignoreDuplicateFailure() throws Exception {
+        // given
+        doReturn(0).when(repository).changeMemberStatus(member.getNo(), StatusType.START, StatusType.CANCEL);
+
+        // when
+        listen(false);
+
+        // then
+        verify(repository, never()).releaseSeat(anyLong());
+        verify(matchingService, never()).offerReleasedSeat(any(OttType.class), anyLong());
+        verify(ack).acknowledge();
+    }
+}
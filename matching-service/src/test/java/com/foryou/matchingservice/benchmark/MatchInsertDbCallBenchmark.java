@@ -0,0 +1,105 @@
+package com.foryou.matchingservice.benchmark;
+
+import com.foryou.benchmark.entity.BaselineMatch;
+import com.foryou.matchingservice.api.dto.request.MatchingRequestMessage;
+import com.foryou.matchingservice.api.entity.Match;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.enums.PartyRole;
+import com.foryou.matchingservice.api.queue.FirstQueueRegistry;
+import com.foryou.matchingservice.api.queue.MatchSnapshotStore;
+import com.foryou.matchingservice.api.queue.first.*;
+import com.foryou.matchingservice.api.repository.MatchRepository;
+import com.foryou.matchingservice.api.service.impl.MatchingServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 파티 생성 요청 1건(4인)당 DB 호출 수 비교
+ * before: 좌석마다 채번 + insert 1번 (기존 createMatch). allocationSize = 1 인 BaselineMatch 로 측정해서 4인 기준 8번
+ * after: createMatch (pooled-lo 채번 + JDBC batch insert)
+ * ./gradlew benchmark 로 실행
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("prod")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MatchInsertDbCallBenchmark {
+
+    /**
+     * BaselineMatch 는 애플리케이션 package 밖에 있으므로 이 테스트에서만 entity scan 에 추가
+     */
+    @TestConfiguration
+    @EntityScan(basePackageClasses = {Match.class, BaselineMatch.class})
+    static class BaselineEntityConfig {
+    }
+
+    private static final int REQUESTS = 200;
+    private static final int INWON = 4;
+
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private MatchRepository matchRepository;
+    private MatchingServiceImpl matchingService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        matchingService = new MatchingServiceImpl(matchRepository, new FirstQueueRegistry(List.of(new Netflix(), new Tving(), new Disney(), new Watcha(), new Wavve())), new MatchSnapshotStore());
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private MatchingRequestMessage createOwner() {
+        return MatchingRequestMessage.builder()
+                .memberId("owner")
+                .paymentNo(1L)
+                .partyNo(1L)
+                .inwon(INWON)
+                .ott(OttType.NETFLIX)
+                .role(PartyRole.OWNER)
+                .build();
+    }
+
+    @Test
+    @DisplayName("createMatch 요청당 DB 호출 수")
+    public void dbCallsPerRequest() throws Exception {
+        // before
+        statistics.clear();
+        for (int i = 0; i < REQUESTS; i++) {
+            MatchingRequestMessage request = createOwner();
+            for (int seat = 0; seat < INWON; seat++) {
+                em.persist(new BaselineMatch(request));
+                em.flush();
+            }
+            em.clear();
+        }
+        double before = (double) statistics.getPrepareStatementCount() / REQUESTS;
+
+        // after
+        statistics.clear();
+        for (int i = 0; i < REQUESTS; i++) {
+            matchingService.createMatch(createOwner());
+            em.flush();
+            em.clear();
+        }
+        double after = (double) statistics.getPrepareStatementCount() / REQUESTS;
+
+        System.out.printf("DB calls per request (inwon %d) - before: %.2f, after: %.2f%n", INWON, before, after);
+        assertTrue(after < before);
+    }
+}
@@ -0,0 +1,207 @@
+package com.foryou.matchingservice.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foryou.matchingservice.api.dto.request.MatchingRequestMessage;
+import com.foryou.matchingservice.api.dto.request.PaymentRequestMessage;
+import com.foryou.matchingservice.api.dto.response.PaymentResponseMessage;
+import com.foryou.matchingservice.api.enums.OttType;
+import com.foryou.matchingservice.api.enums.PartyRole;
+import com.foryou.matchingservice.global.constants.Constants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * party 요청부터 match_result 전송까지 전체 경로의 처리량과 지연 시간
+ * party → MatchingRequestConsumer → Queue → 매칭 단계 → payment → 결제 stub → payment_result → match_result
+ * <p>
+ * Embedded Kafka, H2 in-memory DB로 외부 서비스 없이 실행한다 (application-e2e.yml).
+ * OTT마다 owner 1건(모집인원 seats)과 member seats건을 한 묶음으로 정해진 속도로 보내므로 모든 member가 매칭된다.
+ * member 요청을 보낸 시각부터 해당 member의 match_result를 받은 시각까지를 지연 시간으로 본다.
+ * <p>
+ * ./gradlew benchmark -De2e.rate=200 -De2e.duration-sec=10 -De2e.seats=3 -De2e.otts=NETFLIX,TVING -De2e.mode=event
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("e2e")
+@EmbeddedKafka(
+        partitions = 3
+        , topics = {
+                Constants.KAFKA_TOPIC_PARTY
+                , Constants.KAFKA_TOPIC_PAYMENT
+                , Constants.KAFKA_TOPIC_PAYMENT_RESULT
+                , Constants.KAFKA_TOPIC_MATCH_RESULT
+                , Constants.KAFKA_TOPIC_MATCHING_LOAD
+        }
+)
+class MatchingThroughputBenchmark {
+
+    private static final int RATE = Integer.getInteger("e2e.rate", 200);
+    private static final int DURATION_SEC = Integer.getInteger("e2e.duration-sec", 10);
+    private static final int SEATS = Integer.getInteger("e2e.seats", 3);
+    private static final List<OttType> OTTS = Arrays.stream(System.getProperty("e2e.otts", "NETFLIX,TVING,WAVVE,WATCHA,DISNEY_PLUS").split(","))
+            .map(String::trim)
+            .map(OttType::valueOf)
+            .collect(Collectors.toList());
+    private static final long RESULT_TIMEOUT_SEC = 60;
+
+    private static final Map<Long, Long> sentAt = new ConcurrentHashMap<>();
+    private static final Map<Long, Long> latencyNanos = new ConcurrentHashMap<>();
+    private static final AtomicLong lastResultAt = new AtomicLong();
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Test
+    @DisplayName("party 요청부터 match_result까지 처리량과 지연 시간")
+    public void endToEndThroughput() throws Exception {
+        // given
+        int groupSize = SEATS + 1;
+        int groups = Math.max(1, RATE * DURATION_SEC / groupSize);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        AtomicLong sequence = new AtomicLong();
+        int members = 0;
+
+        // when
+        long start = System.nanoTime();
+        for (int i = 0; i < groups * groupSize; i++) {
+            long due = start + i * intervalNanos;
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0)
+                LockSupport.parkNanos(wait);
+
+            OttType ott = OTTS.get((i / groupSize) % OTTS.size());
+            long id = sequence.incrementAndGet();
+
+            if (i % groupSize == 0) {
+                send(ott, request("owner-" + id, id, SEATS, ott, PartyRole.OWNER));
+            } else {
+                sentAt.put(id, System.nanoTime());
+                send(ott, request("member-" + id, id, 1, ott, PartyRole.MEMBER));
+                members++;
+            }
+        }
+        long sendElapsed = System.nanoTime() - start;
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(RESULT_TIMEOUT_SEC);
+        while (latencyNanos.size() < members && System.nanoTime() < deadline)
+            Thread.sleep(100);
+
+        // then
+        long[] latencies = latencyNanos.values().stream().mapToLong(Long::longValue).sorted().toArray();
+        double elapsedSec = (lastResultAt.get() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+
+        System.out.printf("E2E requests: %d (owner %d, member %d) over %.1fs, target %d req/s, seats %d, otts %s%n"
+                , groups * groupSize, groups, members, sendElapsed / 1e9, RATE, SEATS, OTTS);
+        System.out.printf("E2E matches: %d, %.1f matches/s, latency p50: %.1fms, p95: %.1fms, p99: %.1fms, max: %.1fms%n"
+                , latencies.length, latencies.length / elapsedSec
+                , percentileMs(latencies, 50), percentileMs(latencies, 95), percentileMs(latencies, 99), percentileMs(latencies, 100));
+
+        assertEquals(members, latencies.length);
+    }
+
+    private void send(OttType ott, MatchingRequestMessage request) {
+        kafkaTemplate.send(Constants.KAFKA_TOPIC_PARTY, ott.name(), request);
+    }
+
+    private static MatchingRequestMessage request(String memberId, long partyNo, int inwon, OttType ott, PartyRole role) {
+        return MatchingRequestMessage.builder()
+                .memberId(memberId)
+                .paymentNo(partyNo)
+                .partyNo(partyNo)
+                .inwon(inwon)
+                .ott(ott)
+                .role(role)
+                .build();
+    }
+
+    private static double percentileMs(long[] sorted, int percentile) {
+        if (sorted.length == 0)
+            return 0;
+
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * 결제 서비스 대신 결제 요청에 바로 성공으로 응답하고, match_result를 받아서 지연 시간을 기록
+     */
+    @TestConfiguration
+    static class E2eStubConfig {
+
+        @Bean
+        BillingStub billingStub(KafkaTemplate<String, Object> kafkaTemplate, ObjectMapper objectMapper) {
+            return new BillingStub(kafkaTemplate, objectMapper);
+        }
+
+        @Bean
+        MatchResultCollector matchResultCollector(ObjectMapper objectMapper) {
+            return new MatchResultCollector(objectMapper);
+        }
+    }
+
+    static class BillingStub {
+        private final KafkaTemplate<String, Object> kafkaTemplate;
+        private final ObjectMapper objectMapper;
+
+        BillingStub(KafkaTemplate<String, Object> kafkaTemplate, ObjectMapper objectMapper) {
+            this.kafkaTemplate = kafkaTemplate;
+            this.objectMapper = objectMapper;
+        }
+
+        @KafkaListener(topics = Constants.KAFKA_TOPIC_PAYMENT, groupId = "e2e-billing-stub")
+        public void listen(String msg, Acknowledgment ack) throws JsonProcessingException {
+            PaymentRequestMessage request = objectMapper.readValue(msg, PaymentRequestMessage.class);
+
+            kafkaTemplate.send(Constants.KAFKA_TOPIC_PAYMENT_RESULT, PaymentResponseMessage.builder()
+                    .memberId(request.getMemberId())
+                    .partyNo(request.getPartyNo())
+                    .paymentNo(request.getPaymentNo())
+                    .success(true)
+                    .build());
+            ack.acknowledge();
+        }
+    }
+
+    static class MatchResultCollector {
+        private final ObjectMapper objectMapper;
+
+        MatchResultCollector(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        @KafkaListener(topics = Constants.KAFKA_TOPIC_MATCH_RESULT, groupId = "e2e-match-result-collector")
+        public void listen(String msg, Acknowledgment ack) throws JsonProcessingException {
+            long now = System.nanoTime();
+            long memberNo = objectMapper.readTree(msg).get("memberNo").asLong();
+            Long sent = sentAt.get(memberNo);
+
+            if (sent != null)
+                latencyNanos.putIfAbsent(memberNo, now - sent);
+
+            lastResultAt.accumulateAndGet(now, Math::max);
+            ack.acknowledge();
+        }
+    }
+}
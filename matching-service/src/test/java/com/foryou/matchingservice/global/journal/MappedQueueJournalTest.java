@@ -0,0 +1,125 @@
+package com.foryou.matchingservice.global.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedQueueJournalTest {
+
+    private static final String NAME = "NETFLIX";
+    private static final int SEGMENT_SIZE = MappedQueueJournal.RECORD_SIZE * 100;
+
+    @TempDir
+    Path dir;
+    private ExecutorService compactor;
+
+    @BeforeEach
+    void setUp() {
+        compactor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        compactor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Journal이 없으면 복구할 내용이 없다")
+    public void emptyWhenNoJournal() throws Exception {
+        assertTrue(MappedQueueJournal.recover(dir, NAME).isEmpty());
+    }
+
+    @Test
+    @DisplayName("정상 종료된 Journal은 남아있는 항목을 offer 순서대로 복구한다")
+    public void recoverSealedJournal() throws Exception {
+        // given
+        MappedQueueJournal journal = MappedQueueJournal.create(dir, NAME, new JournalState(), SEGMENT_SIZE, 2, compactor);
+        for (long no = 1; no <= 1000; no++)
+            journal.add(0, no, 0L);
+        for (long no = 1; no <= 1000; no += 2)
+            journal.remove(0, no, 0L);
+        journal.seal();
+
+        // when
+        compactor.shutdown();
+        compactor.awaitTermination(5, TimeUnit.SECONDS);
+        JournalState state = MappedQueueJournal.recover(dir, NAME).orElseThrow();
+
+        // then
+        assertTrue(state.isSealed());
+        assertEquals(500, state.entries(0).size());
+        assertEquals(2L, state.entries(0).iterator().next().getA());
+    }
+
+    @Test
+    @DisplayName("정상 종료 표시 이후에 기록이 추가되면 정상 종료로 보지 않는다")
+    public void notSealedWhenAppendAfterSeal() throws Exception {
+        // given
+        MappedQueueJournal journal = MappedQueueJournal.create(dir, NAME, new JournalState(), SEGMENT_SIZE, 2, compactor);
+        journal.add(0, 1L, 0L);
+        journal.seal();
+        journal.add(1, 2L, 0L);
+
+        // when
+        JournalState state = MappedQueueJournal.recover(dir, NAME).orElseThrow();
+
+        // then
+        assertFalse(state.isSealed());
+    }
+
+    @Test
+    @DisplayName("재생성 시 기존 Segment는 snapshot 하나로 압축된다")
+    public void compactWhenCreate() throws Exception {
+        // given
+        MappedQueueJournal journal = MappedQueueJournal.create(dir, NAME, new JournalState(), SEGMENT_SIZE, 100, compactor);
+        for (long no = 1; no <= 1000; no++)
+            journal.add(0, no, no);
+        journal.seal();
+        JournalState state = MappedQueueJournal.recover(dir, NAME).orElseThrow();
+
+        // when
+        MappedQueueJournal.create(dir, NAME, state, SEGMENT_SIZE, 100, compactor);
+
+        // then
+        assertEquals(2, segments().size());
+        assertEquals(1000, MappedQueueJournal.recover(dir, NAME).orElseThrow().entries(0).size());
+    }
+
+    @Test
+    @DisplayName("손상된 레코드가 있으면 예외가 발생한다")
+    public void exceptionWhenCorrupted() throws Exception {
+        // given
+        MappedQueueJournal journal = MappedQueueJournal.create(dir, NAME, new JournalState(), SEGMENT_SIZE, 2, compactor);
+        journal.add(0, 1L, 0L);
+        journal.seal();
+
+        Path last = segments().get(segments().size() - 1);
+        try (RandomAccessFile file = new RandomAccessFile(last.toFile(), "rw")) {
+            file.seek(8);
+            file.write(7);
+        }
+
+        // when, then
+        assertThrows(JournalCorruptedException.class, () -> MappedQueueJournal.recover(dir, NAME));
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+}
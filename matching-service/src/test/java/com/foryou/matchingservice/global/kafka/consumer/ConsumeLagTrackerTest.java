@@ -0,0 +1,60 @@
+package com.foryou.matchingservice.global.kafka.consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConsumeLagTrackerTest {
+
+    @Test
+    @DisplayName("모두 처리했으면 consume lag은 0이다")
+    public void zeroWhenCaughtUp() throws Exception {
+        // given
+        ConsumeLagTracker tracker = new ConsumeLagTracker();
+
+        // when, then
+        assertEquals(0L, tracker.update(10L, 10L, 1_000L));
+        assertEquals(0L, tracker.update(20L, 20L, 2_000L));
+    }
+
+    @Test
+    @DisplayName("처리가 멈추면 처리한 record가 없어도 consume lag이 계속 커진다")
+    public void growWhileStalled() throws Exception {
+        // given
+        ConsumeLagTracker tracker = new ConsumeLagTracker();
+        tracker.update(10L, 10L, 1_000L);
+
+        // when, then
+        assertEquals(1_000L, tracker.update(10L, 15L, 2_000L));
+        assertEquals(2_000L, tracker.update(10L, 30L, 3_000L));
+        assertEquals(9_000L, tracker.update(10L, 30L, 10_000L));
+    }
+
+    @Test
+    @DisplayName("밀려서 처리중이면 처리한 위치 이후에 들어온 record가 기다린 시간을 consume lag으로 본다")
+    public void measureOldestUnconsumedWhenBacklogged() throws Exception {
+        // given
+        ConsumeLagTracker tracker = new ConsumeLagTracker();
+        tracker.update(0L, 0L, 1_000L);
+        tracker.update(0L, 100L, 2_000L);
+        tracker.update(50L, 200L, 3_000L);
+
+        // when
+        long lag = tracker.update(150L, 300L, 4_000L);
+
+        // then
+        assertEquals(2_000L, lag);
+    }
+
+    @Test
+    @DisplayName("처음 관측할때부터 밀려 있으면 관측을 시작한 이후 지난 시간을 consume lag으로 본다")
+    public void growFromFirstObservation() throws Exception {
+        // given
+        ConsumeLagTracker tracker = new ConsumeLagTracker();
+
+        // when, then
+        assertEquals(0L, tracker.update(0L, 100L, 1_000L));
+        assertEquals(4_000L, tracker.update(0L, 100L, 5_000L));
+    }
+}
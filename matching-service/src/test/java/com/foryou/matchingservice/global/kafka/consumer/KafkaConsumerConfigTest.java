@@ -0,0 +1,96 @@
+package com.foryou.matchingservice.global.kafka.consumer;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.foryou.matchingservice.global.constants.Constants;
+import com.foryou.matchingservice.global.properties.MatchingProperties;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaConsumerConfigTest {
+
+    private DefaultErrorHandler errorHandler;
+    @Mock
+    private ConsumerRecordRecoverer deadLetterRecoverer;
+    @Mock
+    private Consumer<String, String> consumer;
+    @Mock
+    private MessageListenerContainer container;
+    private ConsumerRecord<String, String> record;
+    private ConsumerRecords<String, String> records;
+
+    @BeforeEach
+    void setUp() {
+        MatchingProperties properties = new MatchingProperties();
+        ReflectionTestUtils.setField(properties, "kafkaRetryIntervalMs", 1L);
+        ReflectionTestUtils.setField(properties, "kafkaRetryMaxIntervalMs", 1L);
+        errorHandler = new KafkaConsumerConfig(null, properties, null).batchErrorHandler(deadLetterRecoverer);
+
+        record = new ConsumerRecord<>(Constants.KAFKA_TOPIC_PARTY, 0, 0L, null, "{}");
+        records = new ConsumerRecords<>(Map.of(new TopicPartition(Constants.KAFKA_TOPIC_PARTY, 0), List.of(record)));
+    }
+
+    private Exception failed(Exception cause) {
+        return new ListenerExecutionFailedException("listener failed", new BatchListenerFailedException("failed", cause, 0));
+    }
+
+    @Test
+    @DisplayName("DB 장애로 실패한 record는 DLT로 보내지 않고 계속 재시도한다")
+    public void neverDeadLetterOnDataAccessFailure() throws Exception {
+        // given
+        List<Exception> failures = List.of(
+                failed(new DataAccessResourceFailureException("connection lost"))
+                , failed(new CannotCreateTransactionException("no connection"))
+        );
+
+        // when
+        for (int attempt = 0; attempt < 10; attempt++) {
+            Exception failure = failures.get(attempt % failures.size());
+            assertThrows(RuntimeException.class, () -> errorHandler.handleBatch(failure, records, consumer, container, () -> {
+            }));
+        }
+
+        // then
+        verify(deadLetterRecoverer, never()).accept(any(), any());
+        verify(consumer, times(10)).seek(new TopicPartition(Constants.KAFKA_TOPIC_PARTY, 0), 0L);
+    }
+
+    @Test
+    @DisplayName("읽을 수 없는 메시지는 재시도하지 않고 한번만 DLT로 보낸다")
+    public void deadLetterPoisonOnce() throws Exception {
+        // when
+        errorHandler.handleBatch(failed(new JsonParseException(null, "broken")), records, consumer, container, () -> {
+        });
+
+        // then
+        verify(deadLetterRecoverer, times(1)).accept(eq(record), any());
+        verify(consumer, never()).seek(any(TopicPartition.class), anyLong());
+    }
+}
@@ -0,0 +1,49 @@
+package com.foryou.matchingservice.global.queue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StageSignalTest {
+
+    @Test
+    @DisplayName("await 전에 들어온 signal은 유실되지 않는다")
+    public void keepSignalBeforeAwait() throws Exception {
+        // given
+        StageSignal signal = new StageSignal();
+        signal.signal();
+
+        // when
+        long start = System.nanoTime();
+        signal.await(5, TimeUnit.SECONDS);
+        long elapsed = System.nanoTime() - start;
+
+        // then
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    @DisplayName("대기중인 쓰레드는 signal을 받으면 timeout 전에 깨어난다")
+    public void wakeUpWhenSignaled() throws Exception {
+        // given
+        StageSignal signal = new StageSignal();
+        long[] elapsed = new long[1];
+        Thread waiter = new Thread(() -> {
+            long start = System.nanoTime();
+            signal.await(5, TimeUnit.SECONDS);
+            elapsed[0] = System.nanoTime() - start;
+        });
+
+        // when
+        waiter.start();
+        Thread.sleep(100);
+        signal.signal();
+        waiter.join();
+
+        // then
+        assertTrue(elapsed[0] < TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,69 @@
+package com.foryou.matchingservice.global.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+
+    private HashedTimingWheel<Long> wheel;
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    @DisplayName("만료 시각이 지나면 등록한 작업을 넘긴다")
+    public void expireAfterDelay() throws Exception {
+        // given
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Long> expired = new CopyOnWriteArrayList<>();
+        wheel = new HashedTimingWheel<>("test-wheel", 10, TimeUnit.MILLISECONDS, 8, task -> {
+            expired.add(task);
+            latch.countDown();
+        });
+        wheel.start();
+
+        // when
+        long start = System.nanoTime();
+        wheel.schedule(1L, 200, TimeUnit.MILLISECONDS);
+
+        // then
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(List.of(1L), expired);
+    }
+
+    @Test
+    @DisplayName("취소한 작업은 만료되지 않는다")
+    public void skipCancelled() throws Exception {
+        // given
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Long> expired = new CopyOnWriteArrayList<>();
+        wheel = new HashedTimingWheel<>("test-wheel", 10, TimeUnit.MILLISECONDS, 8, task -> {
+            expired.add(task);
+            latch.countDown();
+        });
+        wheel.start();
+
+        // when
+        HashedTimingWheel.Timeout<Long> cancelled = wheel.schedule(1L, 50, TimeUnit.MILLISECONDS);
+        wheel.schedule(2L, 100, TimeUnit.MILLISECONDS);
+        assertTrue(cancelled.cancel());
+
+        // then
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(2L), expired);
+        assertFalse(cancelled.cancel());
+    }
+}
@@ -2,7 +2,10 @@ package com.foryou.partyapi.api.controller;
 
 import com.foryou.partyapi.api.dto.request.PartyMemberReqDto;
 import com.foryou.partyapi.api.dto.request.PartyOwnerReqDto;
+import com.foryou.partyapi.api.dto.response.QueuePositionResDto;
 import com.foryou.partyapi.api.entity.Party;
+import com.foryou.partyapi.api.enums.PartyRole;
+import com.foryou.partyapi.api.service.AdmissionService;
 import com.foryou.partyapi.api.service.PartyService;
 import com.foryou.partyapi.api.service.kafka.producer.KafkaProducer;
 import com.foryou.partyapi.global.constants.Constants;
@@ -14,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -22,26 +26,39 @@ public class PartyController {
 
     private final PartyService partyService;
     private final KafkaProducer producer;
+    private final AdmissionService admissionService;
 
     @GetMapping("/")
     @ResponseStatus(HttpStatus.OK)
     public void healthCheck() {
     }
     
+    /**
+     * 매칭 서비스가 밀려 있으면 저장 전에 429/503으로 거절하고, 앞에 대기중인 건이 있으면 202와 대기 순번을 응답한다
+     * 저장이나 발행에 실패하면 받은 건수에서 다시 뺀다
+     */
     @PostMapping("/party/{memberId}/member")
     public ResponseEntity<ApiResponse> requestPartyMember(
             @PathVariable String memberId
             , @Valid @RequestBody PartyMemberReqDto partyReqDto
     ) {
-        partyReqDto.setMemberId(memberId);
-        Party party = partyService.createMemberParty(partyReqDto);
+        Optional<QueuePositionResDto> queued = admissionService.admit(partyReqDto.getOtt(), PartyRole.MEMBER);
 
-        producer.sendMessage(
-                Constants.KAFKA_TOPIC_PARTY
-                , partyService.createMatchingMessage(party, 1, partyReqDto.getPaymentNo())
-        );
+        try {
+            partyReqDto.setMemberId(memberId);
+            Party party = partyService.createMemberParty(partyReqDto);
 
-        return ApiResponse.of(HttpStatus.CREATED);
+            producer.sendMessage(
+                    Constants.KAFKA_TOPIC_PARTY
+                    , party.getOtt().name() // OTT별로 같은 partition(matching-service 인스턴스)에서 매칭되도록 key 지정
+                    , partyService.createMatchingMessage(party, 1, partyReqDto.getPaymentNo())
+            );
+        } catch (RuntimeException e) {
+            admissionService.release(partyReqDto.getOtt(), PartyRole.MEMBER);
+            throw e;
+        }
+
+        return created(queued);
     }
 
     @PostMapping("/party/{memberId}/owner")
@@ -49,15 +66,23 @@ public class PartyController {
             @PathVariable String memberId
             , @Valid @RequestBody PartyOwnerReqDto partyReqDto
     ) {
-        partyReqDto.setMemberId(memberId);
-        Party party = partyService.createOwnerParty(partyReqDto);
+        Optional<QueuePositionResDto> queued = admissionService.admit(partyReqDto.getOtt(), PartyRole.OWNER);
+
+        try {
+            partyReqDto.setMemberId(memberId);
+            Party party = partyService.createOwnerParty(partyReqDto);
 
-        producer.sendMessage(
-                Constants.KAFKA_TOPIC_PARTY
-                , partyService.createMatchingMessage(party, partyReqDto.getInwon(), 0L)
-        );
+            producer.sendMessage(
+                    Constants.KAFKA_TOPIC_PARTY
+                    , party.getOtt().name()
+                    , partyService.createMatchingMessage(party, partyReqDto.getInwon(), 0L)
+            );
+        } catch (RuntimeException e) {
+            admissionService.release(partyReqDto.getOtt(), PartyRole.OWNER);
+            throw e;
+        }
 
-        return ApiResponse.of(HttpStatus.CREATED);
+        return created(queued);
     }
 
     @GetMapping("/myparty/{memberId}")
@@ -69,4 +94,9 @@ public class PartyController {
     public ResponseEntity<ApiResponse> partyInfo(@PathVariable String memberId, @PathVariable Long partyNo) {
         return ApiResponse.of(HttpStatus.OK, partyService.partyInfo(partyNo));
     }
+
+    private ResponseEntity<ApiResponse> created(Optional<QueuePositionResDto> queued) {
+        return queued.map(position -> ApiResponse.of(HttpStatus.ACCEPTED, position))
+                .orElseGet(() -> ApiResponse.of(HttpStatus.CREATED));
+    }
 }
@@ -0,0 +1,21 @@
+package com.foryou.partyapi.api.dto.response;
+
+import com.foryou.partyapi.api.enums.OttType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchingLoadMessage {
+    private OttType ott;
+    private int waitingMembers;
+    private int waitingOwnerSeats;
+    private double matchedPerSecond;
+    private long consumeLagMs;
+    private double stageSaturation;
+    private long publishedAt;
+}
@@ -0,0 +1,14 @@
+package com.foryou.partyapi.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 신청은 받았지만 앞에 대기중인 건이 있을때 대기 순번과 예상 대기 시간(초, 알 수 없으면 -1)
+ */
+@Data
+@AllArgsConstructor
+public class QueuePositionResDto {
+    private long position;
+    private long estimatedWaitSeconds;
+}
@@ -0,0 +1,25 @@
+package com.foryou.partyapi.api.service;
+
+import com.foryou.partyapi.api.dto.response.MatchingLoadMessage;
+import com.foryou.partyapi.api.dto.response.QueuePositionResDto;
+import com.foryou.partyapi.api.enums.OttType;
+import com.foryou.partyapi.api.enums.PartyRole;
+
+import java.util.Optional;
+
+public interface AdmissionService {
+
+    void update(MatchingLoadMessage load);
+
+    /**
+     * 매칭 서비스가 과부하면 AdmissionRejectedException을 던진다
+     *
+     * @return 앞에 대기중인 건이 있으면 대기 순번
+     */
+    Optional<QueuePositionResDto> admit(OttType ott, PartyRole role);
+
+    /**
+     * admit 후 신청 저장에 실패했을 때 센 건수를 되돌린다
+     */
+    void release(OttType ott, PartyRole role);
+}
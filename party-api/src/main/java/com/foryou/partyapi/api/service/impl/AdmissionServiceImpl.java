@@ -0,0 +1,115 @@
+package com.foryou.partyapi.api.service.impl;
+
+import com.foryou.partyapi.api.dto.response.MatchingLoadMessage;
+import com.foryou.partyapi.api.dto.response.QueuePositionResDto;
+import com.foryou.partyapi.api.enums.OttType;
+import com.foryou.partyapi.api.enums.PartyRole;
+import com.foryou.partyapi.api.service.AdmissionService;
+import com.foryou.partyapi.global.error.AdmissionRejectedException;
+import com.foryou.partyapi.global.error.ErrorCode;
+import com.foryou.partyapi.global.properties.AdmissionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * matching-service가 발행한 OTT별 대기 현황으로 파티 신청 유입을 제어
+ * <p>
+ * consume lag이 길거나 결제 단계 Queue가 차 있으면 매칭 서비스 전체가 밀린 것이므로 503,
+ * 같은 OTT, 같은 역할의 대기 건수가 많으면 429로 거절하고 Retry-After로 다시 신청할 시간을 알려준다.
+ * 받은 신청은 다음 대기 현황이 올때까지 이 인스턴스에서 센 건수를 더해서 대기 순번을 계산한다 (owner 대기 건수는 남은 자리 수).
+ * 대기 현황이 없거나 오래되었으면 matching-service 상태를 알 수 없으므로 제어하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdmissionServiceImpl implements AdmissionService {
+
+    private final AdmissionProperties properties;
+    private final Map<OttType, LoadState> loads = new ConcurrentHashMap<>();
+
+    @Override
+    public void update(MatchingLoadMessage load) {
+        if (load.getOtt() == null)
+            return;
+
+        loads.put(load.getOtt(), new LoadState(load));
+    }
+
+    @Override
+    public Optional<QueuePositionResDto> admit(OttType ott, PartyRole role) {
+        LoadState state = loads.get(ott);
+
+        if (!controls(state))
+            return Optional.empty();
+
+        MatchingLoadMessage load = state.load;
+        if (load.getConsumeLagMs() > properties.getMaxLagMs() || load.getStageSaturation() >= properties.getSaturation())
+            throw new AdmissionRejectedException(ErrorCode.MATCHING_OVERLOADED, retryAfter((long) Math.ceil(load.getConsumeLagMs() / 1000.0)));
+
+        AtomicLong admitted = PartyRole.OWNER.equals(role) ? state.ownerAdmitted : state.memberAdmitted;
+        long waiting = PartyRole.OWNER.equals(role) ? load.getWaitingOwnerSeats() : load.getWaitingMembers();
+        long position = waiting + admitted.incrementAndGet();
+
+        if (position > properties.getMaxWaiting()) {
+            admitted.decrementAndGet();
+            throw new AdmissionRejectedException(ErrorCode.MATCHING_QUEUE_FULL, retryAfter(secondsToMatch(position - properties.getMaxWaiting(), load)));
+        }
+
+        if (position <= 1)
+            return Optional.empty();
+
+        return Optional.of(new QueuePositionResDto(position, secondsToMatch(position, load)));
+    }
+
+    @Override
+    public void release(OttType ott, PartyRole role) {
+        LoadState state = loads.get(ott);
+
+        if (!controls(state))
+            return;
+
+        // 그 사이 새 대기 현황을 받아 초기화되었으면 되돌릴 건수가 없다
+        AtomicLong admitted = PartyRole.OWNER.equals(role) ? state.ownerAdmitted : state.memberAdmitted;
+        admitted.updateAndGet(count -> count > 0 ? count - 1 : 0);
+    }
+
+    /**
+     * 대기 현황이 없거나 오래되었으면 제어하지 않는다
+     */
+    private boolean controls(LoadState state) {
+        return properties.isEnabled() && state != null && System.currentTimeMillis() - state.load.getPublishedAt() <= properties.getStaleMs();
+    }
+
+    /**
+     * 최근 매칭 속도로 count건이 매칭되기까지 걸리는 시간. 매칭이 없었으면 -1
+     */
+    private static long secondsToMatch(long count, MatchingLoadMessage load) {
+        if (load.getMatchedPerSecond() <= 0.0)
+            return -1L;
+
+        return (long) Math.ceil(count / load.getMatchedPerSecond());
+    }
+
+    private long retryAfter(long seconds) {
+        if (seconds < 0)
+            return properties.getMaxRetryAfterSec();
+
+        return Math.min(properties.getMaxRetryAfterSec(), Math.max(properties.getMinRetryAfterSec(), seconds));
+    }
+
+    private static final class LoadState {
+        private final MatchingLoadMessage load;
+        private final AtomicLong memberAdmitted = new AtomicLong();
+        private final AtomicLong ownerAdmitted = new AtomicLong();
+
+        private LoadState(MatchingLoadMessage load) {
+            this.load = load;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.foryou.partyapi.api.service.kafka.consumer;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foryou.partyapi.api.dto.response.MatchingLoadMessage;
 import com.foryou.partyapi.api.dto.response.MatchingResponseMessage;
+import com.foryou.partyapi.api.service.AdmissionService;
 import com.foryou.partyapi.api.service.PartyService;
 import com.foryou.partyapi.global.constants.Constants;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +22,7 @@ public class KafkaConsumer {
 
     private final ObjectMapper objMapper;
     private final PartyService partyService;
+    private final AdmissionService admissionService;
 
     @KafkaListener(
             topics = Constants.KAFKA_TOPIC_MATCH_RESULT
@@ -45,4 +48,24 @@ public class KafkaConsumer {
             ack.acknowledge();
         }
     }
+
+    /**
+     * 모든 인스턴스가 대기 현황을 받아야 하므로 process마다 group을 따로 둔다
+     * 같은 port로 뜨는 container/pod끼리 group이 겹치지 않도록 IP와 기동할때마다 새로 만든 uuid를 붙이고, 지난 현황은 건너뛴다
+     * (사용하지 않는 group은 broker의 offsets.retention 이후 정리된다)
+     */
+    @KafkaListener(
+            topics = Constants.KAFKA_TOPIC_MATCHING_LOAD
+            , groupId = Constants.KAFKA_GROPU_ID_MATCHING_LOAD + "-${spring.cloud.client.ip-address}-${random.uuid}"
+            , properties = {"auto.offset.reset=latest"}
+    )
+    public void listenMatchingLoad(@Header(KafkaHeaders.ACKNOWLEDGMENT) Acknowledgment ack, String msg) {
+        try {
+            admissionService.update(objMapper.readValue(msg, MatchingLoadMessage.class));
+        } catch (JsonProcessingException e) {
+            log.error("Invalid matching load message: {}", msg, e);
+        } finally {
+            ack.acknowledge();
+        }
+    }
 }
@@ -4,6 +4,8 @@ public final class Constants {
     public static final String KAFKA_TOPIC_PARTY = "party";
     public static final String KAFKA_TOPIC_MATCH_RESULT = "match_result";
     public static final String KAFKA_GROPU_ID_MATCH_RESULT = "match_result_group";
+    public static final String KAFKA_TOPIC_MATCHING_LOAD = "matching_load";
+    public static final String KAFKA_GROPU_ID_MATCHING_LOAD = "matching_load_group";
 
     public static final String KAFKA_AUTO_OFFSET_RESET_EARLIEST = "earliest";
 
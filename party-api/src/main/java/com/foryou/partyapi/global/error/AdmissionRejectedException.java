@@ -0,0 +1,17 @@
+package com.foryou.partyapi.global.error;
+
+import lombok.Getter;
+
+/**
+ * 매칭 서비스 과부하로 신청을 받지 않음. Retry-After 헤더로 다시 신청할 시간을 알려준다
+ */
+@Getter
+public class AdmissionRejectedException extends CustomException {
+
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(ErrorCode errorCode, long retryAfterSeconds) {
+        super(errorCode);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
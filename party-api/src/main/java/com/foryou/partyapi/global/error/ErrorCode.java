@@ -20,11 +20,17 @@ public enum ErrorCode {
     /* 409 CONFLICT: 중복 Resource 존재 */
     DUPLICATE_OTT_JOIN(HttpStatus.CONFLICT, "이미 가입한 ott파티가 존재합니다"),
 
+    /* 429 TOO_MANY_REQUESTS: 매칭 대기열이 가득 참 */
+    MATCHING_QUEUE_FULL(HttpStatus.TOO_MANY_REQUESTS, "매칭 대기 인원이 많습니다. 잠시 후 다시 신청해주세요"),
+
     /* 500 INTERNAL_SERVER_ERROR: 지정하지  않은 오류 발생 */
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "알 수 없는 오류가 발생했습니다"),
     CIPHER_INIT_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "AES256 초기화를 실패하였습니다"),
     CIPHER_ENCRYPT_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "AES256 암호화를 실패하였습니다"),
-    CIPHER_DECRYPT_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "AES256 복호화를 실패하였습니다");
+    CIPHER_DECRYPT_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "AES256 복호화를 실패하였습니다"),
+
+    /* 503 SERVICE_UNAVAILABLE: 매칭 서비스 처리 지연 */
+    MATCHING_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "매칭 처리가 지연되고 있습니다. 잠시 후 다시 신청해주세요");
 
     private final HttpStatus httpStatus;
     private final String message;
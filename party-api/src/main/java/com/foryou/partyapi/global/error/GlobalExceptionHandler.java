@@ -40,6 +40,18 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponse, errorCode.getHttpStatus());
     }
 
+    @ExceptionHandler(AdmissionRejectedException.class)
+    protected ResponseEntity<Object> admissionRejectedException(AdmissionRejectedException e) {
+        ErrorCode errorCode = e.getErrorCode();
+        ApiErrorResponse errorResponse = ApiErrorResponse.of(errorCode, Map.of("retryAfterSeconds", e.getRetryAfterSeconds()));
+
+        log.warn("REJECTED Admission : {}, retryAfter: {}s", errorCode, e.getRetryAfterSeconds());
+
+        return ResponseEntity.status(errorCode.getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatus status, WebRequest request) {
         ErrorCode errorCode = ErrorCode.ARGUMENT_NOT_VALID;
@@ -0,0 +1,46 @@
+package com.foryou.partyapi.global.properties;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Configuration
+public class AdmissionProperties {
+
+    /**
+     * matching-service 대기 현황(matching_load)으로 파티 신청 유입을 제어할지 여부
+     */
+    @Value("${config.admission.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 마지막 대기 현황이 이 시간보다 오래되면 제어하지 않고 신청을 받는다
+     */
+    @Value("${config.admission.stale-ms:10000}")
+    private long staleMs;
+
+    /**
+     * 같은 OTT, 같은 역할의 대기 건수가 이 값을 넘으면 429로 거절
+     */
+    @Value("${config.admission.max-waiting:10000}")
+    private long maxWaiting;
+
+    /**
+     * consume lag이 이 시간을 넘거나 Second/Third Queue 사용률이 saturation을 넘으면 503으로 거절
+     */
+    @Value("${config.admission.max-lag-ms:60000}")
+    private long maxLagMs;
+
+    @Value("${config.admission.saturation:0.9}")
+    private double saturation;
+
+    /**
+     * 거절 시 Retry-After로 알려주는 시간 범위 (초)
+     */
+    @Value("${config.admission.min-retry-after-sec:5}")
+    private long minRetryAfterSec;
+
+    @Value("${config.admission.max-retry-after-sec:300}")
+    private long maxRetryAfterSec;
+}
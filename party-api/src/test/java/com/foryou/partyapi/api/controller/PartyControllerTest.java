@@ -6,10 +6,13 @@ import com.foryou.partyapi.api.dto.request.PartyMemberReqDto;
 import com.foryou.partyapi.api.dto.request.PartyOwnerReqDto;
 import com.foryou.partyapi.api.dto.response.MyPartyResDto;
 import com.foryou.partyapi.api.dto.response.PartyInfoResDto;
+import com.foryou.partyapi.api.dto.response.QueuePositionResDto;
 import com.foryou.partyapi.api.enums.OttType;
 import com.foryou.partyapi.api.enums.PartyRole;
+import com.foryou.partyapi.api.service.AdmissionService;
 import com.foryou.partyapi.api.service.PartyService;
 import com.foryou.partyapi.api.service.kafka.producer.KafkaProducer;
+import com.foryou.partyapi.global.error.AdmissionRejectedException;
 import com.foryou.partyapi.global.error.CustomException;
 import com.foryou.partyapi.global.error.ErrorCode;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +22,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.restdocs.RestDocumentationContextProvider;
@@ -30,6 +34,7 @@ import org.springframework.web.context.WebApplicationContext;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static com.epages.restdocs.apispec.MockMvcRestDocumentationWrapper.document;
 import static com.epages.restdocs.apispec.ResourceDocumentation.parameterWithName;
@@ -40,12 +45,15 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.documentationConfiguration;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
 import static org.springframework.restdocs.operation.preprocess.Preprocessors.*;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -59,6 +67,8 @@ class PartyControllerTest {
     private PartyService service;
     @MockBean
     private KafkaProducer producer;
+    @MockBean
+    private AdmissionService admissionService;
     private ObjectMapper mapper;
 
     @BeforeEach
@@ -183,6 +193,8 @@ class PartyControllerTest {
                                 )
                         )
                 ));
+
+        verify(admissionService).release(OttType.NETFLIX, PartyRole.MEMBER);
     }
 
     @Test
@@ -306,6 +318,88 @@ class PartyControllerTest {
                 ));
     }
 
+    @Test
+    @DisplayName("매칭 대기 인원이 많으면 신청을 저장하지 않고 Retry-After와 함께 거절한다")
+    public void rejectWhenMatchingQueueFull() throws Exception {
+        // given
+        String content = mapper.writeValueAsString(
+                PartyMemberReqDto.builder()
+                        .ott(OttType.NETFLIX)
+                        .role(PartyRole.MEMBER)
+                        .paymentNo(1L)
+                        .build()
+        );
+
+        doThrow(new AdmissionRejectedException(ErrorCode.MATCHING_QUEUE_FULL, 30L)).when(admissionService).admit(OttType.NETFLIX, PartyRole.MEMBER);
+
+        // when & then
+        mockMvc.perform(post("/party/{memberId}/member", "test12345")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"))
+                .andExpect(jsonPath("$.status", is(HttpStatus.TOO_MANY_REQUESTS.value())))
+                .andExpect(jsonPath("$.code", is(ErrorCode.MATCHING_QUEUE_FULL.name())))
+                .andExpect(jsonPath("$.data.retryAfterSeconds", is(30)))
+                .andDo(print())
+                .andDo(document("matching-queue-full"
+                        , preprocessRequest(prettyPrint())
+                        , preprocessResponse(prettyPrint())
+                        , resource(
+                                createFailDoc(
+                                        "Party-Api"
+                                        , "PartyMemberReqDto"
+                                        , createDocPathVariable()
+                                        , memberRequestFields()
+                                )
+                        )
+                ));
+
+        verify(service, never()).createMemberParty(any(PartyMemberReqDto.class));
+    }
+
+    @Test
+    @DisplayName("앞에 대기중인 건이 있으면 202와 대기 순번을 응답한다")
+    public void acceptedWithQueuePosition() throws Exception {
+        // given
+        String content = mapper.writeValueAsString(
+                PartyOwnerReqDto.builder()
+                        .role(PartyRole.OWNER)
+                        .ott(OttType.NETFLIX)
+                        .inwon(3)
+                        .id("shard_id")
+                        .password("shard_password")
+                        .build()
+        );
+
+        doReturn(Optional.of(new QueuePositionResDto(12L, 4L))).when(admissionService).admit(OttType.NETFLIX, PartyRole.OWNER);
+
+        // when & then
+        mockMvc.perform(post("/party/{memberId}/owner", "test12345")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status", is(HttpStatus.ACCEPTED.value())))
+                .andExpect(jsonPath("$.data.position", is(12)))
+                .andExpect(jsonPath("$.data.estimatedWaitSeconds", is(4)))
+                .andDo(print())
+                .andDo(document("party-owner-queued"
+                        , preprocessRequest(prettyPrint())
+                        , preprocessResponse(prettyPrint())
+                        , resource(
+                                createSuccessDoc(
+                                        "Party-Api"
+                                        , "OTT 파티장 신청 (대기)"
+                                        , "앞에 대기중인 신청이 있으면 대기 순번과 예상 대기 시간을 응답한다"
+                                        , "PartyOwnerReqDto"
+                                        , createDocPathVariable()
+                                        , ownerRequestFields()
+                                        , queuePositionResponseFields()
+                                )
+                        )
+                ));
+    }
+
     @Test
     @DisplayName("내가 신청한 Ott 리스트 조회")
     public void searchMyOttList() throws Exception {
@@ -441,6 +535,13 @@ class PartyControllerTest {
                 , fieldWithPath("password").description("공유할 비밀번호"));
     }
 
+    private List<FieldDescriptor> queuePositionResponseFields() {
+        return List.of(fieldWithPath("status").description("응답 코드")
+                , fieldWithPath("data").description("응답 데이터")
+                , fieldWithPath("data.position").description("대기 순번")
+                , fieldWithPath("data.estimatedWaitSeconds").description("예상 대기 시간(초), 알 수 없으면 -1"));
+    }
+
     private List<FieldDescriptor> myPartyResponseFields() {
         return List.of(fieldWithPath("status").description("응답 코드")
                 , fieldWithPath("data").description("응답 데이터")
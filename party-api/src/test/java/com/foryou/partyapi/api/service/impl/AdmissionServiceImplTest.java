@@ -0,0 +1,160 @@
+package com.foryou.partyapi.api.service.impl;
+
+import com.foryou.partyapi.api.dto.response.MatchingLoadMessage;
+import com.foryou.partyapi.api.dto.response.QueuePositionResDto;
+import com.foryou.partyapi.api.enums.OttType;
+import com.foryou.partyapi.api.enums.PartyRole;
+import com.foryou.partyapi.global.error.AdmissionRejectedException;
+import com.foryou.partyapi.global.error.ErrorCode;
+import com.foryou.partyapi.global.properties.AdmissionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionServiceImplTest {
+
+    private AdmissionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionProperties properties = new AdmissionProperties();
+        ReflectionTestUtils.setField(properties, "enabled", true);
+        ReflectionTestUtils.setField(properties, "staleMs", 10000L);
+        ReflectionTestUtils.setField(properties, "maxWaiting", 10L);
+        ReflectionTestUtils.setField(properties, "maxLagMs", 60000L);
+        ReflectionTestUtils.setField(properties, "saturation", 0.9);
+        ReflectionTestUtils.setField(properties, "minRetryAfterSec", 5L);
+        ReflectionTestUtils.setField(properties, "maxRetryAfterSec", 300L);
+
+        service = new AdmissionServiceImpl(properties);
+    }
+
+    private MatchingLoadMessage load(int waitingMembers, double matchedPerSecond, long consumeLagMs, double stageSaturation, long publishedAt) {
+        return MatchingLoadMessage.builder()
+                .ott(OttType.NETFLIX)
+                .waitingMembers(waitingMembers)
+                .waitingOwnerSeats(0)
+                .matchedPerSecond(matchedPerSecond)
+                .consumeLagMs(consumeLagMs)
+                .stageSaturation(stageSaturation)
+                .publishedAt(publishedAt)
+                .build();
+    }
+
+    @Test
+    @DisplayName("대기 현황이 없으면 제어하지 않고 신청을 받는다")
+    public void admitWithoutLoad() throws Exception {
+        // when
+        Optional<QueuePositionResDto> queued = service.admit(OttType.NETFLIX, PartyRole.MEMBER);
+
+        // then
+        assertTrue(queued.isEmpty());
+    }
+
+    @Test
+    @DisplayName("대기 현황이 오래되었으면 대기 인원이 많아도 신청을 받는다")
+    public void admitWhenLoadIsStale() throws Exception {
+        // given
+        service.update(load(100, 1.0, 0L, 0.0, System.currentTimeMillis() - 60000L));
+
+        // when
+        Optional<QueuePositionResDto> queued = service.admit(OttType.NETFLIX, PartyRole.MEMBER);
+
+        // then
+        assertTrue(queued.isEmpty());
+    }
+
+    @Test
+    @DisplayName("앞에 대기중인 건이 있으면 대기 순번과 예상 대기 시간을 알려준다")
+    public void admitWithQueuePosition() throws Exception {
+        // given
+        service.update(load(4, 2.0, 0L, 0.0, System.currentTimeMillis()));
+
+        // when
+        QueuePositionResDto first = service.admit(OttType.NETFLIX, PartyRole.MEMBER).get();
+        QueuePositionResDto second = service.admit(OttType.NETFLIX, PartyRole.MEMBER).get();
+
+        // then
+        assertEquals(5L, first.getPosition());
+        assertEquals(3L, first.getEstimatedWaitSeconds());
+        assertEquals(6L, second.getPosition());
+    }
+
+    @Test
+    @DisplayName("대기 인원이 최대치를 넘으면 429로 거절하고 매칭 속도로 Retry-After를 계산한다")
+    public void rejectWhenQueueFull() throws Exception {
+        // given
+        service.update(load(10, 0.1, 0L, 0.0, System.currentTimeMillis()));
+
+        // when
+        AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class, () -> service.admit(OttType.NETFLIX, PartyRole.MEMBER));
+
+        // then
+        assertEquals(ErrorCode.MATCHING_QUEUE_FULL, e.getErrorCode());
+        assertEquals(10L, e.getRetryAfterSeconds());
+    }
+
+    @Test
+    @DisplayName("consume lag이 길면 503으로 거절한다")
+    public void rejectWhenLagging() throws Exception {
+        // given
+        service.update(load(0, 1.0, 120000L, 0.0, System.currentTimeMillis()));
+
+        // when
+        AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class, () -> service.admit(OttType.NETFLIX, PartyRole.OWNER));
+
+        // then
+        assertEquals(ErrorCode.MATCHING_OVERLOADED, e.getErrorCode());
+        assertEquals(120L, e.getRetryAfterSeconds());
+    }
+
+    @Test
+    @DisplayName("결제 단계 Queue가 차 있으면 503으로 거절하고 최소 Retry-After를 알려준다")
+    public void rejectWhenStageSaturated() throws Exception {
+        // given
+        service.update(load(0, 1.0, 0L, 0.95, System.currentTimeMillis()));
+
+        // when
+        AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class, () -> service.admit(OttType.NETFLIX, PartyRole.MEMBER));
+
+        // then
+        assertEquals(ErrorCode.MATCHING_OVERLOADED, e.getErrorCode());
+        assertEquals(5L, e.getRetryAfterSeconds());
+    }
+
+    @Test
+    @DisplayName("새 대기 현황을 받으면 이 인스턴스에서 센 건수는 초기화된다")
+    public void resetAdmittedOnUpdate() throws Exception {
+        // given
+        service.update(load(3, 1.0, 0L, 0.0, System.currentTimeMillis()));
+        service.admit(OttType.NETFLIX, PartyRole.MEMBER);
+        service.admit(OttType.NETFLIX, PartyRole.MEMBER);
+
+        // when
+        service.update(load(3, 1.0, 0L, 0.0, System.currentTimeMillis()));
+        QueuePositionResDto queued = service.admit(OttType.NETFLIX, PartyRole.MEMBER).get();
+
+        // then
+        assertEquals(4L, queued.getPosition());
+    }
+
+    @Test
+    @DisplayName("신청 저장에 실패해서 되돌린 건수는 대기 순번에서 빠진다")
+    public void releaseAdmittedOnFailure() throws Exception {
+        // given
+        service.update(load(3, 1.0, 0L, 0.0, System.currentTimeMillis()));
+        service.admit(OttType.NETFLIX, PartyRole.MEMBER);
+
+        // when
+        service.release(OttType.NETFLIX, PartyRole.MEMBER);
+        QueuePositionResDto queued = service.admit(OttType.NETFLIX, PartyRole.MEMBER).get();
+
+        // then
+        assertEquals(4L, queued.getPosition());
+    }
+}